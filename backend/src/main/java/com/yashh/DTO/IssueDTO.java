@@ -7,6 +7,7 @@ import java.util.List;
 
 import com.yashh.model.Project;
 import com.yashh.model.User;
+import com.yashh.response.SimilarIssueResponse;
 
 import lombok.AllArgsConstructor;
 import lombok.Data;
@@ -31,6 +32,9 @@ public class IssueDTO {
  // Exclude assignee during serialization
  private User assignee;
 
+ // open issues of the project that look like the same report
+ private List<SimilarIssueResponse> possibleDuplicates = new ArrayList<>();
+
  // Explicit setter methods since Lombok is not working properly
  public void setId(Long id) {
      this.id = id;
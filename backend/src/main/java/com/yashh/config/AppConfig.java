@@ -2,6 +2,7 @@ package com.yashh.config;
 
 import java.util.Arrays;
 import java.util.Collections;
+import java.util.List;
 
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
@@ -21,6 +22,14 @@ import jakarta.servlet.http.HttpServletRequest;
 @EnableWebSecurity
 public class AppConfig {
 
+	// browser origins of the frontend, shared with the STOMP endpoint
+	static final List<String> ALLOWED_ORIGINS = List.of(
+			"http://localhost:5173",
+			"http://localhost:3000",
+			"https://projectmanagement-k34ilb86d-yashs-projects-9cbaf0c6.vercel.app",
+			"https://projectmanagement-woad.vercel.app",
+			"https://project-management-eq6p.onrender.com");
+
 	@Bean
 	SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception{
 		http.sessionManagement(Management -> Management.sessionCreationPolicy(
@@ -28,7 +37,8 @@ public class AppConfig {
 				.authorizeHttpRequests(Authorize -> Authorize
 						.requestMatchers("/api/admin/**").hasRole("ADMIN")
 						.requestMatchers("/api/auth/register", "/api/auth/login", "/api/auth/signin", "/api/auth/signup").permitAll() // Allow public access to auth endpoints
-						.requestMatchers("/api/comments/{issueId}").permitAll() // Allow public access to view comments
+						.requestMatchers("/api/comments/{issueId}", "/api/comments/{issueId}/threads", "/api/comments/thread/{commentId}").permitAll() // Allow public access to view comments
+						.requestMatchers("/api/calendar/feed/**").permitAll() // feed url carries its own token for calendar clients
 						.requestMatchers("/api/**").authenticated()
 						.anyRequest().permitAll())
 				.addFilterBefore(new JwtTokenValidator(),BasicAuthenticationFilter.class)
@@ -46,18 +56,12 @@ public class AppConfig {
 				CorsConfiguration cfg = new CorsConfiguration();
 
 				// Production configuration with specific origins
-				cfg.setAllowedOrigins(Arrays.asList(
-						"http://localhost:5173",
-						"http://localhost:3000",
-						"https://projectmanagement-k34ilb86d-yashs-projects-9cbaf0c6.vercel.app",
-						"https://projectmanagement-woad.vercel.app",
-						"https://project-management-eq6p.onrender.com"
-						));
+				cfg.setAllowedOrigins(ALLOWED_ORIGINS);
 
 				cfg.setAllowedMethods(Arrays.asList("GET", "POST", "PUT", "DELETE", "OPTIONS", "PATCH"));
 				cfg.setAllowCredentials(true);
 				cfg.setAllowedHeaders(Arrays.asList("*"));
-				cfg.setExposedHeaders(Arrays.asList("Authorization"));
+				cfg.setExposedHeaders(Arrays.asList("Authorization", "ETag"));
 				cfg.setMaxAge(3600L);
 				return cfg;
 			}
@@ -0,0 +1,160 @@
+package com.yashh.config;
+
+import java.io.IOException;
+import java.util.ArrayDeque;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+import org.springframework.web.socket.CloseStatus;
+import org.springframework.web.socket.WebSocketHandler;
+import org.springframework.web.socket.WebSocketSession;
+import org.springframework.web.socket.handler.WebSocketHandlerDecorator;
+import org.springframework.web.socket.handler.WebSocketHandlerDecoratorFactory;
+
+/**
+ * Executor of the client outbound channel. Every session gets a bounded
+ * queue of frames that one worker at a time writes out, so a session's
+ * frames keep their order and a slow socket only holds up its own queue.
+ * A session whose queue fills up is dropped: its pending frames are
+ * discarded and the connection closed, the client reconnects and resumes
+ * by seq. A write stuck on a dead socket still holds its worker until the
+ * container's send timeout, so there are more workers than cores.
+ *
+ * Also decorates the STOMP handler to learn when sessions open and close.
+ */
+public class SessionOutboxExecutor implements TaskExecutor, WebSocketHandlerDecoratorFactory, DisposableBean {
+
+    private static final Logger log = LoggerFactory.getLogger(SessionOutboxExecutor.class);
+
+    // frames written for one session before the worker moves on to the next one
+    private static final int DRAIN_BATCH = 64;
+
+    private final int capacity;
+    private final ThreadPoolExecutor workers;
+    // closing waits for a write that is stuck on the socket, so it gets its own thread instead of a worker
+    private final ExecutorService closer = Executors.newSingleThreadExecutor(task -> {
+        Thread thread = new Thread(task, "session-outbox-closer");
+        thread.setDaemon(true);
+        return thread;
+    });
+    private final Map<String, Outbox> outboxes = new ConcurrentHashMap<>();
+
+    public SessionOutboxExecutor(int capacity, int workerCount) {
+        this.capacity = capacity;
+        AtomicInteger threads = new AtomicInteger();
+        this.workers = new ThreadPoolExecutor(workerCount, workerCount, 0, TimeUnit.MILLISECONDS, new LinkedBlockingQueue<>(), task -> {
+            Thread thread = new Thread(task, "session-outbox-" + threads.incrementAndGet());
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        Outbox outbox = null;
+        if (task instanceof MessageHandlingRunnable handling) {
+            String sessionId = SimpMessageHeaderAccessor.getSessionId(handling.getMessage().getHeaders());
+            outbox = sessionId == null ? null : outboxes.get(sessionId);
+        }
+        if (outbox == null) {
+            // not bound to an open session, nothing to keep in order
+            workers.execute(task);
+        } else {
+            outbox.offer(task);
+        }
+    }
+
+    @Override
+    public WebSocketHandler decorate(WebSocketHandler handler) {
+        return new WebSocketHandlerDecorator(handler) {
+            @Override
+            public void afterConnectionEstablished(WebSocketSession session) throws Exception {
+                outboxes.put(session.getId(), new Outbox(session));
+                super.afterConnectionEstablished(session);
+            }
+
+            @Override
+            public void afterConnectionClosed(WebSocketSession session, CloseStatus closeStatus) throws Exception {
+                outboxes.remove(session.getId());
+                super.afterConnectionClosed(session, closeStatus);
+            }
+        };
+    }
+
+    @Override
+    public void destroy() {
+        workers.shutdown();
+        closer.shutdown();
+    }
+
+    private class Outbox {
+
+        private final WebSocketSession session;
+        private final Queue<Runnable> frames = new ArrayDeque<>();
+        // a drain is queued or running, guarded by this
+        private boolean draining;
+        private boolean dropped;
+
+        Outbox(WebSocketSession session) {
+            this.session = session;
+        }
+
+        synchronized void offer(Runnable frame) {
+            if (dropped) {
+                return;
+            }
+            if (frames.size() >= capacity) {
+                dropped = true;
+                frames.clear();
+                closer.execute(this::close);
+                return;
+            }
+            frames.add(frame);
+            if (!draining) {
+                draining = true;
+                workers.execute(this::drain);
+            }
+        }
+
+        private void drain() {
+            for (int i = 0; i < DRAIN_BATCH; i++) {
+                Runnable frame;
+                synchronized (this) {
+                    frame = frames.poll();
+                    if (frame == null) {
+                        draining = false;
+                        return;
+                    }
+                }
+                try {
+                    frame.run();
+                } catch (RuntimeException e) {
+                    log.warn("Send to session {} failed", session.getId(), e);
+                }
+            }
+            workers.execute(this::drain);
+        }
+
+        private void close() {
+            log.warn("Closing slow session {}", session.getId());
+            try {
+                session.close(CloseStatus.SESSION_NOT_RELIABLE);
+            } catch (IOException e) {
+                log.warn("Close of session {} failed", session.getId(), e);
+            }
+        }
+    }
+}
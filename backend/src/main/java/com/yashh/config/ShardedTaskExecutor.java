@@ -0,0 +1,75 @@
+package com.yashh.config;
+
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Function;
+
+import org.springframework.beans.factory.DisposableBean;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.support.MessageHandlingRunnable;
+
+/**
+ * Channel executor made of a fixed set of single threaded shards, picked by
+ * a key of the message. Messages with the same key are handled by the same
+ * thread in the order they were sent, different keys run in parallel
+ * without sharing a lock. The broker channel keys by destination, so one
+ * chat is fanned out in publish order; the inbound channel keys by session,
+ * so one client's frames are handled in the order it sent them. A full
+ * shard blocks the sender instead of growing without bound.
+ */
+public class ShardedTaskExecutor implements TaskExecutor, DisposableBean {
+
+    private final ThreadPoolExecutor[] shards;
+    private final Function<Message<?>, String> keyOf;
+
+    public ShardedTaskExecutor(String name, int shardCount, int queueCapacity, Function<Message<?>, String> keyOf) {
+        this.keyOf = keyOf;
+        shards = new ThreadPoolExecutor[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            String threadName = name + "-" + i;
+            shards[i] = new ThreadPoolExecutor(1, 1, 0, TimeUnit.MILLISECONDS, new ArrayBlockingQueue<>(queueCapacity), task -> {
+                Thread thread = new Thread(task, threadName);
+                thread.setDaemon(true);
+                return thread;
+            }, ShardedTaskExecutor::waitForRoom);
+            shards[i].prestartAllCoreThreads();
+        }
+    }
+
+    @Override
+    public void execute(Runnable task) {
+        shards[shardOf(task)].execute(task);
+    }
+
+    private int shardOf(Runnable task) {
+        if (task instanceof MessageHandlingRunnable handling) {
+            String key = keyOf.apply(handling.getMessage());
+            if (key != null) {
+                return Math.floorMod(key.hashCode(), shards.length);
+            }
+        }
+        return 0;
+    }
+
+    private static void waitForRoom(Runnable task, ThreadPoolExecutor shard) {
+        if (shard.isShutdown()) {
+            throw new RejectedExecutionException("Executor is shutting down");
+        }
+        try {
+            shard.getQueue().put(task);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new RejectedExecutionException("Interrupted while waiting for a shard");
+        }
+    }
+
+    @Override
+    public void destroy() {
+        for (ThreadPoolExecutor shard : shards) {
+            shard.shutdown();
+        }
+    }
+}
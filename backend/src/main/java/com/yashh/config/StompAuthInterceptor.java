@@ -0,0 +1,117 @@
+package com.yashh.config;
+
+import java.security.Principal;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.messaging.Message;
+import org.springframework.messaging.MessageChannel;
+import org.springframework.messaging.simp.stomp.StompHeaderAccessor;
+import org.springframework.messaging.support.ChannelInterceptor;
+import org.springframework.messaging.support.MessageHeaderAccessor;
+import org.springframework.security.access.AccessDeniedException;
+import org.springframework.security.authentication.BadCredentialsException;
+import org.springframework.stereotype.Component;
+import org.springframework.util.AntPathMatcher;
+import org.springframework.util.PathMatcher;
+
+import com.yashh.repository.UserRepository;
+import com.yashh.service.ChatAccessService;
+
+/**
+ * Authenticates STOMP sessions and authorizes their frames. CONNECT must
+ * carry the same bearer token as the REST API, the resulting principal
+ * stays on the session. SUBSCRIBE and SEND are only let through to chats
+ * of the user's projects, checked against ChatAccessService in memory.
+ */
+@Component
+public class StompAuthInterceptor implements ChannelInterceptor {
+
+	private static final PathMatcher MATCHER = new AntPathMatcher();
+	private static final List<String> SUBSCRIBE_PATTERNS = List.of("/group/{chatId}", "/user/{chatId}/private",
+			"/app/chat/{chatId}/resume", "/group/{chatId}/presence", "/app/chat/{chatId}/presence");
+	// clients only send to the application, never straight to a broker destination
+	private static final List<String> SEND_PATTERNS = List.of("/app/chat/{chatId}", "/app/chat/{chatId}/presence",
+			"/app/chat/{chatId}/typing", "/app/chat/{chatId}/read");
+	// Spring resolves these to the session's own user, nothing to check
+	private static final String OWN_USER_QUEUE = "/user/queue/**";
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private ChatAccessService chatAccessService;
+
+	// users never change their id, so reconnects skip the lookup
+	private final Map<String, StompPrincipal> principals = new ConcurrentHashMap<>();
+
+	@Override
+	public Message<?> preSend(Message<?> message, MessageChannel channel) {
+		StompHeaderAccessor accessor = MessageHeaderAccessor.getAccessor(message, StompHeaderAccessor.class);
+		if (accessor == null || accessor.getCommand() == null) {
+			return message;
+		}
+		switch (accessor.getCommand()) {
+			case CONNECT, STOMP -> accessor.setUser(authenticate(accessor.getFirstNativeHeader(JwtConstant.JWT_HEADER)));
+			case SUBSCRIBE -> authorize(accessor.getUser(), accessor.getDestination(), SUBSCRIBE_PATTERNS, true);
+			case SEND -> authorize(accessor.getUser(), accessor.getDestination(), SEND_PATTERNS, false);
+			default -> {
+			}
+		}
+		return message;
+	}
+
+	private StompPrincipal authenticate(String authorization) {
+		if (authorization == null || !authorization.startsWith("Bearer ")) {
+			throw new BadCredentialsException("Missing token");
+		}
+		String email;
+		try {
+			email = JwtProvider.getEmailFromJwtToken(authorization);
+		} catch (Exception e) {
+			throw new BadCredentialsException("invalid token...");
+		}
+		StompPrincipal principal = principals.get(email);
+		if (principal == null) {
+			for (Object[] row : userRepository.findIdsByEmails(Set.of(email))) {
+				principal = new StompPrincipal((Long) row[0], email);
+				principals.put(email, principal);
+			}
+			if (principal == null) {
+				throw new BadCredentialsException("No user with email " + email);
+			}
+		}
+		return principal;
+	}
+
+	private void authorize(Principal user, String destination, List<String> patterns, boolean subscribe) {
+		if (!(user instanceof StompPrincipal principal)) {
+			throw new AccessDeniedException("Not connected");
+		}
+		if (destination != null) {
+			if (subscribe && MATCHER.match(OWN_USER_QUEUE, destination)) {
+				return;
+			}
+			for (String pattern : patterns) {
+				if (MATCHER.match(pattern, destination)) {
+					if (chatAccessService.isMember(principal.userId(), chatIdOf(pattern, destination))) {
+						return;
+					}
+					break;
+				}
+			}
+		}
+		throw new AccessDeniedException("Not allowed on " + destination);
+	}
+
+	private static Long chatIdOf(String pattern, String destination) {
+		try {
+			return Long.valueOf(MATCHER.extractUriTemplateVariables(pattern, destination).get("chatId"));
+		} catch (NumberFormatException e) {
+			return null;
+		}
+	}
+}
@@ -0,0 +1,12 @@
+package com.yashh.config;
+
+import java.security.Principal;
+
+// user of a STOMP session, resolved once at CONNECT; named by email like the HTTP side
+public record StompPrincipal(Long userId, String email) implements Principal {
+
+	@Override
+	public String getName() {
+		return email;
+	}
+}
@@ -1,19 +1,47 @@
 package com.yashh.config;
 
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.core.task.TaskExecutor;
+import org.springframework.messaging.converter.ByteArrayMessageConverter;
+import org.springframework.messaging.converter.DefaultContentTypeResolver;
+import org.springframework.messaging.converter.MappingJackson2MessageConverter;
+import org.springframework.messaging.converter.MessageConverter;
+import org.springframework.messaging.converter.StringMessageConverter;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.config.ChannelRegistration;
 import org.springframework.messaging.simp.config.MessageBrokerRegistry;
-import org.springframework.web.socket.config.annotation.EnableWebSocketMessageBroker;
+import org.springframework.messaging.support.AbstractSubscribableChannel;
+import org.springframework.util.MimeTypeUtils;
 import org.springframework.web.socket.config.annotation.StompEndpointRegistry;
-import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurer;
+import org.springframework.web.socket.config.annotation.WebSocketMessageBrokerConfigurationSupport;
+import org.springframework.web.socket.config.annotation.WebSocketTransportRegistration;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+
+// extends the support class instead of @EnableWebSocketMessageBroker to swap in the channel executors
 @Configuration
-@EnableWebSocketMessageBroker
-public class WebsocketConfig implements WebSocketMessageBrokerConfigurer{
+public class WebsocketConfig extends WebSocketMessageBrokerConfigurationSupport {
 
+        private static final int SHARD_QUEUE = 10_000;
+        private static final int MIN_INBOUND_SHARDS = 8;
+        private static final int SESSION_OUTBOX_CAPACITY = 1_000;
+        private static final int MIN_OUTBOX_WORKERS = 8;
 
+        @Autowired
+        private StompAuthInterceptor stompAuthInterceptor;
+
+        @Autowired
+        private ObjectMapper objectMapper;
 
         @Override
         public void registerStompEndpoints(StompEndpointRegistry registry) {
-            registry.addEndpoint("/ws").setAllowedOriginPatterns("*");
+            // browsers only from the frontend's origins, clients without an Origin header still connect and authenticate
+            registry.addEndpoint("/ws").setAllowedOrigins(AppConfig.ALLOWED_ORIGINS.toArray(String[]::new));
         }
 
         @Override
@@ -21,7 +49,56 @@ public class WebsocketConfig implements WebSocketMessageBrokerConfigurer{
             registry.setApplicationDestinationPrefixes("/app");
             registry.enableSimpleBroker("/group","/user","chat");
             registry.setUserDestinationPrefix("/user");
+            // makes the broker channel asynchronous, the executor itself is brokerChannelExecutor below
+            registry.configureBrokerChannel().taskExecutor();
         }
 
+        // Boot only sets up its converters for @EnableWebSocketMessageBroker, without them LocalDateTime does not serialize
+        @Override
+        protected boolean configureMessageConverters(List<MessageConverter> messageConverters) {
+            DefaultContentTypeResolver resolver = new DefaultContentTypeResolver();
+            resolver.setDefaultMimeType(MimeTypeUtils.APPLICATION_JSON);
+            MappingJackson2MessageConverter jsonConverter = new MappingJackson2MessageConverter();
+            jsonConverter.setObjectMapper(objectMapper);
+            jsonConverter.setContentTypeResolver(resolver);
+            messageConverters.add(new StringMessageConverter());
+            messageConverters.add(new ByteArrayMessageConverter());
+            messageConverters.add(jsonConverter);
+            return false;
+        }
+
+        @Override
+        protected void configureClientInboundChannel(ChannelRegistration registration) {
+            registration.interceptors(stompAuthInterceptor);
+        }
+
+        @Override
+        protected void configureWebSocketTransport(WebSocketTransportRegistration registration) {
+            registration.addDecoratorFactory((SessionOutboxExecutor) clientOutboundChannelExecutor());
+        }
+
+        // one client's frames reach the controllers in the order it sent them
+        @Bean
+        @Override
+        public TaskExecutor clientInboundChannelExecutor() {
+            return new ShardedTaskExecutor("inbound-shard", Math.max(MIN_INBOUND_SHARDS, Runtime.getRuntime().availableProcessors() * 2),
+                    SHARD_QUEUE, message -> SimpMessageHeaderAccessor.getSessionId(message.getHeaders()));
+        }
+
+        // one chat's broadcasts are fanned out in the order they were published
+        @Bean
+        @Override
+        public TaskExecutor brokerChannelExecutor(@Qualifier("clientInboundChannel") AbstractSubscribableChannel clientInboundChannel,
+                                                  @Qualifier("clientOutboundChannel") AbstractSubscribableChannel clientOutboundChannel) {
+            return new ShardedTaskExecutor("broker-shard", Runtime.getRuntime().availableProcessors(), SHARD_QUEUE,
+                    message -> SimpMessageHeaderAccessor.getDestination(message.getHeaders()));
+        }
+
+        @Bean
+        @Override
+        public TaskExecutor clientOutboundChannelExecutor() {
+            return new SessionOutboxExecutor(SESSION_OUTBOX_CAPACITY,
+                    Math.max(MIN_OUTBOX_WORKERS, Runtime.getRuntime().availableProcessors() * 2));
+        }
 
 }
@@ -0,0 +1,75 @@
+package com.yashh.controller;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.UserException;
+import com.yashh.model.User;
+import com.yashh.response.CalendarIssueResponse;
+import com.yashh.response.MessageResponse;
+import com.yashh.service.CalendarService;
+import com.yashh.service.UserService;
+import com.yashh.util.ETags;
+
+@RestController
+public class CalendarController {
+
+    private static final MediaType TEXT_CALENDAR = new MediaType("text", "calendar", StandardCharsets.UTF_8);
+
+    @Autowired
+    private CalendarService calendarService;
+
+    @Autowired
+    private UserService userService;
+
+    @GetMapping("/api/issues/calendar")
+    public ResponseEntity<List<CalendarIssueResponse>> getCalendar(@RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to,
+                                                                   @RequestHeader("Authorization") String token,
+                                                                   @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch)
+            throws UserException, ProjectException, IssueException {
+        User user = userService.findUserProfileByJwt(token);
+        String eTag = calendarService.getCalendarETag(user, from, to);
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(calendarService.getCalendar(user, from, to));
+    }
+
+    // the returned token goes into /api/calendar/feed/{token}.ics, issuing a new one revokes the old url
+    @PostMapping("/api/calendar/feed-token")
+    public ResponseEntity<MessageResponse> rotateFeedToken(@RequestHeader("Authorization") String token)
+            throws UserException, ProjectException {
+        User user = userService.findUserProfileByJwt(token);
+        return ResponseEntity.ok(new MessageResponse(calendarService.rotateFeedToken(user)));
+    }
+
+    @GetMapping("/api/calendar/feed/{feedToken}.ics")
+    public ResponseEntity<StreamingResponseBody> getFeed(@PathVariable String feedToken,
+                                                         @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch)
+            throws UserException {
+        User user = calendarService.getFeedUser(feedToken);
+        String eTag = calendarService.getFeedETag(user);
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        StreamingResponseBody body = out -> calendarService.writeFeed(user, out);
+        return ResponseEntity.ok().eTag(eTag).contentType(TEXT_CALENDAR).body(body);
+    }
+}
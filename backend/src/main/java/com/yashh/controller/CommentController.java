@@ -3,9 +3,10 @@ package com.yashh.controller;
 import com.yashh.exception.IssueException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
-import com.yashh.model.Comment;
 import com.yashh.model.User;
 import com.yashh.request.CreateCommentRequest;
+import com.yashh.response.CommentResponse;
+import com.yashh.response.KeysetPage;
 import com.yashh.response.MessageResponse;
 import com.yashh.service.CommentService;
 import com.yashh.service.UserService;
@@ -30,12 +31,12 @@ public class CommentController {
     }
 
     @PostMapping()
-    public ResponseEntity<Comment> createComment(
+    public ResponseEntity<CommentResponse> createComment(
 
             @RequestBody CreateCommentRequest req,
             @RequestHeader("Authorization") String jwt) throws UserException, IssueException, ProjectException {
         User user = userService.findUserProfileByJwt(jwt);
-        Comment createdComment = commentService.createComment(req.getIssueId(), user.getId(), req.getContent());
+        CommentResponse createdComment = commentService.createComment(req.getIssueId(), user.getId(), req.getContent(), req.getParentId());
         return new ResponseEntity<>(createdComment,HttpStatus.CREATED);
     }
 
@@ -50,9 +51,27 @@ public class CommentController {
         return new ResponseEntity<>(res, HttpStatus.OK);
     }
 
+    // newest first, pass nextCursor as beforeId for older comments
     @GetMapping("/{issueId}")
-    public ResponseEntity<List<Comment>>  getCommentsByIssueId(@PathVariable Long issueId) {
-        List<Comment> comments = commentService.findCommentByIssueId(issueId);
+    public ResponseEntity<KeysetPage<CommentResponse>>  getCommentsByIssueId(@PathVariable Long issueId,
+                                                                            @RequestParam(required = false) Long beforeId,
+                                                                            @RequestParam(required = false) Integer limit) {
+        KeysetPage<CommentResponse> comments = commentService.findCommentsByIssueId(issueId, beforeId, limit);
         return new ResponseEntity<>(comments,HttpStatus.OK);
     }
+
+    // top-level comments oldest first with the first few replies of each, pass nextCursor as afterId for more
+    @GetMapping("/{issueId}/threads")
+    public ResponseEntity<KeysetPage<CommentResponse>> getThreadsByIssueId(@PathVariable Long issueId,
+                                                                         @RequestParam(required = false) Long afterId,
+                                                                         @RequestParam(required = false) Integer limit,
+                                                                         @RequestParam(required = false) Integer replies) {
+        return new ResponseEntity<>(commentService.findThreads(issueId, afterId, limit, replies), HttpStatus.OK);
+    }
+
+    // the whole thread the comment belongs to, in thread order
+    @GetMapping("/thread/{commentId}")
+    public ResponseEntity<List<CommentResponse>> getThread(@PathVariable Long commentId) throws IssueException {
+        return new ResponseEntity<>(commentService.findThread(commentId), HttpStatus.OK);
+    }
 }
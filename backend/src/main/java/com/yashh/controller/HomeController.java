@@ -1,14 +1,29 @@
 package com.yashh.controller;
 
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.UserException;
+import com.yashh.model.User;
 import com.yashh.response.ApiResponse;
+import com.yashh.response.HomeResponse;
+import com.yashh.service.HomeService;
+import com.yashh.service.UserService;
 
 @RestController
 public class HomeController {
+
+	@Autowired
+	private HomeService homeService;
+
+	@Autowired
+	private UserService userService;
 	
 	@GetMapping("")
 	public ResponseEntity<ApiResponse> homeController(){
@@ -16,4 +31,13 @@ public class HomeController {
 		return new ResponseEntity<ApiResponse>(res,HttpStatus.ACCEPTED);
 	}
 
+	// everything the home screen needs in one call: profile summary, projects with open counts, my open issues
+	@GetMapping("/api/home")
+	public ResponseEntity<HomeResponse> getHome(@RequestParam(required = false) String cursor,
+			@RequestParam(required = false) Integer size,
+			@RequestHeader("Authorization") String token) throws UserException, ProjectException {
+		User user = userService.findUserProfileByJwt(token);
+		return ResponseEntity.ok(homeService.getHome(user, cursor, size));
+	}
+
 }
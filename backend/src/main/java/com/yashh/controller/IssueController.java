@@ -1,6 +1,7 @@
 package com.yashh.controller;
 
 import java.util.List;
+import java.util.Map;
 
 import com.yashh.response.AuthResponse;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -8,6 +9,7 @@ import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -21,11 +23,25 @@ import com.yashh.DTO.IssueDTO;
 import com.yashh.exception.IssueException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
+import com.yashh.exception.VersionConflictException;
 import com.yashh.model.Issue;
 import com.yashh.model.User;
 import com.yashh.request.IssueRequest;
+import com.yashh.response.CriticalPathStep;
+import com.yashh.response.DependencyResponse;
+import com.yashh.response.IssueChangeResponse;
+import com.yashh.response.IssueProgressResponse;
+import com.yashh.response.KeysetPage;
+import com.yashh.response.SimilarIssueResponse;
+import com.yashh.service.DuplicateDetectionService;
+import com.yashh.service.IssueDependencyService;
+import com.yashh.service.IssueHierarchyService;
+import com.yashh.service.IssueHistoryService;
 import com.yashh.service.IssueService;
+import com.yashh.service.ProjectService;
 import com.yashh.service.UserService;
+import com.yashh.util.ETags;
+import com.yashh.util.MergePatch;
 
 @RestController
 @RequestMapping("/api/issues")
@@ -36,6 +52,21 @@ public class IssueController {
 
     @Autowired
     private UserService userService;
+
+    @Autowired
+    private ProjectService projectService;
+
+    @Autowired
+    private IssueHierarchyService issueHierarchyService;
+
+    @Autowired
+    private IssueDependencyService issueDependencyService;
+
+    @Autowired
+    private DuplicateDetectionService duplicateDetectionService;
+
+    @Autowired
+    private IssueHistoryService issueHistoryService;
     
 //    @GetMapping
 //    public ResponseEntity<List<Issue>> getAllIssues() throws IssueException {
@@ -44,16 +75,77 @@ public class IssueController {
 //    }
     
     @GetMapping("/{issueId}")
-    public ResponseEntity<Issue> getIssueById(@PathVariable Long issueId) throws IssueException {
-        return ResponseEntity.ok(issueService.getIssueById(issueId).get());
-                
+    public ResponseEntity<Issue> getIssueById(@PathVariable Long issueId,
+                                              @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) throws IssueException {
+        String eTag = issueService.getIssueETag(issueId);
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        Issue issue = issueService.getIssueById(issueId).get();
+        return ResponseEntity.ok().eTag(ETags.of("issue", issueId, issue.getCommentCount(), issue.getVersion())).body(issue);
     }
 
     @GetMapping("/project/{projectId}")
-    public ResponseEntity<List<Issue>> getIssueByProjectId(@PathVariable Long projectId)
+    public ResponseEntity<List<Issue>> getIssueByProjectId(@PathVariable Long projectId,
+                                                           @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch)
             throws ProjectException {
-        return ResponseEntity.ok(issueService.getIssueByProjectId(projectId));
+        // read the revision before the list so a concurrent write can only make the tag stale, never newer
+        String eTag = ETags.of("project-issues", projectId, projectService.getIssueRevision(projectId));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
+        return ResponseEntity.ok().eTag(eTag).body(issueService.getIssueByProjectId(projectId));
+
+    }
+
+    @GetMapping("/{issueId}/children")
+    public ResponseEntity<List<Issue>> getChildIssues(@PathVariable Long issueId) {
+        return ResponseEntity.ok(issueHierarchyService.getChildren(issueId));
+    }
 
+    @GetMapping("/{issueId}/progress")
+    public ResponseEntity<IssueProgressResponse> getIssueProgress(@PathVariable Long issueId) throws IssueException {
+        return ResponseEntity.ok(issueHierarchyService.getProgress(issueId));
+    }
+
+    @GetMapping("/project/{projectId}/epics")
+    public ResponseEntity<List<IssueProgressResponse>> getEpicProgress(@PathVariable Long projectId) {
+        return ResponseEntity.ok(issueHierarchyService.getEpicProgress(projectId));
+    }
+
+    @GetMapping("/{issueId}/dependencies")
+    public ResponseEntity<DependencyResponse> getDependencies(@PathVariable Long issueId) throws IssueException {
+        return ResponseEntity.ok(issueDependencyService.getDependencies(issueId));
+    }
+
+    @PostMapping("/{issueId}/blocks/{blockedIssueId}")
+    public ResponseEntity<DependencyResponse> addBlockingLink(@PathVariable Long issueId, @PathVariable Long blockedIssueId) throws IssueException {
+        issueDependencyService.addLink(issueId, blockedIssueId);
+        return ResponseEntity.ok(issueDependencyService.getDependencies(issueId));
+    }
+
+    @DeleteMapping("/{issueId}/blocks/{blockedIssueId}")
+    public ResponseEntity<DependencyResponse> removeBlockingLink(@PathVariable Long issueId, @PathVariable Long blockedIssueId) throws IssueException {
+        issueDependencyService.removeLink(issueId, blockedIssueId);
+        return ResponseEntity.ok(issueDependencyService.getDependencies(issueId));
+    }
+
+    @GetMapping("/project/{projectId}/critical-path")
+    public ResponseEntity<List<CriticalPathStep>> getCriticalPath(@PathVariable Long projectId,
+                                                                  @RequestParam(required = false) Long targetIssueId) {
+        return ResponseEntity.ok(issueDependencyService.getCriticalPath(projectId, targetIssueId));
+    }
+
+    @GetMapping("/{issueId}/history")
+    public ResponseEntity<KeysetPage<IssueChangeResponse>> getIssueHistory(@PathVariable Long issueId,
+                                                                          @RequestParam(required = false) Long beforeId,
+                                                                          @RequestParam(required = false) Integer limit) throws IssueException {
+        return ResponseEntity.ok(issueHistoryService.getHistory(issueId, beforeId, limit));
+    }
+
+    @PostMapping("/similar")
+    public ResponseEntity<List<SimilarIssueResponse>> findSimilarIssues(@RequestBody IssueRequest issue) {
+        return ResponseEntity.ok(duplicateDetectionService.findSimilar(issue.getProjectId(), issue.getTitle(), issue.getDescription(), null));
     }
 
     @PostMapping
@@ -76,6 +168,8 @@ public class IssueController {
             issueDTO.setTitle(createdIssue.getTitle());
             issueDTO.setTags(createdIssue.getTags());
             issueDTO.setAssignee(createdIssue.getAssignee());
+            issueDTO.setPossibleDuplicates(duplicateDetectionService.findSimilar(createdIssue.getProject().getId(),
+                    createdIssue.getTitle(), createdIssue.getDescription(), createdIssue.getId()));
             
             return ResponseEntity.ok(issueDTO);
         } else {
@@ -85,16 +179,24 @@ public class IssueController {
 
     @PutMapping("/{issueId}")
     public ResponseEntity<Issue> updateIssue(@PathVariable Long issueId, @RequestBody IssueRequest updatedIssue,
-                                            @RequestHeader("Authorization") String token) throws IssueException, UserException, ProjectException {
+                                            @RequestHeader("Authorization") String token,
+                                            @RequestHeader(value = "If-Match", required = false) String ifMatch) throws IssueException, UserException, ProjectException, VersionConflictException {
     	User user = userService.findUserProfileByJwt(token);
     	System.out.println("user______>"+user);
-        Issue updated = issueService.updateIssue(issueId,updatedIssue, user.getId()).get();
+        Issue updated = issueService.updateIssue(issueId,updatedIssue, user.getId(), ETags.versionFromIfMatch(ifMatch)).get();
 
         return updated != null ?
-                ResponseEntity.ok(updated) :
+                ResponseEntity.ok().eTag(ETags.of("issue", issueId, updated.getCommentCount(), updated.getVersion())).body(updated) :
                 ResponseEntity.notFound().build();
     }
 
+    @PatchMapping(value = "/{issueId}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<Issue> patchIssue(@PathVariable Long issueId, @RequestBody Map<String, Object> patch,
+                                            @RequestHeader(value = "If-Match", required = false) String ifMatch) throws IssueException, UserException, VersionConflictException {
+        Issue patched = issueService.patchIssue(issueId, patch, ETags.versionFromIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of("issue", issueId, patched.getCommentCount(), patched.getVersion())).body(patched);
+    }
+
     @DeleteMapping("/{issueId}")
     public ResponseEntity<AuthResponse> deleteIssue(@PathVariable Long issueId, @RequestHeader("Authorization") String token) throws UserException, IssueException, ProjectException {
         User user = userService.findUserProfileByJwt(token);
@@ -1,7 +1,5 @@
 package com.yashh.controller;
 
-
-
 import java.util.List;
 
 import org.springframework.beans.factory.annotation.Autowired;
@@ -10,18 +8,22 @@ import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 
 import com.yashh.exception.ChatException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
-import com.yashh.model.Chat;
-import com.yashh.model.Message;
 import com.yashh.model.User;
 import com.yashh.request.CreateMessageRequest;
+import com.yashh.response.ChatMessageResponse;
+import com.yashh.response.KeysetPage;
+import com.yashh.response.UnreadCountResponse;
+import com.yashh.service.ChatAccessService;
 import com.yashh.service.MessageService;
-import com.yashh.service.ProjectService;
+import com.yashh.service.ReadCursorService;
 import com.yashh.service.UserService;
 
 @RestController
@@ -32,31 +34,63 @@ public class MessageController {
     private MessageService messageService;
 
     @Autowired
-    private UserService userService;
+    private ReadCursorService readCursorService;
 
     @Autowired
-    private ProjectService projectService;
-
-
+    private UserService userService;
 
+    @Autowired
+    private ChatAccessService chatAccessService;
 
     @PostMapping("/send")
-    public ResponseEntity<Message> sendMessage(@RequestBody CreateMessageRequest request)
+    public ResponseEntity<ChatMessageResponse> sendMessage(@RequestHeader("Authorization") String jwt,
+                                                           @RequestBody CreateMessageRequest request)
             throws UserException, ChatException, ProjectException {
-        
-        User user = userService.findUserById(request.getSenderId());  
-        if(user==null) throw new UserException("user Not found with id "+request.getSenderId());
-        Chat chats = projectService.getProjectById(request.getProjectId()).getChat();  // This method should throw ChatException if the chat is not found
-        if(chats==null) throw new ChatException("Chats not found");
-        Message sentMessage = messageService.sendMessage(request.getSenderId(), request.getProjectId(), request.getContent());
+        User user = userService.findUserProfileByJwt(jwt);
+        checkMember(user, request.getProjectId());
+        // always sent as the caller, senderId in the body is not authenticated
+        ChatMessageResponse sentMessage = messageService.sendMessage(user.getId(), request.getProjectId(), request.getContent(),
+                request.getClientMessageId());
+        readCursorService.markRead(user.getId(), sentMessage.getChatId(), sentMessage.getSeq());
         return ResponseEntity.ok(sentMessage);
     }
 
+    // oldest first within the page, pass nextCursor as before to scroll further back
     @GetMapping("/chat/{projectId}")
-    public ResponseEntity<List<Message>> getMessagesByChatId(@PathVariable Long projectId)
-            throws ProjectException, ChatException {
-        List<Message> messages = messageService.getMessagesByProjectId(projectId);
+    public ResponseEntity<KeysetPage<ChatMessageResponse>> getMessagesByChatId(@RequestHeader("Authorization") String jwt,
+                                                                             @PathVariable Long projectId,
+                                                                             @RequestParam(required = false) Long before,
+                                                                             @RequestParam(required = false) Integer limit)
+            throws UserException, ChatException, ProjectException {
+        checkMember(userService.findUserProfileByJwt(jwt), projectId);
+        KeysetPage<ChatMessageResponse> messages = messageService.getMessages(projectId, before, limit);
         return ResponseEntity.ok(messages);
     }
+
+    // catch up after a reconnect, oldest first; pass nextCursor as afterSeq until it is null
+    @GetMapping("/chat/{projectId}/since")
+    public ResponseEntity<KeysetPage<ChatMessageResponse>> getMessagesSince(@RequestHeader("Authorization") String jwt,
+                                                                          @PathVariable Long projectId,
+                                                                          @RequestParam Long afterSeq,
+                                                                          @RequestParam(required = false) Integer limit)
+            throws UserException, ChatException, ProjectException {
+        checkMember(userService.findUserProfileByJwt(jwt), projectId);
+        return ResponseEntity.ok(messageService.getMessagesSince(projectId, afterSeq, limit));
+    }
+
+    // badge counts of every chat the user is in, from memory
+    @GetMapping("/unread")
+    public ResponseEntity<List<UnreadCountResponse>> getUnreadCounts(@RequestHeader("Authorization") String jwt)
+            throws UserException, ProjectException {
+        User user = userService.findUserProfileByJwt(jwt);
+        return ResponseEntity.ok(readCursorService.getUnreadCounts(user.getId()));
+    }
+
+    // the same in-memory check the STOMP interceptor applies to chat frames
+    private void checkMember(User user, Long projectId) throws ChatException {
+        if (!chatAccessService.isMember(user.getId(), messageService.getChatId(projectId))) {
+            throw new ChatException("You are not a member of the chat of project " + projectId);
+        }
+    }
 }
 
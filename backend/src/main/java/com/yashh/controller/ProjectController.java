@@ -1,5 +1,7 @@
 package com.yashh.controller;
+import java.time.LocalDate;
 import java.util.List;
+import java.util.Map;
 
 import com.yashh.exception.MailsException;
 import com.yashh.model.Invitation;
@@ -8,9 +10,11 @@ import com.yashh.service.InvitationService;
 import jakarta.mail.MessagingException;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
+import org.springframework.format.annotation.DateTimeFormat;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PatchMapping;
 import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.PutMapping;
@@ -23,12 +27,21 @@ import org.springframework.web.bind.annotation.RestController;
 import com.yashh.exception.ChatException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
+import com.yashh.exception.VersionConflictException;
 import com.yashh.model.Chat;
 import com.yashh.model.Project;
 import com.yashh.model.User;
+import com.yashh.request.WorkflowRequest;
+import com.yashh.response.CumulativeFlowResponse;
+import com.yashh.response.FlowMetricsResponse;
 import com.yashh.response.MessageResponse;
+import com.yashh.response.WorkflowResponse;
+import com.yashh.service.FlowMetricsService;
 import com.yashh.service.ProjectService;
 import com.yashh.service.UserService;
+import com.yashh.service.WorkflowService;
+import com.yashh.util.ETags;
+import com.yashh.util.MergePatch;
 
 @RestController
 @RequestMapping("/api/projects")
@@ -42,23 +55,42 @@ public class ProjectController {
 
     @Autowired
     private InvitationService invitationService;
+
+    @Autowired
+    private WorkflowService workflowService;
+
+    @Autowired
+    private FlowMetricsService flowMetricsService;
     
 
     @GetMapping
     public ResponseEntity<List<Project>> getProjects(
             @RequestParam(required = false) String category,
             @RequestParam(required = false) String tag,
-            @RequestHeader("Authorization") String token) throws ProjectException, UserException {
+            @RequestHeader("Authorization") String token,
+            @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) throws ProjectException, UserException {
         User user = userService.findUserProfileByJwt(token);
+        long fingerprint = projectService.getProjectsFingerprint(user);
+        fingerprint = 31 * fingerprint + (category == null ? 0 : category.hashCode());
+        fingerprint = 31 * fingerprint + (tag == null ? 0 : tag.hashCode());
+        String eTag = ETags.of("projects", user.getId(), fingerprint);
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         List<Project> projects = projectService.getProjectsByTeam(user,category,tag);
-        return new ResponseEntity<>(projects, HttpStatus.OK);
+        return ResponseEntity.ok().eTag(eTag).body(projects);
     }
 
     @GetMapping("/{projectId}")
-    public ResponseEntity<Project> getProjectById(@PathVariable Long projectId) throws ProjectException {
+    public ResponseEntity<Project> getProjectById(@PathVariable Long projectId,
+                                                  @RequestHeader(value = "If-None-Match", required = false) String ifNoneMatch) throws ProjectException {
+        String eTag = ETags.of("project", projectId, projectService.getProjectVersion(projectId));
+        if (ETags.matches(ifNoneMatch, eTag)) {
+            return ResponseEntity.status(HttpStatus.NOT_MODIFIED).eTag(eTag).build();
+        }
         Project project = projectService.getProjectById(projectId);
         return project != null ?
-                new ResponseEntity<>(project, HttpStatus.OK) :
+                ResponseEntity.ok().eTag(ETags.of("project", projectId, project.getVersion())).body(project) :
                 new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
@@ -74,14 +106,22 @@ public class ProjectController {
     }
 
     @PutMapping("/{projectId}")
-    public ResponseEntity<Project> updateProject( @RequestBody Project updatedProject,@PathVariable Long projectId, @RequestHeader("Authorization") String token) throws UserException, ProjectException {
+    public ResponseEntity<Project> updateProject( @RequestBody Project updatedProject,@PathVariable Long projectId, @RequestHeader("Authorization") String token,
+                                                  @RequestHeader(value = "If-Match", required = false) String ifMatch) throws UserException, ProjectException, VersionConflictException {
         User user = userService.findUserProfileByJwt(token);
-        Project updated = projectService.updateProject(updatedProject,projectId);
+        Project updated = projectService.updateProject(updatedProject,projectId, ETags.versionFromIfMatch(ifMatch));
         return updated != null ?
-                new ResponseEntity<>(updated, HttpStatus.OK) :
+                ResponseEntity.ok().eTag(ETags.of("project", projectId, updated.getVersion())).body(updated) :
                 new ResponseEntity<>(HttpStatus.NOT_FOUND);
     }
 
+    @PatchMapping(value = "/{projectId}", consumes = MergePatch.MEDIA_TYPE)
+    public ResponseEntity<Project> patchProject(@PathVariable Long projectId, @RequestBody Map<String, Object> patch,
+                                                @RequestHeader(value = "If-Match", required = false) String ifMatch) throws ProjectException, VersionConflictException {
+        Project patched = projectService.patchProject(projectId, patch, ETags.versionFromIfMatch(ifMatch));
+        return ResponseEntity.ok().eTag(ETags.of("project", projectId, patched.getVersion())).body(patched);
+    }
+
     @DeleteMapping("/{projectId}")
     public ResponseEntity<MessageResponse> deleteProject(@PathVariable Long projectId, @RequestHeader("Authorization") String token) throws UserException, ProjectException {
         User user = userService.findUserProfileByJwt(token);
@@ -123,6 +163,31 @@ public class ProjectController {
         return ResponseEntity.ok(response);
     }
     
+    @GetMapping("/{projectId}/workflow")
+    public ResponseEntity<WorkflowResponse> getWorkflow(@PathVariable Long projectId) throws ProjectException {
+        return ResponseEntity.ok(workflowService.getWorkflow(projectId));
+    }
+
+    @PutMapping("/{projectId}/workflow")
+    public ResponseEntity<WorkflowResponse> updateWorkflow(@PathVariable Long projectId,
+                                                           @RequestBody WorkflowRequest request) throws ProjectException {
+        return ResponseEntity.ok(workflowService.updateWorkflow(projectId, request));
+    }
+
+    @GetMapping("/{projectId}/flow")
+    public ResponseEntity<FlowMetricsResponse> getFlowMetrics(@PathVariable Long projectId,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                              @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) throws ProjectException {
+        return ResponseEntity.ok(flowMetricsService.getFlowMetrics(projectId, from, to));
+    }
+
+    @GetMapping("/{projectId}/flow/cumulative")
+    public ResponseEntity<CumulativeFlowResponse> getCumulativeFlow(@PathVariable Long projectId,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                    @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) throws ProjectException {
+        return ResponseEntity.ok(flowMetricsService.getCumulativeFlow(projectId, from, to));
+    }
+
     @GetMapping("/{projectId}/chat")
     public ResponseEntity<Chat> getChatByProjectId(@PathVariable Long projectId)
             throws ProjectException, ChatException {
@@ -1,33 +1,82 @@
 package com.yashh.controller;
 
+import java.security.Principal;
+
+import com.yashh.config.StompPrincipal;
 import com.yashh.exception.ChatException;
 import com.yashh.exception.UserException;
-import com.yashh.model.Message;
+import com.yashh.request.CreateMessageRequest;
+import com.yashh.response.ChatMessageResponse;
+import com.yashh.response.KeysetPage;
+import com.yashh.response.PresenceResponse;
+import com.yashh.service.MessageService;
+import com.yashh.service.PresenceService;
+import com.yashh.service.ReadCursorService;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.messaging.handler.annotation.DestinationVariable;
+import org.springframework.messaging.handler.annotation.Header;
 import org.springframework.messaging.handler.annotation.MessageMapping;
 import org.springframework.messaging.handler.annotation.Payload;
-import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.messaging.simp.SimpMessageHeaderAccessor;
+import org.springframework.messaging.simp.annotation.SubscribeMapping;
 import org.springframework.web.bind.annotation.RestController;
 
 @RestController
 public class RealTimeChatController {
     @Autowired
-    private SimpMessagingTemplate simpMessagingTemplate;
+    private MessageService messageService;
+    @Autowired
+    private PresenceService presenceService;
+    @Autowired
+    private ReadCursorService readCursorService;
 
 
+    // persisted write-behind, subscribers of /group/{groupId} get the message as soon as it is queued
     @MessageMapping("/chat/{groupId}")
-    public Message sendToUser(@Payload Message message,
+    public void sendToChat(@Payload CreateMessageRequest message,
+
+                           @DestinationVariable Long groupId, Principal principal,
+                           SimpMessageHeaderAccessor headers) throws UserException, ChatException {
+
 
-                              @DestinationVariable String groupId) throws UserException, ChatException {
+        // the sender is whoever the session authenticated as, not what the payload claims
+        Long senderId = ((StompPrincipal) principal).userId();
+        ChatMessageResponse sent = messageService.sendToChat(senderId, groupId, message.getContent(), message.getClientMessageId());
+        // your own messages are never unread
+        readCursorService.markRead(senderId, groupId, sent.getSeq());
+        presenceService.stoppedTyping(groupId, headers.getSessionId());
+    }
 
+    // subscribe to /group/{groupId} first, then here with the last seq seen; the reply goes to this session only
+    @SubscribeMapping("/chat/{groupId}/resume")
+    public KeysetPage<ChatMessageResponse> resume(@DestinationVariable Long groupId,
+                                                  @Header(name = "after-seq", required = false) Long afterSeq) throws ChatException {
+        return messageService.getChatMessagesSince(groupId, afterSeq, null);
+    }
 
-        simpMessagingTemplate.convertAndSendToUser(groupId, "/private",
-                message);
+    // fire and forget, sent with the seq of the newest message on screen; no reply
+    @MessageMapping("/chat/{groupId}/read")
+    public void read(@DestinationVariable Long groupId, @Header(name = "read-seq") Long readSeq, Principal principal) {
+        readCursorService.markRead(((StompPrincipal) principal).userId(), groupId, readSeq);
+    }
 
+    // subscribe to /group/{groupId}/presence for changes, then here for the current state; counts as a heartbeat
+    @SubscribeMapping("/chat/{groupId}/presence")
+    public PresenceResponse presence(@DestinationVariable Long groupId, Principal principal, SimpMessageHeaderAccessor headers) {
+        presenceService.heartbeat(groupId, ((StompPrincipal) principal).userId(), headers.getSessionId());
+        return presenceService.getPresence(groupId);
+    }
 
+    // sent every 20s while the chat is open, the session drops out of presence 45s after the last one
+    @MessageMapping("/chat/{groupId}/presence")
+    public void heartbeat(@DestinationVariable Long groupId, Principal principal, SimpMessageHeaderAccessor headers) {
+        presenceService.heartbeat(groupId, ((StompPrincipal) principal).userId(), headers.getSessionId());
+    }
 
-        return message;
+    // sent every 3s while the user types, sending the message or 5s of silence ends it
+    @MessageMapping("/chat/{groupId}/typing")
+    public void typing(@DestinationVariable Long groupId, Principal principal, SimpMessageHeaderAccessor headers) {
+        presenceService.typing(groupId, ((StompPrincipal) principal).userId(), headers.getSessionId());
     }
 
 
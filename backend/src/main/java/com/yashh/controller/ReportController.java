@@ -0,0 +1,36 @@
+package com.yashh.controller;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.UserException;
+import com.yashh.model.User;
+import com.yashh.request.IssuePivotRequest;
+import com.yashh.response.IssuePivotResponse;
+import com.yashh.service.IssueAnalyticsService;
+import com.yashh.service.UserService;
+
+@RestController
+@RequestMapping("/api/reports")
+public class ReportController {
+
+    @Autowired
+    private IssueAnalyticsService issueAnalyticsService;
+
+    @Autowired
+    private UserService userService;
+
+    // e.g. /api/reports/issues/pivot?groupBy=status,priority,assignee&open=true
+    @GetMapping("/issues/pivot")
+    public ResponseEntity<IssuePivotResponse> pivotIssues(IssuePivotRequest request,
+                                                          @RequestHeader("Authorization") String token) throws UserException, ProjectException, IssueException {
+        User user = userService.findUserProfileByJwt(token);
+        return ResponseEntity.ok(issueAnalyticsService.pivot(user, request));
+    }
+}
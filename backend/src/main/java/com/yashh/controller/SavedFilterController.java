@@ -0,0 +1,69 @@
+package com.yashh.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.UserException;
+import com.yashh.model.Issue;
+import com.yashh.model.User;
+import com.yashh.request.SavedFilterRequest;
+import com.yashh.response.KeysetPage;
+import com.yashh.response.MessageResponse;
+import com.yashh.response.SavedFilterResponse;
+import com.yashh.service.SavedFilterService;
+import com.yashh.service.UserService;
+
+@RestController
+@RequestMapping("/api/filters")
+public class SavedFilterController {
+
+    @Autowired
+    private SavedFilterService savedFilterService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping
+    public ResponseEntity<SavedFilterResponse> createFilter(@RequestBody SavedFilterRequest request,
+                                                            @RequestHeader("Authorization") String token) throws UserException, ProjectException, IssueException {
+        User user = userService.findUserProfileByJwt(token);
+        return ResponseEntity.ok(savedFilterService.createFilter(user, request));
+    }
+
+    // the caller's filters with their match counts
+    @GetMapping
+    public ResponseEntity<List<SavedFilterResponse>> getFilters(@RequestHeader("Authorization") String token) throws UserException, ProjectException {
+        User user = userService.findUserProfileByJwt(token);
+        return ResponseEntity.ok(savedFilterService.getFilters(user));
+    }
+
+    @DeleteMapping("/{filterId}")
+    public ResponseEntity<MessageResponse> deleteFilter(@PathVariable Long filterId,
+                                                        @RequestHeader("Authorization") String token) throws UserException, ProjectException, IssueException {
+        User user = userService.findUserProfileByJwt(token);
+        savedFilterService.deleteFilter(user, filterId);
+        return ResponseEntity.ok(new MessageResponse("Saved filter deleted"));
+    }
+
+    @GetMapping("/{filterId}/issues")
+    public ResponseEntity<KeysetPage<Issue>> getFilterIssues(@PathVariable Long filterId,
+                                                             @RequestParam(required = false) Long beforeId,
+                                                             @RequestParam(required = false) Integer limit,
+                                                             @RequestHeader("Authorization") String token) throws UserException, ProjectException, IssueException {
+        User user = userService.findUserProfileByJwt(token);
+        return ResponseEntity.ok(savedFilterService.getFilterIssues(user, filterId, beforeId, limit));
+    }
+}
@@ -0,0 +1,70 @@
+package com.yashh.controller;
+
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.SprintException;
+import com.yashh.model.Sprint;
+import com.yashh.request.SprintRequest;
+import com.yashh.response.BurndownResponse;
+import com.yashh.response.MessageResponse;
+import com.yashh.response.SprintVelocityResponse;
+import com.yashh.service.SprintService;
+
+@RestController
+@RequestMapping("/api/sprints")
+public class SprintController {
+
+    @Autowired
+    private SprintService sprintService;
+
+    @PostMapping
+    public ResponseEntity<Sprint> createSprint(@RequestBody SprintRequest request) throws SprintException, ProjectException {
+        return ResponseEntity.ok(sprintService.createSprint(request));
+    }
+
+    @GetMapping("/project/{projectId}")
+    public ResponseEntity<List<Sprint>> getSprintsByProjectId(@PathVariable Long projectId) {
+        return ResponseEntity.ok(sprintService.getSprintsByProjectId(projectId));
+    }
+
+    @DeleteMapping("/{sprintId}")
+    public ResponseEntity<MessageResponse> deleteSprint(@PathVariable Long sprintId) throws SprintException {
+        sprintService.deleteSprint(sprintId);
+        return ResponseEntity.ok(new MessageResponse("Sprint deleted"));
+    }
+
+    @PostMapping("/{sprintId}/issues")
+    public ResponseEntity<MessageResponse> addIssues(@PathVariable Long sprintId, @RequestBody List<Long> issueIds) throws SprintException {
+        int moved = sprintService.addIssues(sprintId, issueIds);
+        return ResponseEntity.ok(new MessageResponse(moved + " issues moved to the sprint"));
+    }
+
+    @DeleteMapping("/{sprintId}/issues/{issueId}")
+    public ResponseEntity<MessageResponse> removeIssue(@PathVariable Long sprintId, @PathVariable Long issueId) throws SprintException {
+        sprintService.removeIssue(sprintId, issueId);
+        return ResponseEntity.ok(new MessageResponse("Issue removed from the sprint"));
+    }
+
+    @GetMapping("/{sprintId}/burndown")
+    public ResponseEntity<BurndownResponse> getBurndown(@PathVariable Long sprintId) throws SprintException {
+        return ResponseEntity.ok(sprintService.getBurndown(sprintId));
+    }
+
+    @GetMapping("/project/{projectId}/velocity")
+    public ResponseEntity<List<SprintVelocityResponse>> getVelocity(@PathVariable Long projectId,
+                                                                    @RequestParam(required = false) Integer limit) {
+        return ResponseEntity.ok(sprintService.getVelocity(projectId, limit));
+    }
+}
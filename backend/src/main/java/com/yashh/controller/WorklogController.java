@@ -0,0 +1,100 @@
+package com.yashh.controller;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.DeleteMapping;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.PostMapping;
+import org.springframework.web.bind.annotation.PutMapping;
+import org.springframework.web.bind.annotation.RequestBody;
+import org.springframework.web.bind.annotation.RequestHeader;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+
+import com.yashh.domain.WorklogRollupKind;
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.UserException;
+import com.yashh.exception.WorklogException;
+import com.yashh.model.User;
+import com.yashh.model.Worklog;
+import com.yashh.request.WorklogRequest;
+import com.yashh.response.MessageResponse;
+import com.yashh.response.WorklogTotalResponse;
+import com.yashh.service.UserService;
+import com.yashh.service.WorklogService;
+
+@RestController
+@RequestMapping("/api/worklogs")
+public class WorklogController {
+
+    @Autowired
+    private WorklogService worklogService;
+
+    @Autowired
+    private UserService userService;
+
+    @PostMapping("/issue/{issueId}")
+    public ResponseEntity<Worklog> logWork(@PathVariable Long issueId,
+                                           @RequestBody WorklogRequest request,
+                                           @RequestHeader("Authorization") String token) throws UserException, ProjectException, IssueException, WorklogException {
+        User user = userService.findUserProfileByJwt(token);
+        return ResponseEntity.ok(worklogService.logWork(issueId, request, user));
+    }
+
+    @PutMapping("/{worklogId}")
+    public ResponseEntity<Worklog> updateWorklog(@PathVariable Long worklogId,
+                                                 @RequestBody WorklogRequest request,
+                                                 @RequestHeader("Authorization") String token) throws UserException, ProjectException, WorklogException {
+        User user = userService.findUserProfileByJwt(token);
+        return ResponseEntity.ok(worklogService.updateWorklog(worklogId, request, user));
+    }
+
+    @DeleteMapping("/{worklogId}")
+    public ResponseEntity<MessageResponse> deleteWorklog(@PathVariable Long worklogId,
+                                                         @RequestHeader("Authorization") String token) throws UserException, ProjectException, WorklogException {
+        User user = userService.findUserProfileByJwt(token);
+        worklogService.deleteWorklog(worklogId, user);
+        return ResponseEntity.ok(new MessageResponse("Worklog deleted"));
+    }
+
+    @GetMapping("/issue/{issueId}")
+    public ResponseEntity<List<Worklog>> getIssueWorklogs(@PathVariable Long issueId) {
+        return ResponseEntity.ok(worklogService.getIssueWorklogs(issueId));
+    }
+
+    @GetMapping("/issue/{issueId}/total")
+    public ResponseEntity<WorklogTotalResponse> getIssueTotal(@PathVariable Long issueId) {
+        return ResponseEntity.ok(worklogService.getTotal(WorklogRollupKind.ISSUE, issueId));
+    }
+
+    @GetMapping("/user/{userId}/total")
+    public ResponseEntity<WorklogTotalResponse> getUserTotal(@PathVariable Long userId) {
+        return ResponseEntity.ok(worklogService.getTotal(WorklogRollupKind.USER, userId));
+    }
+
+    @GetMapping("/user/{userId}/weeks")
+    public ResponseEntity<List<WorklogTotalResponse>> getUserWeeks(@PathVariable Long userId,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                   @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(worklogService.getWeeks(WorklogRollupKind.USER_WEEK, userId, from, to));
+    }
+
+    @GetMapping("/project/{projectId}/total")
+    public ResponseEntity<WorklogTotalResponse> getProjectTotal(@PathVariable Long projectId) {
+        return ResponseEntity.ok(worklogService.getTotal(WorklogRollupKind.PROJECT, projectId));
+    }
+
+    @GetMapping("/project/{projectId}/weeks")
+    public ResponseEntity<List<WorklogTotalResponse>> getProjectWeeks(@PathVariable Long projectId,
+                                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate from,
+                                                                      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE) LocalDate to) {
+        return ResponseEntity.ok(worklogService.getWeeks(WorklogRollupKind.PROJECT_WEEK, projectId, from, to));
+    }
+}
@@ -0,0 +1,7 @@
+package com.yashh.domain;
+
+public enum DictionaryKind {
+    STATUS,
+    PRIORITY,
+    CATEGORY
+}
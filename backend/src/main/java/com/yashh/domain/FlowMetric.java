@@ -0,0 +1,7 @@
+package com.yashh.domain;
+
+// stored by ordinal in flow_time_buckets, new metrics only ever go at the end
+public enum FlowMetric {
+    CYCLE_TIME,
+    LEAD_TIME
+}
@@ -0,0 +1,15 @@
+package com.yashh.domain;
+
+// stored by ordinal in issue_changes, new fields only ever go at the end
+public enum IssueField {
+    TITLE,
+    DESCRIPTION,
+    STATUS,
+    PRIORITY,
+    DUE_DATE,
+    TAGS,
+    ISSUE_TYPE,
+    PARENT,
+    ASSIGNEE,
+    SPRINT
+}
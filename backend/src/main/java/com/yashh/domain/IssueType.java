@@ -0,0 +1,8 @@
+package com.yashh.domain;
+
+public enum IssueType {
+    EPIC,
+    STORY,
+    TASK,
+    SUBTASK
+}
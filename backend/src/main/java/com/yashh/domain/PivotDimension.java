@@ -0,0 +1,8 @@
+package com.yashh.domain;
+
+public enum PivotDimension {
+    PROJECT,
+    STATUS,
+    PRIORITY,
+    ASSIGNEE
+}
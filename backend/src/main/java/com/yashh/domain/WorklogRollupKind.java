@@ -0,0 +1,27 @@
+package com.yashh.domain;
+
+// stored by ordinal in worklog_rollups, new kinds only ever go at the end
+public enum WorklogRollupKind {
+    ISSUE("issue_id", false),
+    USER("user_id", false),
+    USER_WEEK("user_id", true),
+    PROJECT("project_id", false),
+    PROJECT_WEEK("project_id", true);
+
+    // worklogs column the rollup is keyed by, reconciliation groups on it
+    private final String ownerColumn;
+    private final boolean weekly;
+
+    WorklogRollupKind(String ownerColumn, boolean weekly) {
+        this.ownerColumn = ownerColumn;
+        this.weekly = weekly;
+    }
+
+    public String getOwnerColumn() {
+        return ownerColumn;
+    }
+
+    public boolean isWeekly() {
+        return weekly;
+    }
+}
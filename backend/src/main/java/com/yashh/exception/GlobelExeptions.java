@@ -4,6 +4,7 @@ import java.time.LocalDateTime;
 
 import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
+import org.springframework.orm.ObjectOptimisticLockingFailureException;
 import org.springframework.web.bind.annotation.ControllerAdvice;
 import org.springframework.web.bind.annotation.ExceptionHandler;
 import org.springframework.web.context.request.WebRequest;
@@ -19,6 +20,20 @@ public class GlobelExeptions {
 		return new ResponseEntity<ErrorDetais>(error,HttpStatus.BAD_REQUEST);
 	}
 	
+	@ExceptionHandler(VersionConflictException.class)
+	public ResponseEntity<ErrorDetais> versionConflictHandler(VersionConflictException ve,
+			WebRequest req){
+		ErrorDetais error=new ErrorDetais(ve.getMessage(),req.getDescription(false),LocalDateTime.now());
+		return new ResponseEntity<ErrorDetais>(error,HttpStatus.PRECONDITION_FAILED);
+	}
+	
+	@ExceptionHandler(ObjectOptimisticLockingFailureException.class)
+	public ResponseEntity<ErrorDetais> optimisticLockHandler(ObjectOptimisticLockingFailureException oe,
+			WebRequest req){
+		ErrorDetais error=new ErrorDetais("resource was modified concurrently, reload and retry",req.getDescription(false),LocalDateTime.now());
+		return new ResponseEntity<ErrorDetais>(error,HttpStatus.CONFLICT);
+	}
+	
 	@ExceptionHandler(Exception.class)
 	public ResponseEntity<ErrorDetais> otherEceptionHandler(Exception ue,
 			WebRequest req){
@@ -0,0 +1,9 @@
+package com.yashh.exception;
+
+public class SprintException extends Exception {
+
+	public SprintException(String message) {
+		super(message);
+	}
+
+}
@@ -0,0 +1,9 @@
+package com.yashh.exception;
+
+public class VersionConflictException extends Exception {
+
+	public VersionConflictException(String message) {
+		super(message);
+	}
+
+}
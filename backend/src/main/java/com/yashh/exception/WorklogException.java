@@ -0,0 +1,9 @@
+package com.yashh.exception;
+
+public class WorklogException extends Exception {
+
+	public WorklogException(String message) {
+		super(message);
+	}
+
+}
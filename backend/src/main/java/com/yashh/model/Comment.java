@@ -1,9 +1,12 @@
 package com.yashh.model;
 import java.time.LocalDateTime;
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
 import lombok.AllArgsConstructor;
@@ -11,12 +14,18 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "comments")
+@Table(name = "comments", indexes = {
+        @Index(name = "idx_comments_issue", columnList = "issue_id, id"),
+        @Index(name = "idx_comments_thread", columnList = "issue_id, path, reply_seq"),
+        @Index(name = "idx_comments_roots", columnList = "issue_id, reply_seq, path") })
 @Data
 @NoArgsConstructor
 @AllArgsConstructor
 public class Comment {
 
+    public static final int MAX_DEPTH = 8;
+    public static final int PATH_SEGMENT_LENGTH = 12;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
@@ -25,10 +34,45 @@ public class Comment {
 
     private LocalDateTime createdDateTime;
 
-    @ManyToOne
+    // lazy so reading a comment does not drag in the author's and issue's graphs, reads go through CommentResponse
+    @ManyToOne(fetch = FetchType.LAZY)
     private User user;
 
-    @ManyToOne
+    @ManyToOne(fetch = FetchType.LAZY)
     private Issue issue;
 
+    private Long parentId;
+
+    // zero padded ids from the thread's top-level comment down to this one, sorting by path gives thread order
+    @Column(length = MAX_DEPTH * PATH_SEGMENT_LENGTH)
+    private String path;
+
+    // 0 for top-level comments
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int depth;
+
+    // order in which the reply arrived within its thread, 0 on the top-level comment
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int replySeq;
+
+    // only kept on top-level comments: replies currently in the thread and the last replySeq handed out
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int replyCount;
+
+    @Column(nullable = false, columnDefinition = "int default 0")
+    private int lastReplySeq;
+
+    public static String pathSegment(long id) {
+        return String.format("%0" + PATH_SEGMENT_LENGTH + "d", id);
+    }
+
+    // largest path any descendant of path can have
+    public static String lastPathUnder(String path) {
+        return path + "9".repeat(MAX_DEPTH * PATH_SEGMENT_LENGTH - path.length());
+    }
+
+    public static long rootId(String path) {
+        return Long.parseLong(path.substring(0, PATH_SEGMENT_LENGTH));
+    }
+
 }
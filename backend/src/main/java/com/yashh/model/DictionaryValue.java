@@ -0,0 +1,40 @@
+package com.yashh.model;
+
+import com.yashh.domain.DictionaryKind;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// string <-> small code mapping for status, priority and category columns
+@Entity
+@Table(name = "dictionary_values", uniqueConstraints = {
+		@UniqueConstraint(name = "uk_dictionary_code", columnNames = { "kind", "code" }),
+		@UniqueConstraint(name = "uk_dictionary_name", columnNames = { "kind", "name" }) })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DictionaryValue {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private DictionaryKind kind;
+
+	private short code;
+
+	@Column(nullable = false)
+	private String name;
+}
@@ -0,0 +1,37 @@
+package com.yashh.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Net number of a project's issues that entered a status on one day. The
+ * running sum up to a day is the count in that status at its end, which is
+ * one band of the cumulative flow diagram.
+ */
+@Entity
+@Table(name = "flow_status_days")
+@IdClass(FlowStatusDayId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlowStatusDay {
+
+	@Id
+	private Long projectId;
+
+	@Id
+	private LocalDate statDate;
+
+	// code of the status dictionary
+	@Id
+	private Short statusCode;
+
+	private int delta;
+}
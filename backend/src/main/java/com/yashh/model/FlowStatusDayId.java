@@ -0,0 +1,18 @@
+package com.yashh.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlowStatusDayId implements Serializable {
+
+	private Long projectId;
+	private LocalDate statDate;
+	private Short statusCode;
+}
@@ -0,0 +1,39 @@
+package com.yashh.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Number of issues completed on one day whose cycle or lead time fell into
+ * a LogHistogram bucket (durations in minutes).
+ */
+@Entity
+@Table(name = "flow_time_buckets")
+@IdClass(FlowTimeBucketId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlowTimeBucket {
+
+	@Id
+	private Long projectId;
+
+	@Id
+	private LocalDate statDate;
+
+	// FlowMetric ordinal
+	@Id
+	private Short metric;
+
+	@Id
+	private Short bucket;
+
+	private int samples;
+}
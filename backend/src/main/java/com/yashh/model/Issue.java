@@ -1,19 +1,32 @@
 package com.yashh.model;
 
 import java.time.LocalDate;
+import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import com.yashh.domain.IssueType;
+import com.yashh.util.DictionaryConverter;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.Table;
+import jakarta.persistence.Transient;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -23,21 +36,68 @@ import lombok.NoArgsConstructor;
 @AllArgsConstructor
 @NoArgsConstructor
 @Entity
-@Table(name = "issues")
+@DynamicUpdate
+@Table(name = "issues", indexes = {
+        @Index(name = "idx_issues_parent", columnList = "parent_id"),
+        @Index(name = "idx_issues_project_status", columnList = "project_id, status_code"),
+        @Index(name = "idx_issues_sprint", columnList = "sprint_id"),
+        @Index(name = "idx_issues_project_due", columnList = "project_id, due_date"),
+        // InnoDB appends id, so one assignee's issues come out in (due_date, id) order
+        @Index(name = "idx_issues_assignee_due", columnList = "assignee_id, due_date") })
 
 public class Issue {
 
+    public static final String STATUS_DONE = "done";
+    public static final int EXCERPT_LENGTH = 160;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
     private String title;
+
+    // full text lives compressed in issue_descriptions and is only loaded for the detail view
+    @Transient
+    @JsonInclude(JsonInclude.Include.NON_NULL)
     private String description;
+
+    @Column(length = EXCERPT_LENGTH + 3)
+    private String excerpt;
+
+    // stored as smallint codes of the status / priority dictionaries, the API keeps the names
+    @Convert(converter = DictionaryConverter.Status.class)
+    @Column(name = "status_code")
     private String status;
+
     private Long projectID;
+
+    @Convert(converter = DictionaryConverter.Priority.class)
+    @Column(name = "priority_code")
     private String priority;
+
     private LocalDate dueDate;
     private List<String> tags=new ArrayList<>();
+
+    @Enumerated(EnumType.STRING)
+    private IssueType issueType;
+
+    // direct parent in the epic / story / sub-task tree, full paths live in issue_closure
+    private Long parentId;
+
+    private Long sprintId;
+
+    // status transition stamps for cycle / lead time, null on issues older than flow tracking
+    private LocalDateTime createdAt;
+    private LocalDateTime startedAt;
+    private LocalDateTime completedAt;
+
+    // kept by CommentServiceImpl with in-place increments, never written from the entity
+    @Column(nullable = false, insertable = false, updatable = false, columnDefinition = "int default 0")
+    private int commentCount;
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
     
     // Explicit getters since Lombok is not working properly
     public Long getId() {
@@ -51,6 +111,26 @@ public class Issue {
     public String getDescription() {
         return description;
     }
+
+    // keeps the excerpt in step, Hibernate uses field access so loading does not come through here
+    public void setDescription(String description) {
+        this.description = description;
+        this.excerpt = excerptOf(description);
+    }
+
+    public static String excerptOf(String description) {
+        if (description == null || description.isEmpty()) {
+            return null;
+        }
+        // whitespace runs are collapsed, so look at a bounded prefix instead of the whole text
+        boolean longer = description.length() > EXCERPT_LENGTH * 4;
+        String text = (longer ? description.substring(0, EXCERPT_LENGTH * 4) : description).strip().replaceAll("\\s+", " ");
+        if (text.length() <= EXCERPT_LENGTH) {
+            return longer ? text + "..." : text;
+        }
+        int cut = text.lastIndexOf(' ', EXCERPT_LENGTH);
+        return text.substring(0, cut > EXCERPT_LENGTH / 2 ? cut : EXCERPT_LENGTH) + "...";
+    }
     
     public String getStatus() {
         return status;
@@ -0,0 +1,52 @@
+package com.yashh.model;
+
+import java.time.LocalDateTime;
+
+import com.yashh.domain.IssueField;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one field level delta of an issue, written in batches by IssueHistoryServiceImpl
+@Entity
+@Table(name = "issue_changes", indexes = @Index(name = "idx_issue_changes_issue", columnList = "issue_id, id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueChange {
+
+	// values are truncated to this before they are written
+	public static final int MAX_VALUE_LENGTH = 255;
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long issueId;
+
+	private Long userId;
+
+	@Enumerated(EnumType.ORDINAL)
+	@Column(nullable = false)
+	private IssueField field;
+
+	@Column(length = MAX_VALUE_LENGTH)
+	private String oldValue;
+
+	@Column(length = MAX_VALUE_LENGTH)
+	private String newValue;
+
+	@Column(nullable = false)
+	private LocalDateTime changedAt;
+}
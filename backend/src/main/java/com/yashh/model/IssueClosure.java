@@ -0,0 +1,28 @@
+package com.yashh.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one row per (ancestor, descendant) pair of the issue tree, including depth 0 self rows
+@Entity
+@Table(name = "issue_closure", indexes = @Index(name = "idx_issue_closure_descendant", columnList = "descendant_id, depth"))
+@IdClass(IssueClosureId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueClosure {
+
+	@Id
+	private Long ancestorId;
+
+	@Id
+	private Long descendantId;
+
+	private int depth;
+}
@@ -0,0 +1,26 @@
+package com.yashh.model;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Lob;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// full issue description, deflated (see TextCompression), kept out of the issues row
+@Entity
+@Table(name = "issue_descriptions")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueDescription {
+
+	@Id
+	private Long issueId;
+
+	@Lob
+	@Column(nullable = false, length = 16 * 1024 * 1024)
+	private byte[] content;
+}
@@ -0,0 +1,33 @@
+package com.yashh.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// blockerId blocks blockedId, both issues belong to projectId
+@Entity
+@Table(name = "issue_links",
+		uniqueConstraints = @UniqueConstraint(name = "uk_issue_links_pair", columnNames = {"blocker_id", "blocked_id"}),
+		indexes = @Index(name = "idx_issue_links_project", columnList = "project_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueLink {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	private Long projectId;
+
+	private Long blockerId;
+
+	private Long blockedId;
+}
@@ -0,0 +1,24 @@
+package com.yashh.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// subtree aggregates of an issue, its own row is not counted
+@Entity
+@Table(name = "issue_rollups")
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueRollup {
+
+	@Id
+	private Long issueId;
+
+	private int descendantCount;
+
+	private int doneDescendantCount;
+}
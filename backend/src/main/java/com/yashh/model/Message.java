@@ -2,10 +2,12 @@ package com.yashh.model;
 
 import java.time.LocalDateTime;
 
+import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
 import jakarta.persistence.Id;
+import jakarta.persistence.Index;
 import jakarta.persistence.JoinColumn;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.Table;
@@ -14,19 +16,34 @@ import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
-@Table(name = "messages")
+@Table(name = "messages", indexes = {
+        @Index(name = "idx_messages_chat_created", columnList = "chat_id, created_at, id"),
+        @Index(name = "idx_messages_chat_seq", columnList = "chat_id, seq", unique = true),
+        @Index(name = "idx_messages_chat_client_id", columnList = "chat_id, client_message_id", unique = true) })
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
 public class Message {
+
+    public static final int MAX_CLIENT_MESSAGE_ID_LENGTH = 64;
+    public static final int MAX_CONTENT_LENGTH = 255;
+
     @Id
     @GeneratedValue(strategy = GenerationType.IDENTITY)
     private Long id;
 
+    @Column(length = MAX_CONTENT_LENGTH)
     private String content;
 
     private LocalDateTime createdAt;
 
+    // per chat, gap free and assigned at send time; clients resume after the last one they saw
+    private Long seq;
+
+    // chosen by the client so a retried send is recognised instead of stored twice
+    @Column(length = MAX_CLIENT_MESSAGE_ID_LENGTH)
+    private String clientMessageId;
+
     @ManyToOne
     @JoinColumn(name = "chat_id")
     private Chat chat;
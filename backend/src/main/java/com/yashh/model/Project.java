@@ -3,9 +3,14 @@ package com.yashh.model;
 import java.util.ArrayList;
 import java.util.List;
 
+import org.hibernate.annotations.DynamicUpdate;
+
 import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.yashh.util.DictionaryConverter;
 
 import jakarta.persistence.CascadeType;
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
 import jakarta.persistence.Entity;
 import jakarta.persistence.GeneratedValue;
 import jakarta.persistence.GenerationType;
@@ -14,11 +19,13 @@ import jakarta.persistence.ManyToMany;
 import jakarta.persistence.ManyToOne;
 import jakarta.persistence.OneToMany;
 import jakarta.persistence.OneToOne;
+import jakarta.persistence.Version;
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
 
 @Entity
+@DynamicUpdate
 @Data
 @AllArgsConstructor
 @NoArgsConstructor
@@ -31,9 +38,20 @@ public class Project {
     
     private String description;
     
+    @Convert(converter = DictionaryConverter.Category.class)
+    @Column(name = "category_code")
     private String category;
     
     private List<String> tags = new ArrayList<>();
+
+    @Version
+    @Column(nullable = false, columnDefinition = "bigint default 0")
+    private Long version;
+
+    // bumped on every issue write in this project, drives the issue list ETag
+    @JsonIgnore
+    @Column(insertable = false, updatable = false, nullable = false, columnDefinition = "bigint default 0")
+    private long issueRevision;
    
     @JsonIgnore
     @OneToOne(mappedBy = "project", cascade = CascadeType.ALL,orphanRemoval = true)
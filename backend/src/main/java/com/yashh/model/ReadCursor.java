@@ -0,0 +1,31 @@
+package com.yashh.model;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * How far a user has read a chat: the seq of the last message they saw.
+ * Kept in memory by ReadCursorServiceImpl and written behind, so the row
+ * can trail the acknowledged value by one flush.
+ */
+@Entity
+@Table(name = "read_cursors")
+@IdClass(ReadCursorId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadCursor {
+
+	@Id
+	private Long userId;
+
+	@Id
+	private Long chatId;
+
+	private long lastReadSeq;
+}
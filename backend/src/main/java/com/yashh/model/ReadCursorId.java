@@ -0,0 +1,16 @@
+package com.yashh.model;
+
+import java.io.Serializable;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ReadCursorId implements Serializable {
+
+	private Long userId;
+	private Long chatId;
+}
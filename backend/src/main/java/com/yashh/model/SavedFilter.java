@@ -0,0 +1,54 @@
+package com.yashh.model;
+
+import java.time.LocalDateTime;
+
+import com.yashh.util.DictionaryConverter;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Convert;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// a stored /api/issues/search combination within one project, null criteria match everything
+@Entity
+@Table(name = "saved_filters", indexes = @Index(name = "idx_saved_filters_user", columnList = "user_id"))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedFilter {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long userId;
+
+	@Column(nullable = false)
+	private Long projectId;
+
+	@Column(nullable = false)
+	private String name;
+
+	// matched case-insensitively as a substring of the issue title
+	private String title;
+
+	@Convert(converter = DictionaryConverter.Status.class)
+	@Column(name = "status_code")
+	private String status;
+
+	@Convert(converter = DictionaryConverter.Priority.class)
+	@Column(name = "priority_code")
+	private String priority;
+
+	private Long assigneeId;
+
+	private LocalDateTime createdAt;
+}
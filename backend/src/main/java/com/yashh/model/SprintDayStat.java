@@ -0,0 +1,36 @@
+package com.yashh.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Net change of a sprint on one day: issues that entered minus issues that
+ * left (scope) and issues that reached done minus issues that left done.
+ * Running sums give the burndown, changes before the start count on the
+ * start day so that day's scope is the commitment.
+ */
+@Entity
+@Table(name = "sprint_day_stats")
+@IdClass(SprintDayStatId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SprintDayStat {
+
+	@Id
+	private Long sprintId;
+
+	@Id
+	private LocalDate statDate;
+
+	private int scopeDelta;
+
+	private int doneDelta;
+}
@@ -0,0 +1,17 @@
+package com.yashh.model;
+
+import java.io.Serializable;
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SprintDayStatId implements Serializable {
+
+	private Long sprintId;
+	private LocalDate statDate;
+}
@@ -26,6 +26,11 @@ public class User {
 	private String password;
 
 	private String role;
+
+	// secret part of the user's iCalendar feed url, null until requested
+	@JsonIgnore
+	@Column(unique = true, length = 64)
+	private String calendarToken;
 	
 	// Explicit getter for id since Lombok might not be working
 	public Long getId() {
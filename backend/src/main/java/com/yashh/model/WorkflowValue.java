@@ -0,0 +1,41 @@
+package com.yashh.model;
+
+import com.yashh.domain.DictionaryKind;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Table;
+import jakarta.persistence.UniqueConstraint;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// statuses / priorities a project allows, in display order; projects without rows use the defaults
+@Entity
+@Table(name = "project_workflow_values", uniqueConstraints = @UniqueConstraint(name = "uk_workflow_value",
+		columnNames = { "project_id", "kind", "code" }))
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowValue {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long projectId;
+
+	@Enumerated(EnumType.STRING)
+	@Column(nullable = false, length = 16)
+	private DictionaryKind kind;
+
+	private short code;
+
+	private int position;
+}
@@ -0,0 +1,53 @@
+package com.yashh.model;
+
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import jakarta.persistence.Index;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Entity
+@Table(name = "worklogs", indexes = {
+		@Index(name = "idx_worklogs_issue", columnList = "issue_id, id"),
+		@Index(name = "idx_worklogs_user_week", columnList = "user_id, week_start") })
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class Worklog {
+
+	@Id
+	@GeneratedValue(strategy = GenerationType.IDENTITY)
+	private Long id;
+
+	@Column(nullable = false)
+	private Long issueId;
+
+	@Column(nullable = false)
+	private Long userId;
+
+	// copied from the issue so project rollups and reconciliation need no join
+	@Column(nullable = false)
+	private Long projectId;
+
+	private int minutes;
+
+	@Column(nullable = false)
+	private LocalDate workDate;
+
+	// monday of workDate's week, the key of the weekly rollups
+	@Column(nullable = false)
+	private LocalDate weekStart;
+
+	@Column(length = 500)
+	private String note;
+
+	private LocalDateTime createdAt;
+}
@@ -0,0 +1,41 @@
+package com.yashh.model;
+
+import java.time.LocalDate;
+
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import jakarta.persistence.IdClass;
+import jakarta.persistence.Table;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * Logged minutes and entry count of one issue, user or project, either in
+ * total (period ALL_TIME) or for the week starting at period. Maintained
+ * by additive upserts on every worklog write.
+ */
+@Entity
+@Table(name = "worklog_rollups")
+@IdClass(WorklogRollupId.class)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogRollup {
+
+	public static final LocalDate ALL_TIME = LocalDate.EPOCH;
+
+	// WorklogRollupKind ordinal
+	@Id
+	private Short kind;
+
+	@Id
+	private Long ownerId;
+
+	@Id
+	private LocalDate period;
+
+	private long minutes;
+
+	private int entries;
+}
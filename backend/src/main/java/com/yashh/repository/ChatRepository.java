@@ -1,6 +1,10 @@
 package com.yashh.repository;
 
+import java.util.List;
+
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.yashh.model.Chat;
 import com.yashh.model.Project;
@@ -9,6 +13,15 @@ public interface ChatRepository extends JpaRepository<Chat, Long> {
     
 
 	Chat findByProject(Project projectById);
+
+	@Query("SELECT c.id FROM Chat c WHERE c.project.id = :projectId")
+	Long findIdByProjectId(@Param("projectId") Long projectId);
+
+	@Query("SELECT c.project.id FROM Chat c WHERE c.id = :chatId")
+	Long findProjectIdById(@Param("chatId") Long chatId);
+
+	@Query("SELECT c.id, c.project.id FROM Chat c")
+	List<Object[]> findAllProjectIds();
 	
 //	List<Chat> findByProjectNameContainingIgnoreCase(String projectName);
 }
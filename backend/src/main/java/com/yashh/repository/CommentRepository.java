@@ -2,12 +2,69 @@ package com.yashh.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.yashh.model.Comment;
+import com.yashh.response.CommentResponse;
 
 public interface CommentRepository extends JpaRepository<Comment, Long> {
 
 	List<Comment> findByIssueId(Long issueId);
-}
 
+	// newest first, walks idx_comments_issue backwards and only joins the author's name
+	@Query("SELECT new com.yashh.response.CommentResponse(c.id, c.issue.id, c.content, c.createdDateTime, u.id, u.fullName, "
+			+ "c.parentId, c.depth, c.replyCount) "
+			+ "FROM Comment c LEFT JOIN c.user u WHERE c.issue.id = :issueId AND c.id < :beforeId ORDER BY c.id DESC")
+	List<CommentResponse> findPage(@Param("issueId") Long issueId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+	@Query("SELECT COUNT(c) FROM Comment c")
+	long countAll();
+
+	@Query("SELECT c.issue.id, c.parentId, c.path, c.depth FROM Comment c WHERE c.id = :commentId")
+	List<Object[]> findPlacement(@Param("commentId") Long commentId);
+
+	// top-level comments have replySeq 0, so this is the next page of threads in path order off idx_comments_roots
+	@Query("SELECT c.path FROM Comment c WHERE c.issue.id = :issueId AND c.path > :afterPath AND c.replySeq = 0 ORDER BY c.path")
+	List<String> findRootPaths(@Param("issueId") Long issueId, @Param("afterPath") String afterPath, Pageable pageable);
+
+	/**
+	 * Every comment whose path falls in [fromPath, toPath], limited to the
+	 * first maxReplySeq replies of each thread. One range scan of
+	 * idx_comments_thread, reply_seq is filtered from the index. Deletes
+	 * renumber the replies left behind, so these are always the first K.
+	 */
+	@Query("SELECT new com.yashh.response.CommentResponse(c.id, c.issue.id, c.content, c.createdDateTime, u.id, u.fullName, "
+			+ "c.parentId, c.depth, c.replyCount) "
+			+ "FROM Comment c LEFT JOIN c.user u WHERE c.issue.id = :issueId AND c.path >= :fromPath AND c.path <= :toPath "
+			+ "AND c.replySeq <= :maxReplySeq ORDER BY c.path")
+	List<CommentResponse> findThreads(@Param("issueId") Long issueId, @Param("fromPath") String fromPath,
+			@Param("toPath") String toPath, @Param("maxReplySeq") int maxReplySeq);
+
+	@Modifying
+	@Query("UPDATE Comment c SET c.replyCount = c.replyCount + 1, c.lastReplySeq = c.lastReplySeq + 1 WHERE c.id = :rootId")
+	int addReply(@Param("rootId") Long rootId);
+
+	@Query("SELECT c.lastReplySeq FROM Comment c WHERE c.id = :rootId")
+	int findLastReplySeq(@Param("rootId") Long rootId);
+
+	@Modifying
+	@Query(value = "UPDATE comments SET reply_count = reply_count - :count WHERE id = :rootId", nativeQuery = true)
+	int removeReplies(@Param("rootId") Long rootId, @Param("count") int count);
+
+	@Query("SELECT c.id, c.replySeq FROM Comment c WHERE c.issue.id = :issueId AND c.path LIKE :pathPrefix AND c.replySeq > 0 "
+			+ "ORDER BY c.replySeq")
+	List<Object[]> findReplySeqs(@Param("issueId") Long issueId, @Param("pathPrefix") String pathPrefix);
+
+	@Modifying
+	@Query("UPDATE Comment c SET c.lastReplySeq = :lastReplySeq WHERE c.id = :rootId")
+	int setLastReplySeq(@Param("rootId") Long rootId, @Param("lastReplySeq") int lastReplySeq);
+
+	// the comment and everything below it
+	@Modifying
+	@Query("DELETE FROM Comment c WHERE c.issue.id = :issueId AND c.path LIKE :pathPrefix")
+	int deleteSubtree(@Param("issueId") Long issueId, @Param("pathPrefix") String pathPrefix);
+}
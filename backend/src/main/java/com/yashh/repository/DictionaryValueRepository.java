@@ -0,0 +1,9 @@
+package com.yashh.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.yashh.model.DictionaryValue;
+
+public interface DictionaryValueRepository extends JpaRepository<DictionaryValue, Long> {
+
+}
@@ -0,0 +1,34 @@
+package com.yashh.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.FlowStatusDay;
+import com.yashh.model.FlowStatusDayId;
+
+public interface FlowStatusDayRepository extends JpaRepository<FlowStatusDay, FlowStatusDayId> {
+
+	@Modifying
+	@Query(value = "INSERT INTO flow_status_days (project_id, stat_date, status_code, delta) VALUES (:projectId, :statDate, :statusCode, :delta) "
+			+ "ON DUPLICATE KEY UPDATE delta = delta + :delta", nativeQuery = true)
+	void addDelta(@Param("projectId") Long projectId, @Param("statDate") LocalDate statDate,
+			@Param("statusCode") short statusCode, @Param("delta") int delta);
+
+	// per status count at the end of the day before "before"
+	@Query("SELECT d.statusCode, SUM(d.delta) FROM FlowStatusDay d "
+			+ "WHERE d.projectId = :projectId AND d.statDate < :before GROUP BY d.statusCode")
+	List<Object[]> sumBefore(@Param("projectId") Long projectId, @Param("before") LocalDate before);
+
+	@Query("SELECT d FROM FlowStatusDay d WHERE d.projectId = :projectId AND d.statDate BETWEEN :from AND :to ORDER BY d.statDate")
+	List<FlowStatusDay> findRange(@Param("projectId") Long projectId, @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Modifying
+	@Query("DELETE FROM FlowStatusDay d WHERE d.projectId = :projectId")
+	void deleteByProjectId(@Param("projectId") Long projectId);
+
+}
@@ -0,0 +1,32 @@
+package com.yashh.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.FlowTimeBucket;
+import com.yashh.model.FlowTimeBucketId;
+
+public interface FlowTimeBucketRepository extends JpaRepository<FlowTimeBucket, FlowTimeBucketId> {
+
+	@Modifying
+	@Query(value = "INSERT INTO flow_time_buckets (project_id, stat_date, metric, bucket, samples) VALUES (:projectId, :statDate, :metric, :bucket, 1) "
+			+ "ON DUPLICATE KEY UPDATE samples = samples + 1", nativeQuery = true)
+	void addSample(@Param("projectId") Long projectId, @Param("statDate") LocalDate statDate,
+			@Param("metric") short metric, @Param("bucket") short bucket);
+
+	// bucket counts of the range, at most LogHistogram.BUCKETS rows
+	@Query("SELECT b.bucket, SUM(b.samples) FROM FlowTimeBucket b WHERE b.projectId = :projectId AND b.metric = :metric "
+			+ "AND b.statDate BETWEEN :from AND :to GROUP BY b.bucket")
+	List<Object[]> sumBuckets(@Param("projectId") Long projectId, @Param("metric") short metric,
+			@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+	@Modifying
+	@Query("DELETE FROM FlowTimeBucket b WHERE b.projectId = :projectId")
+	void deleteByProjectId(@Param("projectId") Long projectId);
+
+}
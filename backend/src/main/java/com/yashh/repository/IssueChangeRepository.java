@@ -0,0 +1,25 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.IssueChange;
+import com.yashh.response.IssueChangeResponse;
+
+public interface IssueChangeRepository extends JpaRepository<IssueChange, Long> {
+
+	@Query("SELECT new com.yashh.response.IssueChangeResponse(c.id, c.field, c.oldValue, c.newValue, c.changedAt, c.userId, u.fullName) "
+			+ "FROM IssueChange c LEFT JOIN User u ON u.id = c.userId "
+			+ "WHERE c.issueId = :issueId AND c.id < :beforeId ORDER BY c.id DESC")
+	List<IssueChangeResponse> findPage(@Param("issueId") Long issueId, @Param("beforeId") Long beforeId, Pageable pageable);
+
+	@Modifying
+	@Query("DELETE FROM IssueChange c WHERE c.issueId = :issueId")
+	void deleteByIssueId(@Param("issueId") Long issueId);
+
+}
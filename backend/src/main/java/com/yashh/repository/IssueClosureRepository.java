@@ -0,0 +1,46 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.IssueClosure;
+import com.yashh.model.IssueClosureId;
+
+public interface IssueClosureRepository extends JpaRepository<IssueClosure, IssueClosureId> {
+
+	boolean existsByAncestorIdAndDescendantId(Long ancestorId, Long descendantId);
+
+	@Query("SELECT c.ancestorId FROM IssueClosure c WHERE c.descendantId = :issueId AND c.depth > 0")
+	List<Long> findAncestorIds(@Param("issueId") Long issueId);
+
+	@Query("SELECT c.descendantId FROM IssueClosure c WHERE c.ancestorId = :issueId")
+	List<Long> findSubtreeIds(@Param("issueId") Long issueId);
+
+	@Modifying
+	@Query(value = "INSERT INTO issue_closure (ancestor_id, descendant_id, depth) VALUES (:issueId, :issueId, 0)", nativeQuery = true)
+	void insertSelf(@Param("issueId") Long issueId);
+
+	// every ancestor of the new parent (and the parent itself) times every node of the moved subtree
+	@Modifying
+	@Query(value = "INSERT INTO issue_closure (ancestor_id, descendant_id, depth) "
+			+ "SELECT a.ancestor_id, d.descendant_id, a.depth + d.depth + 1 "
+			+ "FROM issue_closure a CROSS JOIN issue_closure d "
+			+ "WHERE a.descendant_id = :parentId AND d.ancestor_id = :rootId", nativeQuery = true)
+	void attachSubtree(@Param("parentId") Long parentId, @Param("rootId") Long rootId);
+
+	@Modifying
+	@Query("DELETE FROM IssueClosure c WHERE c.ancestorId IN :ancestorIds AND c.descendantId IN :subtreeIds")
+	void detachSubtree(@Param("ancestorIds") List<Long> ancestorIds, @Param("subtreeIds") List<Long> subtreeIds);
+
+	@Modifying
+	@Query("UPDATE IssueClosure c SET c.depth = c.depth - 1 WHERE c.ancestorId IN :ancestorIds AND c.descendantId IN :subtreeIds")
+	void shortenPaths(@Param("ancestorIds") List<Long> ancestorIds, @Param("subtreeIds") List<Long> subtreeIds);
+
+	@Modifying
+	@Query("DELETE FROM IssueClosure c WHERE c.ancestorId = :issueId OR c.descendantId = :issueId")
+	void deleteNode(@Param("issueId") Long issueId);
+}
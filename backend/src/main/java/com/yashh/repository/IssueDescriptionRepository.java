@@ -0,0 +1,14 @@
+package com.yashh.repository;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.IssueDescription;
+
+public interface IssueDescriptionRepository extends JpaRepository<IssueDescription, Long> {
+
+	@Query("SELECT d.content FROM IssueDescription d WHERE d.issueId = :issueId")
+	byte[] findContentByIssueId(@Param("issueId") Long issueId);
+
+}
@@ -0,0 +1,27 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+
+import com.yashh.model.IssueLink;
+
+public interface IssueLinkRepository extends JpaRepository<IssueLink, Long> {
+
+	@Query("SELECT l.blockerId, l.blockedId FROM IssueLink l WHERE l.projectId = :projectId")
+	List<Object[]> findEdgesByProjectId(@Param("projectId") Long projectId);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM IssueLink l WHERE l.blockerId = :blockerId AND l.blockedId = :blockedId")
+	int deleteLink(@Param("blockerId") Long blockerId, @Param("blockedId") Long blockedId);
+
+	@Transactional
+	@Modifying
+	@Query("DELETE FROM IssueLink l WHERE l.blockerId = :issueId OR l.blockedId = :issueId")
+	int deleteByIssueId(@Param("issueId") Long issueId);
+}
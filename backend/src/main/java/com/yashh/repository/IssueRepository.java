@@ -1,13 +1,18 @@
 package com.yashh.repository;
 
+import java.time.LocalDate;
+import java.util.Collection;
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.query.Param;
 
 import com.yashh.model.Issue;
 import com.yashh.model.User;
+import com.yashh.response.CalendarIssueResponse;
 
 public interface IssueRepository extends JpaRepository<Issue, Long> {
 	List<Issue> findByAssigneeId(Long assigneeId);
@@ -33,5 +38,100 @@ public interface IssueRepository extends JpaRepository<Issue, Long> {
 
     List<Issue> findByProjectId(Long projectId);
 
+    List<Issue> findByParentId(Long parentId);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.parentId = :newParentId, i.version = i.version + 1 WHERE i.parentId = :parentId")
+    int reparentChildren(@Param("parentId") Long parentId, @Param("newParentId") Long newParentId);
+
+    @Modifying
+    @Query("UPDATE Issue i SET i.sprintId = NULL, i.version = i.version + 1 WHERE i.sprintId = :sprintId")
+    int clearSprint(@Param("sprintId") Long sprintId);
+
+    // leaves the version alone, a new comment must not fail someone's concurrent edit of the issue
+    @Modifying
+    @Query("UPDATE Issue i SET i.commentCount = i.commentCount + 1 WHERE i.id = :issueId")
+    int incrementCommentCount(@Param("issueId") Long issueId);
+
+    // native, the entity query would cast the parameter to the column definition
+    @Modifying
+    @Query(value = "UPDATE issues SET comment_count = GREATEST(comment_count - :count, 0) WHERE id = :issueId", nativeQuery = true)
+    int subtractCommentCount(@Param("issueId") Long issueId, @Param("count") int count);
+
+    @Query("SELECT COALESCE(SUM(i.commentCount), 0) FROM Issue i")
+    long sumCommentCounts();
+
+    // title is expected lower case; LOCATE, not LIKE, so % and _ match literally like MaterializedFilter.matches
+    @Query("SELECT i.id FROM Issue i " +
+            "LEFT JOIN i.assignee a " +
+            "WHERE i.project.id = :projectId " +
+            "AND (:title IS NULL OR LOCATE(:title, LOWER(i.title)) > 0) " +
+            "AND (:status IS NULL OR i.status = :status) " +
+            "AND (:priority IS NULL OR i.priority = :priority) " +
+            "AND (:assigneeId IS NULL OR a.id = :assigneeId)")
+    List<Long> searchIssueIds(@Param("projectId") Long projectId, @Param("title") String title, @Param("status") String status,
+                              @Param("priority") String priority, @Param("assigneeId") Long assigneeId);
+
+    @Query("SELECT new com.yashh.response.CalendarIssueResponse(i.id, i.project.id, i.title, i.status, i.priority, i.dueDate) "
+            + "FROM Issue i WHERE i.project.id IN :projectIds AND i.dueDate BETWEEN :from AND :to ORDER BY i.dueDate, i.id")
+    List<CalendarIssueResponse> findCalendar(@Param("projectIds") Collection<Long> projectIds,
+                                             @Param("from") LocalDate from, @Param("to") LocalDate to);
+
+    // open dated issues of one assignee after a (dueDate, id) keyset, walks idx_issues_assignee_due in order without a filesort
+    @Query("SELECT new com.yashh.response.CalendarIssueResponse(i.id, i.project.id, i.title, i.status, i.priority, i.dueDate) "
+            + "FROM Issue i WHERE i.assignee.id = :assigneeId AND i.status IN :openStatuses AND i.dueDate IS NOT NULL "
+            + "AND (i.dueDate > :afterDue OR (i.dueDate = :afterDue AND i.id > :afterId)) ORDER BY i.dueDate, i.id")
+    List<CalendarIssueResponse> findOpenByAssigneeDueAfter(@Param("assigneeId") Long assigneeId,
+                                                           @Param("openStatuses") Collection<String> openStatuses,
+                                                           @Param("afterDue") LocalDate afterDue,
+                                                           @Param("afterId") Long afterId, Pageable pageable);
+
+    // the undated rest, the NULL due_date range of the same index is in id order
+    @Query("SELECT new com.yashh.response.CalendarIssueResponse(i.id, i.project.id, i.title, i.status, i.priority, i.dueDate) "
+            + "FROM Issue i WHERE i.assignee.id = :assigneeId AND i.status IN :openStatuses AND i.dueDate IS NULL "
+            + "AND i.id > :afterId ORDER BY i.id")
+    List<CalendarIssueResponse> findOpenUndatedByAssigneeAfter(@Param("assigneeId") Long assigneeId,
+                                                               @Param("openStatuses") Collection<String> openStatuses,
+                                                               @Param("afterId") Long afterId, Pageable pageable);
+
+    @Query("SELECT p.id, p.name, COUNT(i) FROM Issue i JOIN i.project p "
+            + "WHERE i.assignee.id = :assigneeId AND i.status <> :doneStatus GROUP BY p.id, p.name")
+    List<Object[]> countOpenByAssigneeGroupByProject(@Param("assigneeId") Long assigneeId,
+                                                     @Param("doneStatus") String doneStatus);
+
+    @Query("SELECT i.project.id, COUNT(i) FROM Issue i WHERE i.project.id IN :projectIds AND i.status <> :doneStatus "
+            + "GROUP BY i.project.id")
+    List<Object[]> countOpenGroupByProject(@Param("projectIds") Collection<Long> projectIds,
+                                           @Param("doneStatus") String doneStatus);
+
+    @Query("SELECT i.project.id FROM Issue i WHERE i.id = :issueId")
+    Long findProjectIdById(@Param("issueId") Long issueId);
+
+    @Query("SELECT i.id, i.title, i.status, i.dueDate FROM Issue i WHERE i.project.id = :projectId")
+    List<Object[]> findScheduleByProjectId(@Param("projectId") Long projectId);
+
+    @Query("SELECT i.id, i.title, d.content FROM Issue i LEFT JOIN IssueDescription d ON d.issueId = i.id "
+            + "WHERE i.project.id = :projectId "
+            + "AND (i.status IS NULL OR i.status <> :doneStatus)")
+    List<Object[]> findOpenTextByProjectId(@Param("projectId") Long projectId, @Param("doneStatus") String doneStatus);
+
+    @Query("SELECT i.id, i.title, i.status FROM Issue i WHERE i.id IN :issueIds")
+    List<Object[]> findSummariesByIds(@Param("issueIds") List<Long> issueIds);
+
+    @Query("SELECT COUNT(i) FROM Issue i WHERE i.project.id = :projectId AND i.status = :status")
+    long countByProjectAndStatus(@Param("projectId") Long projectId, @Param("status") String status);
+
+    @Query("SELECT COUNT(i) FROM Issue i WHERE i.project.id = :projectId AND i.priority = :priority")
+    long countByProjectAndPriority(@Param("projectId") Long projectId, @Param("priority") String priority);
+
+    // the comment count is shown on the issue but does not bump its version
+    @Query("SELECT i.version, i.commentCount FROM Issue i WHERE i.id = :issueId")
+    List<Object[]> findETagStateById(@Param("issueId") Long issueId);
+
+    @Query("SELECT i.id, i.dueDate FROM Issue i WHERE i.id > :afterId AND i.dueDate >= :from "
+            + "AND (i.status IS NULL OR i.status <> :doneStatus) ORDER BY i.id")
+    List<Object[]> findOpenDueDatesAfter(@Param("afterId") Long afterId, @Param("from") LocalDate from,
+            @Param("doneStatus") String doneStatus, Pageable pageable);
+
 
 }
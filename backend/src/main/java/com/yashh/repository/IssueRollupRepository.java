@@ -0,0 +1,37 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.domain.IssueType;
+import com.yashh.model.IssueRollup;
+import com.yashh.response.IssueProgressResponse;
+
+public interface IssueRollupRepository extends JpaRepository<IssueRollup, Long> {
+
+	@Modifying
+	@Query(value = "INSERT INTO issue_rollups (issue_id, descendant_count, done_descendant_count) VALUES (:issueId, 0, 0)", nativeQuery = true)
+	void insertEmpty(@Param("issueId") Long issueId);
+
+	@Modifying
+	@Query("UPDATE IssueRollup r SET r.descendantCount = r.descendantCount + :total, "
+			+ "r.doneDescendantCount = r.doneDescendantCount + :done "
+			+ "WHERE r.issueId IN (SELECT c.ancestorId FROM IssueClosure c WHERE c.descendantId = :issueId AND c.depth > 0)")
+	void adjustAncestors(@Param("issueId") Long issueId, @Param("total") int total, @Param("done") int done);
+
+	@Query("SELECT new com.yashh.response.IssueProgressResponse(i.id, i.title, r.descendantCount, r.doneDescendantCount) "
+			+ "FROM Issue i, IssueRollup r WHERE r.issueId = i.id AND i.id = :issueId")
+	IssueProgressResponse findProgress(@Param("issueId") Long issueId);
+
+	@Query("SELECT new com.yashh.response.IssueProgressResponse(i.id, i.title, r.descendantCount, r.doneDescendantCount) "
+			+ "FROM Issue i, IssueRollup r WHERE r.issueId = i.id AND i.project.id = :projectId AND i.issueType = :issueType")
+	List<IssueProgressResponse> findProgressByProjectAndType(@Param("projectId") Long projectId, @Param("issueType") IssueType issueType);
+
+	@Modifying
+	@Query("DELETE FROM IssueRollup r WHERE r.issueId = :issueId")
+	void deleteByIssueId(@Param("issueId") Long issueId);
+}
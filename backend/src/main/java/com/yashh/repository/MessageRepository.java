@@ -2,10 +2,33 @@ package com.yashh.repository;
 
 import java.util.List;
 
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.yashh.model.Message;
+import com.yashh.response.ChatMessageResponse;
 
 public interface MessageRepository extends JpaRepository<Message, Long>{
-	 List<Message> findByChatIdOrderByCreatedAtAsc(Long chatId);
+	// newest first, walks idx_messages_chat_seq backwards; seq is unique per chat so it is a complete keyset
+	@Query("SELECT new com.yashh.response.ChatMessageResponse(m.seq, m.chat.id, m.clientMessageId, m.content, m.createdAt, "
+			+ "s.id, s.fullName) "
+			+ "FROM Message m LEFT JOIN m.sender s WHERE m.chat.id = :chatId AND m.seq < :beforeSeq "
+			+ "ORDER BY m.seq DESC")
+	List<ChatMessageResponse> findPage(@Param("chatId") Long chatId, @Param("beforeSeq") Long beforeSeq, Pageable pageable);
+
+	// seq order, reads idx_messages_chat_seq
+	@Query("SELECT new com.yashh.response.ChatMessageResponse(m.seq, m.chat.id, m.clientMessageId, m.content, m.createdAt, "
+			+ "s.id, s.fullName) "
+			+ "FROM Message m LEFT JOIN m.sender s WHERE m.chat.id = :chatId AND m.seq > :afterSeq AND m.seq < :beforeSeq "
+			+ "ORDER BY m.seq")
+	List<ChatMessageResponse> findSeqRange(@Param("chatId") Long chatId, @Param("afterSeq") Long afterSeq,
+			@Param("beforeSeq") Long beforeSeq, Pageable pageable);
+
+	// point lookup on idx_messages_chat_client_id
+	@Query("SELECT new com.yashh.response.ChatMessageResponse(m.seq, m.chat.id, m.clientMessageId, m.content, m.createdAt, "
+			+ "s.id, s.fullName) "
+			+ "FROM Message m LEFT JOIN m.sender s WHERE m.chat.id = :chatId AND m.clientMessageId = :clientMessageId")
+	List<ChatMessageResponse> findByClientMessageId(@Param("chatId") Long chatId, @Param("clientMessageId") String clientMessageId);
 }
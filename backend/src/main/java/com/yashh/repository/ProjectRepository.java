@@ -3,7 +3,9 @@ package com.yashh.repository;
 import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
+import org.springframework.transaction.annotation.Transactional;
 import org.springframework.data.repository.query.Param;
 
 import com.yashh.model.Project;
@@ -22,4 +24,41 @@ public interface ProjectRepository extends JpaRepository<Project, Long> {
 
 	List<Project> findByTeamContainingOrOwner(User user,User owner);
 
+	@Query("SELECT p.version FROM Project p WHERE p.id = :projectId")
+	Long findVersionById(@Param("projectId") Long projectId);
+
+	@Query("SELECT p.issueRevision FROM Project p WHERE p.id = :projectId")
+	Long findIssueRevisionById(@Param("projectId") Long projectId);
+
+	@Query("SELECT DISTINCT p.id, p.version FROM Project p LEFT JOIN p.team t WHERE t = :user OR p.owner = :user ORDER BY p.id")
+	List<Object[]> findVersionsByTeamOrOwner(@Param("user") User user);
+
+	@Query("SELECT DISTINCT p.id, p.name FROM Project p LEFT JOIN p.team t WHERE t = :user OR p.owner = :user ORDER BY p.id")
+	List<Object[]> findNamesByTeamOrOwner(@Param("user") User user);
+
+	// the name rides along for feeds that print it, a rename does not bump the revision
+	@Query("SELECT DISTINCT p.id, p.issueRevision, p.name FROM Project p LEFT JOIN p.team t WHERE t = :user OR p.owner = :user ORDER BY p.id")
+	List<Object[]> findIssueRevisionsByTeamOrOwner(@Param("user") User user);
+
+	@Query("SELECT p.id, t.id FROM Project p JOIN p.team t")
+	List<Object[]> findAllMemberIds();
+
+	@Query("SELECT p.id, p.owner.id FROM Project p WHERE p.owner IS NOT NULL")
+	List<Object[]> findAllOwnerIds();
+
+	@Query("SELECT t.id FROM Project p JOIN p.team t WHERE p.id = :projectId")
+	List<Long> findMemberIds(@Param("projectId") Long projectId);
+
+	@Query("SELECT p.owner.id FROM Project p WHERE p.id = :projectId")
+	Long findOwnerId(@Param("projectId") Long projectId);
+
+	@Transactional
+	@Modifying
+	@Query("UPDATE Project p SET p.issueRevision = p.issueRevision + 1 WHERE p.id = :projectId")
+	int incrementIssueRevision(@Param("projectId") Long projectId);
+
+	@Modifying
+	@Query("UPDATE Project p SET p.issueRevision = p.issueRevision + 1 WHERE p.id = (SELECT i.project.id FROM Issue i WHERE i.id = :issueId)")
+	int incrementIssueRevisionOfIssue(@Param("issueId") Long issueId);
+
 }
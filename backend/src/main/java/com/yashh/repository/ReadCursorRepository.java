@@ -0,0 +1,17 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+
+import com.yashh.model.ReadCursor;
+import com.yashh.model.ReadCursorId;
+
+public interface ReadCursorRepository extends JpaRepository<ReadCursor, ReadCursorId> {
+
+	// userId, chatId, lastReadSeq of every cursor, loaded once at startup
+	@Query("SELECT c.userId, c.chatId, c.lastReadSeq FROM ReadCursor c")
+	List<Object[]> findAllCursors();
+
+}
@@ -0,0 +1,13 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.yashh.model.SavedFilter;
+
+public interface SavedFilterRepository extends JpaRepository<SavedFilter, Long> {
+
+	List<SavedFilter> findByUserIdOrderById(Long userId);
+
+}
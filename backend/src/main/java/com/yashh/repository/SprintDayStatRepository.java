@@ -0,0 +1,31 @@
+package com.yashh.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.SprintDayStat;
+import com.yashh.model.SprintDayStatId;
+
+public interface SprintDayStatRepository extends JpaRepository<SprintDayStat, SprintDayStatId> {
+
+	@Modifying
+	@Query(value = "INSERT INTO sprint_day_stats (sprint_id, stat_date, scope_delta, done_delta) VALUES (:sprintId, :statDate, :scope, :done) "
+			+ "ON DUPLICATE KEY UPDATE scope_delta = scope_delta + :scope, done_delta = done_delta + :done", nativeQuery = true)
+	void addDeltas(@Param("sprintId") Long sprintId, @Param("statDate") LocalDate statDate, @Param("scope") int scope, @Param("done") int done);
+
+	List<SprintDayStat> findBySprintIdOrderByStatDate(Long sprintId);
+
+	@Modifying
+	@Query("DELETE FROM SprintDayStat d WHERE d.sprintId = :sprintId")
+	void deleteBySprintId(@Param("sprintId") Long sprintId);
+
+	@Modifying
+	@Query("DELETE FROM SprintDayStat d WHERE d.sprintId IN (SELECT s.id FROM Sprint s WHERE s.projectId = :projectId)")
+	void deleteByProjectId(@Param("projectId") Long projectId);
+
+}
@@ -0,0 +1,28 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.Sprint;
+import com.yashh.response.SprintVelocityResponse;
+
+public interface SprintRepository extends JpaRepository<Sprint, Long> {
+
+	List<Sprint> findByProjectIdOrderByStartDateDesc(Long projectId);
+
+	@Modifying
+	@Query("DELETE FROM Sprint s WHERE s.projectId = :projectId")
+	void deleteByProjectId(@Param("projectId") Long projectId);
+
+	@Query("SELECT new com.yashh.response.SprintVelocityResponse(s.id, s.name, s.startDate, s.endDate, "
+			+ "COALESCE(SUM(CASE WHEN d.statDate = s.startDate THEN d.scopeDelta ELSE 0 END), 0), COALESCE(SUM(d.doneDelta), 0)) "
+			+ "FROM Sprint s LEFT JOIN SprintDayStat d ON d.sprintId = s.id "
+			+ "WHERE s.projectId = :projectId GROUP BY s.id, s.name, s.startDate, s.endDate ORDER BY s.startDate DESC")
+	List<SprintVelocityResponse> findVelocityByProjectId(@Param("projectId") Long projectId, Pageable pageable);
+
+}
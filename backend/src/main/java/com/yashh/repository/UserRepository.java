@@ -1,7 +1,11 @@
 package com.yashh.repository;
 
+import java.util.Collection;
+import java.util.List;
 
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 
 import com.yashh.model.User;
 
@@ -9,4 +13,13 @@ public interface UserRepository extends JpaRepository<User, Long> {
 	
 	public User findByEmail(String email);
 
+	User findByCalendarToken(String calendarToken);
+
+	@Query("SELECT u.id, u.email FROM User u WHERE u.email IN :emails")
+	List<Object[]> findIdsByEmails(@Param("emails") Collection<String> emails);
+
+	// empty for users without a name, null only when there is no such user
+	@Query("SELECT COALESCE(u.fullName, '') FROM User u WHERE u.id = :userId")
+	String findFullNameById(@Param("userId") Long userId);
+
 }
@@ -0,0 +1,20 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.WorkflowValue;
+
+public interface WorkflowValueRepository extends JpaRepository<WorkflowValue, Long> {
+
+	List<WorkflowValue> findByProjectIdOrderByPosition(Long projectId);
+
+	@Modifying
+	@Query("DELETE FROM WorkflowValue w WHERE w.projectId = :projectId")
+	void deleteByProjectId(@Param("projectId") Long projectId);
+
+}
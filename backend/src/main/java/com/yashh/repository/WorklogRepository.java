@@ -0,0 +1,13 @@
+package com.yashh.repository;
+
+import java.util.List;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+
+import com.yashh.model.Worklog;
+
+public interface WorklogRepository extends JpaRepository<Worklog, Long> {
+
+	List<Worklog> findByIssueIdOrderByIdDesc(Long issueId);
+
+}
@@ -0,0 +1,24 @@
+package com.yashh.repository;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Optional;
+
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+
+import com.yashh.model.WorklogRollup;
+import com.yashh.model.WorklogRollupId;
+
+public interface WorklogRollupRepository extends JpaRepository<WorklogRollup, WorklogRollupId> {
+
+	@Query("SELECT r FROM WorklogRollup r WHERE r.kind = :kind AND r.ownerId = :ownerId AND r.period = :period")
+	Optional<WorklogRollup> findOne(@Param("kind") short kind, @Param("ownerId") Long ownerId, @Param("period") LocalDate period);
+
+	@Query("SELECT r FROM WorklogRollup r WHERE r.kind = :kind AND r.ownerId = :ownerId "
+			+ "AND r.period BETWEEN :from AND :to ORDER BY r.period")
+	List<WorklogRollup> findRange(@Param("kind") short kind, @Param("ownerId") Long ownerId,
+			@Param("from") LocalDate from, @Param("to") LocalDate to);
+
+}
@@ -6,4 +6,6 @@ import lombok.Data;
 public class CreateCommentRequest {
     private Long issueId;
     private String content;
+    // set when replying to another comment of the issue
+    private Long parentId;
 }
@@ -12,4 +12,6 @@ public class CreateMessageRequest {
 	private Long senderId;
 	private Long projectId;
 	private String content;
+	// optional, the same id on a retry returns the message already sent
+	private String clientMessageId;
 }
@@ -0,0 +1,29 @@
+package com.yashh.request;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import org.springframework.format.annotation.DateTimeFormat;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// bound from query parameters, projects default to all of the caller's projects
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuePivotRequest {
+
+	private List<String> groupBy;
+	private List<Long> projectIds;
+	private List<String> status;
+	private List<String> priority;
+	// 0 selects unassigned issues
+	private Long assigneeId;
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate dueFrom;
+	@DateTimeFormat(iso = DateTimeFormat.ISO.DATE)
+	private LocalDate dueTo;
+	private boolean open;
+}
@@ -2,6 +2,8 @@ package com.yashh.request;
 
 import java.time.LocalDate;
 
+import com.yashh.domain.IssueType;
+
 import lombok.AllArgsConstructor;
 import lombok.Data;
 import lombok.NoArgsConstructor;
@@ -18,5 +20,8 @@ public class IssueRequest {
 	private String priority;
 	private LocalDate dueDate;
 	private Long userId;
+	private IssueType issueType;
+	private Long parentId;
+	private Long sprintId;
 
 }
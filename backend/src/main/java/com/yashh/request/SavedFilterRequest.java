@@ -0,0 +1,18 @@
+package com.yashh.request;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedFilterRequest {
+
+	private String name;
+	private Long projectId;
+	private String title;
+	private String status;
+	private String priority;
+	private Long assigneeId;
+}
@@ -0,0 +1,19 @@
+package com.yashh.request;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SprintRequest {
+
+	private Long projectId;
+	private String name;
+	private LocalDate startDate;
+	private LocalDate endDate;
+
+}
@@ -0,0 +1,17 @@
+package com.yashh.request;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowRequest {
+
+	private List<String> statuses;
+	private List<String> priorities;
+
+}
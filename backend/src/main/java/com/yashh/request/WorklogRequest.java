@@ -0,0 +1,17 @@
+package com.yashh.request;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogRequest {
+
+	private Integer minutes;
+	private LocalDate workDate;
+	private String note;
+}
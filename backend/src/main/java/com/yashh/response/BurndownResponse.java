@@ -0,0 +1,29 @@
+package com.yashh.response;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class BurndownResponse {
+
+	private Long sprintId;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	private List<Day> days;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Day {
+		private LocalDate date;
+		private int scope;
+		private int remaining;
+		private int completed;
+	}
+}
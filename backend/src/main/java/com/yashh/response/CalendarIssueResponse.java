@@ -0,0 +1,20 @@
+package com.yashh.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CalendarIssueResponse {
+
+	private Long id;
+	private Long projectId;
+	private String title;
+	private String status;
+	private String priority;
+	private LocalDate dueDate;
+}
@@ -0,0 +1,34 @@
+package com.yashh.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// what chat clients receive, sender carries only what the chat panel shows
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class ChatMessageResponse {
+
+	private Long seq;
+	private Long chatId;
+	private String clientMessageId;
+	private String content;
+	private LocalDateTime createdAt;
+	private Sender sender;
+
+	public ChatMessageResponse(Long seq, Long chatId, String clientMessageId, String content, LocalDateTime createdAt,
+			Long senderId, String senderName) {
+		this(seq, chatId, clientMessageId, content, createdAt, new Sender(senderId, senderName));
+	}
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Sender {
+		private Long id;
+		private String fullName;
+	}
+}
@@ -0,0 +1,24 @@
+package com.yashh.response;
+
+import java.time.LocalDateTime;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CommentResponse {
+
+	private Long id;
+	private Long issueId;
+	private String content;
+	private LocalDateTime createdDateTime;
+	private Long userId;
+	private String userName;
+	private Long parentId;
+	private int depth;
+	// replies in the thread, only set on top-level comments
+	private int replyCount;
+}
@@ -0,0 +1,20 @@
+package com.yashh.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CriticalPathStep {
+
+	private Long issueId;
+	private String title;
+	private String status;
+	private LocalDate dueDate;
+	// days between this issue's due date and the one it blocks, negative means the chain is late
+	private Long slackDays;
+}
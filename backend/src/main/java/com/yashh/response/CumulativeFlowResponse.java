@@ -0,0 +1,29 @@
+package com.yashh.response;
+
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Map;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class CumulativeFlowResponse {
+
+	private Long projectId;
+	private LocalDate from;
+	private LocalDate to;
+	private List<Day> days;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Day {
+		private LocalDate date;
+		// issues per status at the end of the day, in workflow order
+		private Map<String, Long> statuses;
+	}
+}
@@ -0,0 +1,15 @@
+package com.yashh.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class DependencyResponse {
+
+	private Long issueId;
+	private long[] blocks;
+	private long[] blockedBy;
+}
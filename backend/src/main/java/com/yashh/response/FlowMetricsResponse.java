@@ -0,0 +1,30 @@
+package com.yashh.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class FlowMetricsResponse {
+
+	private Long projectId;
+	private LocalDate from;
+	private LocalDate to;
+	private Percentiles cycleTime;
+	private Percentiles leadTime;
+
+	// durations in minutes, null without samples
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Percentiles {
+		private long samples;
+		private Long p50;
+		private Long p85;
+		private Long p95;
+	}
+}
@@ -0,0 +1,44 @@
+package com.yashh.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class HomeResponse {
+
+	private UserSummary user;
+	private List<ProjectSummary> projects;
+	// open issues assigned to the user, earliest due date first and undated last
+	private List<CalendarIssueResponse> assigned;
+	private long assignedTotal;
+	// cursor of the next page of assigned issues, null on the last one
+	private String nextCursor;
+	private int size;
+
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class UserSummary {
+		private Long id;
+		private String fullName;
+		private String email;
+		private int projectSize;
+	}
+
+	// openIssues counts the whole project, assignedOpen only the user's part of it
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class ProjectSummary {
+		private Long id;
+		private String name;
+		private boolean member;
+		private long openIssues;
+		private long assignedOpen;
+	}
+}
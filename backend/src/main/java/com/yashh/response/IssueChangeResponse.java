@@ -0,0 +1,23 @@
+package com.yashh.response;
+
+import java.time.LocalDateTime;
+
+import com.yashh.domain.IssueField;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueChangeResponse {
+
+	private Long id;
+	private IssueField field;
+	private String oldValue;
+	private String newValue;
+	private LocalDateTime changedAt;
+	private Long userId;
+	private String userName;
+}
@@ -0,0 +1,29 @@
+package com.yashh.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssuePivotResponse {
+
+	private List<String> groupBy;
+	private long total;
+	private List<Row> rows;
+
+	// dimensions that are not grouped stay null
+	@Data
+	@NoArgsConstructor
+	@AllArgsConstructor
+	public static class Row {
+		private Long projectId;
+		private String status;
+		private String priority;
+		private Long assigneeId;
+		private long count;
+	}
+}
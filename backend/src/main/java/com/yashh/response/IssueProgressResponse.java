@@ -0,0 +1,20 @@
+package com.yashh.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class IssueProgressResponse {
+
+	private Long issueId;
+	private String title;
+	private int total;
+	private int done;
+
+	public int getPercentDone() {
+		return total == 0 ? 0 : (int) (100L * done / total);
+	}
+}
@@ -0,0 +1,17 @@
+package com.yashh.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// one page of a keyset paged list, pass nextCursor back to get the following page (null on the last one)
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class KeysetPage<T> {
+
+	private List<T> items;
+	private Long nextCursor;
+}
@@ -0,0 +1,18 @@
+package com.yashh.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// who has the chat open and who is typing in it, user ids in ascending order
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class PresenceResponse {
+
+	private Long chatId;
+	private List<Long> online;
+	private List<Long> typing;
+}
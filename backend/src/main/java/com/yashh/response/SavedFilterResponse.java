@@ -0,0 +1,21 @@
+package com.yashh.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SavedFilterResponse {
+
+	private Long id;
+	private String name;
+	private Long projectId;
+	private String title;
+	private String status;
+	private String priority;
+	private Long assigneeId;
+	// number of matching issues, the badge of the filter
+	private int count;
+}
@@ -0,0 +1,17 @@
+package com.yashh.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SimilarIssueResponse {
+
+	private Long issueId;
+	private String title;
+	private String status;
+	// estimated Jaccard similarity of the shingled title and description
+	private double similarity;
+}
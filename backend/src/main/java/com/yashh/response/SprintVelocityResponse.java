@@ -0,0 +1,21 @@
+package com.yashh.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class SprintVelocityResponse {
+
+	private Long sprintId;
+	private String name;
+	private LocalDate startDate;
+	private LocalDate endDate;
+	// issues in the sprint on its first day
+	private Long committed;
+	private Long completed;
+}
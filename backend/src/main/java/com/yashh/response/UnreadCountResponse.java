@@ -0,0 +1,17 @@
+package com.yashh.response;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+// unread messages of one chat for the badge, lastReadSeq is where the client resumes from
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class UnreadCountResponse {
+
+	private Long projectId;
+	private Long chatId;
+	private long lastReadSeq;
+	private long unread;
+}
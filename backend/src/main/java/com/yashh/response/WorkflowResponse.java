@@ -0,0 +1,17 @@
+package com.yashh.response;
+
+import java.util.List;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorkflowResponse {
+
+	private Long projectId;
+	private List<String> statuses;
+	private List<String> priorities;
+}
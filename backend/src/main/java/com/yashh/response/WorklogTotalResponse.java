@@ -0,0 +1,18 @@
+package com.yashh.response;
+
+import java.time.LocalDate;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+public class WorklogTotalResponse {
+
+	// null for all-time totals
+	private LocalDate weekStart;
+	private long minutes;
+	private int entries;
+}
@@ -0,0 +1,27 @@
+package com.yashh.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.time.LocalDate;
+import java.util.List;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.UserException;
+import com.yashh.model.User;
+import com.yashh.response.CalendarIssueResponse;
+
+public interface CalendarService {
+
+	List<CalendarIssueResponse> getCalendar(User user, LocalDate from, LocalDate to) throws IssueException;
+
+	String getCalendarETag(User user, LocalDate from, LocalDate to);
+
+	String rotateFeedToken(User user);
+
+	User getFeedUser(String token) throws UserException;
+
+	String getFeedETag(User user);
+
+	void writeFeed(User user, OutputStream out) throws IOException;
+
+}
@@ -0,0 +1,165 @@
+package com.yashh.service;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.security.SecureRandom;
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.UserException;
+import com.yashh.model.User;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.ProjectRepository;
+import com.yashh.repository.UserRepository;
+import com.yashh.response.CalendarIssueResponse;
+import com.yashh.util.Dictionaries;
+import com.yashh.util.ETags;
+import com.yashh.util.ICalendarWriter;
+
+@Service
+public class CalendarServiceImpl implements CalendarService {
+
+	private static final int MAX_RANGE_DAYS = 366;
+	// the feed covers a sliding window, calendar clients keep what scrolled out
+	private static final int FEED_PAST_DAYS = 90;
+	private static final int FEED_FUTURE_DAYS = 365;
+	private static final int FEED_FETCH_SIZE = 500;
+	private static final int TOKEN_BYTES = 32;
+
+	private static final SecureRandom secureRandom = new SecureRandom();
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Override
+	public List<CalendarIssueResponse> getCalendar(User user, LocalDate from, LocalDate to) throws IssueException {
+		if (from == null || to == null || to.isBefore(from) || to.isAfter(from.plusDays(MAX_RANGE_DAYS - 1))) {
+			throw new IssueException("from and to must span at most " + MAX_RANGE_DAYS + " days");
+		}
+		List<Long> projectIds = projectIds(user);
+		if (projectIds.isEmpty()) {
+			return new ArrayList<>();
+		}
+		return issueRepository.findCalendar(projectIds, from, to);
+	}
+
+	@Override
+	public String getCalendarETag(User user, LocalDate from, LocalDate to) {
+		return ETags.of("calendar", user.getId(), 31 * revisionFingerprint(user) + (from + ".." + to).hashCode());
+	}
+
+	@Override
+	public String rotateFeedToken(User user) {
+		byte[] randomBytes = new byte[TOKEN_BYTES];
+		secureRandom.nextBytes(randomBytes);
+		user.setCalendarToken(Base64.getUrlEncoder().withoutPadding().encodeToString(randomBytes));
+		userRepository.save(user);
+		return user.getCalendarToken();
+	}
+
+	@Override
+	public User getFeedUser(String token) throws UserException {
+		User user = token == null || token.isEmpty() ? null : userRepository.findByCalendarToken(token);
+		if (user == null) {
+			throw new UserException("Unknown calendar feed");
+		}
+		return user;
+	}
+
+	/**
+	 * Changes whenever an issue of one of the user's projects is written,
+	 * the user joins or leaves a project, a project or the user is renamed,
+	 * or the window moves on a day.
+	 */
+	@Override
+	public String getFeedETag(User user) {
+		long fingerprint = 31 * revisionFingerprint(user) + Objects.hashCode(user.getFullName());
+		return ETags.of("feed", user.getId(), 31 * fingerprint + LocalDate.now().toEpochDay());
+	}
+
+	/**
+	 * Streams the events row by row from a forward-only result set, the
+	 * (project_id, due_date) index serves the range of every project.
+	 */
+	@Override
+	public void writeFeed(User user, OutputStream out) throws IOException {
+		ICalendarWriter calendar = new ICalendarWriter(out);
+		calendar.begin("Issues of " + user.getFullName());
+		List<Long> projectIds = projectIds(user);
+		if (!projectIds.isEmpty()) {
+			LocalDate today = LocalDate.now();
+			String placeholders = String.join(", ", Collections.nCopies(projectIds.size(), "?"));
+			try {
+				jdbcTemplate.query(connection -> {
+					PreparedStatement statement = connection.prepareStatement("SELECT i.id, i.title, i.status_code, i.priority_code, i.due_date, p.name "
+							+ "FROM issues i JOIN project p ON p.id = i.project_id "
+							+ "WHERE i.project_id IN (" + placeholders + ") AND i.due_date BETWEEN ? AND ?");
+					int index = 1;
+					for (Long projectId : projectIds) {
+						statement.setLong(index++, projectId);
+					}
+					statement.setDate(index++, Date.valueOf(today.minusDays(FEED_PAST_DAYS)));
+					statement.setDate(index, Date.valueOf(today.plusDays(FEED_FUTURE_DAYS)));
+					statement.setFetchSize(FEED_FETCH_SIZE);
+					return statement;
+				}, rs -> {
+					short status = rs.getShort(3);
+					short priority = rs.getShort(4);
+					String description = rs.getString(6)
+							+ (status > 0 ? "\n" + "Status: " + Dictionaries.STATUS.decode(status) : "")
+							+ (priority > 0 ? "\n" + "Priority: " + Dictionaries.PRIORITY.decode(priority) : "");
+					try {
+						calendar.event("issue-" + rs.getLong(1) + "@projectmanagement", rs.getDate(5).toLocalDate(),
+								rs.getString(2), description);
+					} catch (IOException e) {
+						throw new UncheckedIOException(e);
+					}
+				});
+			} catch (UncheckedIOException e) {
+				// client went away mid-stream
+				throw e.getCause();
+			}
+		}
+		calendar.end();
+	}
+
+	private List<Long> projectIds(User user) {
+		List<Long> projectIds = new ArrayList<>();
+		for (Object[] row : projectRepository.findIssueRevisionsByTeamOrOwner(user)) {
+			projectIds.add((Long) row[0]);
+		}
+		return projectIds;
+	}
+
+	private long revisionFingerprint(User user) {
+		long fingerprint = 1;
+		for (Object[] row : projectRepository.findIssueRevisionsByTeamOrOwner(user)) {
+			fingerprint = 31 * fingerprint + (Long) row[0];
+			fingerprint = 31 * fingerprint + (Long) row[1];
+			fingerprint = 31 * fingerprint + Objects.hashCode(row[2]);
+		}
+		return fingerprint;
+	}
+
+}
@@ -0,0 +1,14 @@
+package com.yashh.service;
+
+import java.util.Map;
+
+public interface ChatAccessService {
+
+	boolean isMember(Long userId, Long chatId);
+
+	Map<Long, Long> getProjectIdsByChat(Long userId);
+
+	void projectChanged(Long projectId);
+
+	void projectDeleted(Long projectId);
+}
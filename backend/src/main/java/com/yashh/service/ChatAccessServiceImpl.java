@@ -0,0 +1,116 @@
+package com.yashh.service;
+
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.repository.ChatRepository;
+import com.yashh.repository.ProjectRepository;
+
+/**
+ * Who may use which project chat, held in memory so authorizing a STOMP
+ * frame never reads the database. Members are the project's team and
+ * owner; a project is reloaded after each committed membership change.
+ */
+@Service
+public class ChatAccessServiceImpl implements ChatAccessService {
+
+	private static final Logger log = LoggerFactory.getLogger(ChatAccessServiceImpl.class);
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private ChatRepository chatRepository;
+
+	private final Map<Long, Long> projectIdsByChat = new ConcurrentHashMap<>();
+	// replaced as a whole on change, never modified in place
+	private final Map<Long, Set<Long>> membersByProject = new ConcurrentHashMap<>();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		Map<Long, Set<Long>> members = new HashMap<>();
+		for (Object[] row : projectRepository.findAllMemberIds()) {
+			members.computeIfAbsent((Long) row[0], projectId -> new HashSet<>()).add((Long) row[1]);
+		}
+		for (Object[] row : projectRepository.findAllOwnerIds()) {
+			members.computeIfAbsent((Long) row[0], projectId -> new HashSet<>()).add((Long) row[1]);
+		}
+		// a project refreshed while this ran is already newer than what was read here
+		members.forEach((projectId, userIds) -> membersByProject.putIfAbsent(projectId, Set.copyOf(userIds)));
+		for (Object[] row : chatRepository.findAllProjectIds()) {
+			projectIdsByChat.putIfAbsent((Long) row[0], (Long) row[1]);
+		}
+		log.info("Loaded chat access for {} projects", members.size());
+	}
+
+	@Override
+	public boolean isMember(Long userId, Long chatId) {
+		Long projectId = chatId == null ? null : projectIdsByChat.get(chatId);
+		Set<Long> members = projectId == null ? null : membersByProject.get(projectId);
+		return members != null && members.contains(userId);
+	}
+
+	// chat id -> project id of the user's projects, a scan of all chats without any query
+	@Override
+	public Map<Long, Long> getProjectIdsByChat(Long userId) {
+		Map<Long, Long> chats = new HashMap<>();
+		for (Map.Entry<Long, Long> chat : projectIdsByChat.entrySet()) {
+			Set<Long> members = membersByProject.get(chat.getValue());
+			if (members != null && members.contains(userId)) {
+				chats.put(chat.getKey(), chat.getValue());
+			}
+		}
+		return chats;
+	}
+
+	@Override
+	public void projectChanged(Long projectId) {
+		afterCommit(() -> refresh(projectId));
+	}
+
+	@Override
+	public void projectDeleted(Long projectId) {
+		afterCommit(() -> {
+			membersByProject.remove(projectId);
+			projectIdsByChat.values().remove(projectId);
+		});
+	}
+
+	private void refresh(Long projectId) {
+		Set<Long> members = new HashSet<>(projectRepository.findMemberIds(projectId));
+		Long ownerId = projectRepository.findOwnerId(projectId);
+		if (ownerId != null) {
+			members.add(ownerId);
+		}
+		membersByProject.put(projectId, Set.copyOf(members));
+		Long chatId = chatRepository.findIdByProjectId(projectId);
+		if (chatId != null) {
+			projectIdsByChat.put(chatId, projectId);
+		}
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+}
@@ -2,15 +2,20 @@ package com.yashh.service;
 
 import com.yashh.exception.IssueException;
 import com.yashh.exception.UserException;
-import com.yashh.model.Comment;
+import com.yashh.response.CommentResponse;
+import com.yashh.response.KeysetPage;
 
 import java.util.List;
 
 public interface CommentService {
-    Comment createComment(Long issueId,Long userId,String comment) throws UserException, IssueException;
+    CommentResponse createComment(Long issueId,Long userId,String comment,Long parentId) throws UserException, IssueException;
 
     void  deleteComment(Long commentId, Long userId) throws UserException, IssueException;
 
-    List<Comment> findCommentByIssueId(Long issueId);
+    KeysetPage<CommentResponse> findCommentsByIssueId(Long issueId, Long beforeId, Integer limit);
+
+    KeysetPage<CommentResponse> findThreads(Long issueId, Long afterId, Integer limit, Integer replies);
+
+    List<CommentResponse> findThread(Long commentId) throws IssueException;
 
 }
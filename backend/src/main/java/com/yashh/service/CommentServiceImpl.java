@@ -3,77 +3,150 @@ package com.yashh.service;
 import com.yashh.exception.IssueException;
 import com.yashh.exception.UserException;
 import com.yashh.model.Comment;
-import com.yashh.model.Issue;
 import com.yashh.model.User;
 import com.yashh.repository.CommentRepository;
 import com.yashh.repository.IssueRepository;
+import com.yashh.repository.ProjectRepository;
 import com.yashh.repository.UserRepository;
+import com.yashh.response.CommentResponse;
+import com.yashh.response.KeysetPage;
+
+import jakarta.transaction.Transactional;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
 import java.time.LocalDateTime;
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
+import java.util.concurrent.ConcurrentHashMap;
 
 @Service
 public class CommentServiceImpl implements CommentService {
 
+    private static final Logger log = LoggerFactory.getLogger(CommentServiceImpl.class);
+
+    private static final int DEFAULT_PAGE_SIZE = 20;
+    private static final int MAX_PAGE_SIZE = 100;
+    private static final int MAX_CACHED_ISSUES = 5_000;
+    private static final int DEFAULT_THREADS = 20;
+    private static final int MAX_THREADS = 100;
+    private static final int DEFAULT_REPLIES = 3;
+
     private CommentRepository commentRepository;
     private IssueRepository issueRepository;
+    private ProjectRepository projectRepository;
     private UserRepository userRepository;
+    private JdbcTemplate jdbcTemplate;
+
+    // newest MAX_PAGE_SIZE + 1 comments per issue, enough to answer any first page and tell whether more follow
+    private final Map<Long, List<CommentResponse>> recentComments = new ConcurrentHashMap<>();
 
     @Autowired
-    public CommentServiceImpl(CommentRepository commentRepository, IssueRepository issueRepository, UserRepository userRepository) {
+    public CommentServiceImpl(CommentRepository commentRepository, IssueRepository issueRepository, ProjectRepository projectRepository,
+                              UserRepository userRepository, JdbcTemplate jdbcTemplate) {
         this.commentRepository = commentRepository;
         this.issueRepository = issueRepository;
+        this.projectRepository = projectRepository;
         this.userRepository = userRepository;
+        this.jdbcTemplate = jdbcTemplate;
     }
 
+    /**
+     * Inserts the comment and bumps issues.comment_count in the same
+     * transaction. The issue is only referenced, its comment collection is
+     * never loaded. Replies past MAX_DEPTH become siblings of their parent.
+     * The project's issue revision moves too, the issue list shows the count.
+     */
     @Override
-    public Comment createComment(Long issueId, Long userId, String content) throws UserException, IssueException {
-        Optional<Issue> issueOptional = issueRepository.findById(issueId);
+    @Transactional(rollbackOn = Exception.class)
+    public CommentResponse createComment(Long issueId, Long userId, String content, Long parentId) throws UserException, IssueException {
         Optional<User> userOptional = userRepository.findById(userId);
-
-        if (issueOptional.isEmpty()){
-            throw new IssueException("issue not found with id "+issueId);
-        }
         if(userOptional.isEmpty()){
             throw new UserException("user not found with id "+userId);
         }
-            Issue issue = issueOptional.get();
+        // the counter update doubles as the existence check of the issue
+        if (issueRepository.incrementCommentCount(issueId) == 0){
+            throw new IssueException("issue not found with id "+issueId);
+        }
+        projectRepository.incrementIssueRevisionOfIssue(issueId);
             User user = userOptional.get();
 
+            String parentPath = "";
+            int depth = 0;
+            int replySeq = 0;
+            if (parentId != null) {
+                List<Object[]> placement = commentRepository.findPlacement(parentId);
+                if (placement.isEmpty() || !issueId.equals(placement.get(0)[0])) {
+                    throw new IssueException("comment " + parentId + " not found on issue " + issueId);
+                }
+                parentPath = (String) placement.get(0)[2];
+                depth = (Integer) placement.get(0)[3] + 1;
+                if (depth >= Comment.MAX_DEPTH) {
+                    parentId = (Long) placement.get(0)[1];
+                    parentPath = parentPath.substring(0, parentPath.length() - Comment.PATH_SEGMENT_LENGTH);
+                    depth--;
+                }
+                // the row lock taken by the increment orders concurrent replies of one thread
+                long rootId = Comment.rootId(parentPath);
+                commentRepository.addReply(rootId);
+                replySeq = commentRepository.findLastReplySeq(rootId);
+            }
+
             Comment comment = new Comment();
 
-            comment.setIssue(issue);
+            comment.setIssue(issueRepository.getReferenceById(issueId));
             comment.setUser(user);
             comment.setCreatedDateTime(LocalDateTime.now());
             comment.setContent(content);
+            comment.setParentId(parentId);
+            comment.setDepth(depth);
+            comment.setReplySeq(replySeq);
 
+            // the path ends in the comment's own id, written back when the transaction flushes
             Comment savedComment = commentRepository.save(comment);
+            savedComment.setPath(parentPath + Comment.pathSegment(savedComment.getId()));
+            evictAfterCommit(issueId);
 
-            issue.getComments().add(savedComment);
-
-            return savedComment;
+            return new CommentResponse(savedComment.getId(), issueId, savedComment.getContent(),
+                    savedComment.getCreatedDateTime(), user.getId(), user.getFullName(), parentId, depth, 0);
     }
 
     @Override
+    @Transactional(rollbackOn = Exception.class)
     public void deleteComment(Long commentId, Long userId) throws UserException, IssueException {
         Optional<Comment> commentOptional = commentRepository.findById(commentId);
-        Optional<User> userOptional = userRepository.findById(userId);
 
         if (commentOptional.isEmpty()){
             throw new IssueException("comment not found with id "+commentId);
         }
-        if(userOptional.isEmpty()){
-            throw new UserException("user not found with id "+userId);
-        }
 
         Comment comment = commentOptional.get();
-        User user = userOptional.get();
 
-        if (comment.getUser().equals(user)) {
-            commentRepository.delete(comment);
+        // ids of the lazy references, neither the author nor the issue gets loaded
+        if (comment.getUser() != null && comment.getUser().getId().equals(userId)) {
+            // replies go with the comment they answer
+            Long issueId = comment.getIssue().getId();
+            int deleted = commentRepository.deleteSubtree(issueId, comment.getPath() + "%");
+            if (comment.getParentId() != null) {
+                long rootId = Comment.rootId(comment.getPath());
+                // also takes the root's row lock, new replies of the thread wait for the renumbering
+                commentRepository.removeReplies(rootId, deleted);
+                renumberReplies(issueId, rootId);
+            }
+            issueRepository.subtractCommentCount(issueId, deleted);
+            projectRepository.incrementIssueRevisionOfIssue(issueId);
+            evictAfterCommit(issueId);
         } else {
             throw new UserException("User does not have permission to delete this comment!");
         }
@@ -81,7 +154,107 @@ public class CommentServiceImpl implements CommentService {
     }
 
     @Override
-    public List<Comment> findCommentByIssueId(Long issueId) {
-        return commentRepository.findByIssueId(issueId);
+    public KeysetPage<CommentResponse> findCommentsByIssueId(Long issueId, Long beforeId, Integer limit) {
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        List<CommentResponse> comments;
+        if (beforeId == null) {
+            if (recentComments.size() >= MAX_CACHED_ISSUES) {
+                recentComments.clear();
+            }
+            // an eviction for this issue waits for the load, so a load racing a commit cannot stay cached
+            comments = recentComments.computeIfAbsent(issueId,
+                    id -> commentRepository.findPage(id, Long.MAX_VALUE, PageRequest.of(0, MAX_PAGE_SIZE + 1)));
+        } else {
+            comments = commentRepository.findPage(issueId, beforeId, PageRequest.of(0, pageSize + 1));
+        }
+        Long nextCursor = null;
+        if (comments.size() > pageSize) {
+            comments = comments.subList(0, pageSize);
+            nextCursor = comments.get(pageSize - 1).getId();
+        }
+        return new KeysetPage<>(new ArrayList<>(comments), nextCursor);
+    }
+
+    /**
+     * Next page of top-level comments, oldest first, each followed by the
+     * first `replies` replies of its thread in thread order. Collapsed
+     * threads (replies = 0) still carry their replyCount.
+     */
+    @Override
+    public KeysetPage<CommentResponse> findThreads(Long issueId, Long afterId, Integer limit, Integer replies) {
+        int threads = limit == null ? DEFAULT_THREADS : Math.max(1, Math.min(limit, MAX_THREADS));
+        int maxReplySeq = replies == null ? DEFAULT_REPLIES : Math.max(0, replies);
+        List<String> roots = commentRepository.findRootPaths(issueId, afterId == null ? "" : Comment.pathSegment(afterId),
+                PageRequest.of(0, threads + 1));
+        if (roots.isEmpty()) {
+            return new KeysetPage<>(new ArrayList<>(), null);
+        }
+        Long nextCursor = null;
+        if (roots.size() > threads) {
+            roots = roots.subList(0, threads);
+            nextCursor = Comment.rootId(roots.get(threads - 1));
+        }
+        List<CommentResponse> comments = commentRepository.findThreads(issueId, roots.get(0),
+                Comment.lastPathUnder(roots.get(roots.size() - 1)), maxReplySeq);
+        return new KeysetPage<>(comments, nextCursor);
+    }
+
+    @Override
+    public List<CommentResponse> findThread(Long commentId) throws IssueException {
+        List<Object[]> placement = commentRepository.findPlacement(commentId);
+        if (placement.isEmpty()) {
+            throw new IssueException("comment not found with id " + commentId);
+        }
+        String rootPath = Comment.pathSegment(Comment.rootId((String) placement.get(0)[2]));
+        return commentRepository.findThreads((Long) placement.get(0)[0], rootPath, Comment.lastPathUnder(rootPath),
+                Integer.MAX_VALUE);
+    }
+
+    // closes the gaps a delete leaves, the replies keep their order as 1..n
+    private void renumberReplies(Long issueId, long rootId) {
+        List<Object[]> replies = commentRepository.findReplySeqs(issueId, Comment.pathSegment(rootId) + "%");
+        List<Object[]> updates = new ArrayList<>();
+        for (int i = 0; i < replies.size(); i++) {
+            if ((Integer) replies.get(i)[1] != i + 1) {
+                updates.add(new Object[] { i + 1, replies.get(i)[0] });
+            }
+        }
+        if (!updates.isEmpty()) {
+            jdbcTemplate.batchUpdate("UPDATE comments SET reply_seq = ? WHERE id = ?", updates);
+        }
+        commentRepository.setLastReplySeq(rootId, replies.size());
+    }
+
+    // comments from before threading are top-level
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCommentPaths() {
+        int updated = jdbcTemplate.update("UPDATE comments SET path = LPAD(id, " + Comment.PATH_SEGMENT_LENGTH + ", '0') "
+                + "WHERE path IS NULL");
+        if (updated > 0) {
+            log.info("Set the thread paths of {} comments", updated);
+        }
+    }
+
+    // comment_count arrives as 0 on existing rows, recount once when the totals disagree
+    @EventListener(ApplicationReadyEvent.class)
+    public void backfillCommentCounts() {
+        if (commentRepository.countAll() != issueRepository.sumCommentCounts()) {
+            int updated = jdbcTemplate.update("UPDATE issues SET comment_count = "
+                    + "(SELECT COUNT(*) FROM comments c WHERE c.issue_id = issues.id)");
+            log.info("Recounted the comments of {} issues", updated);
+        }
+    }
+
+    private void evictAfterCommit(Long issueId) {
+        if (TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+                @Override
+                public void afterCommit() {
+                    recentComments.remove(issueId);
+                }
+            });
+        } else {
+            recentComments.remove(issueId);
+        }
     }
 }
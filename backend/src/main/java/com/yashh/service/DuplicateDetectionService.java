@@ -0,0 +1,16 @@
+package com.yashh.service;
+
+import java.util.List;
+
+import com.yashh.model.Issue;
+import com.yashh.response.SimilarIssueResponse;
+
+public interface DuplicateDetectionService {
+
+	List<SimilarIssueResponse> findSimilar(Long projectId, String title, String description, Long excludeIssueId);
+
+	void issueChanged(Issue issue);
+
+	void removeIssue(Issue issue);
+
+}
@@ -0,0 +1,197 @@
+package com.yashh.service;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.model.Issue;
+import com.yashh.repository.IssueRepository;
+import com.yashh.response.SimilarIssueResponse;
+import com.yashh.util.MinHashIndex;
+import com.yashh.util.TextCompression;
+
+@Service
+public class DuplicateDetectionServiceImpl implements DuplicateDetectionService {
+
+	private static final double DUPLICATE_THRESHOLD = 0.4;
+	private static final int MAX_RESULTS = 5;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private IssueDescriptionService issueDescriptionService;
+
+	// per project signatures of the open issues, loaded on first use and kept current on writes
+	private final Map<Long, ProjectIndex> indexes = new ConcurrentHashMap<>();
+
+	@Override
+	public List<SimilarIssueResponse> findSimilar(Long projectId, String title, String description, Long excludeIssueId) {
+		List<SimilarIssueResponse> similar = new ArrayList<>();
+		int[] signature = MinHashIndex.signature(title, description);
+		if (projectId == null || signature == null) {
+			return similar;
+		}
+
+		ProjectIndex index = indexes.computeIfAbsent(projectId, id -> new ProjectIndex());
+		List<MinHashIndex.Match> matches = index.query(() -> loadIndex(projectId), signature, excludeIssueId == null ? -1 : excludeIssueId);
+		if (matches.isEmpty()) {
+			return similar;
+		}
+
+		List<Long> ids = new ArrayList<>();
+		for (MinHashIndex.Match match : matches) {
+			ids.add(match.id());
+		}
+		Map<Long, Object[]> summaries = new HashMap<>();
+		for (Object[] row : issueRepository.findSummariesByIds(ids)) {
+			summaries.put((Long) row[0], row);
+		}
+		for (MinHashIndex.Match match : matches) {
+			Object[] row = summaries.get(match.id());
+			if (row != null) {
+				similar.add(new SimilarIssueResponse(match.id(), (String) row[1], (String) row[2], match.similarity()));
+			}
+		}
+		return similar;
+	}
+
+	@Override
+	public void issueChanged(Issue issue) {
+		Long projectId = issue.getProject().getId();
+		Long issueId = issue.getId();
+		String title = issue.getTitle();
+		String description = issue.getDescription();
+		boolean done = Issue.STATUS_DONE.equals(issue.getStatus());
+		// a rolled back write must not leave its text behind in the index
+		afterCommit(() -> {
+			ProjectIndex index = indexes.get(projectId);
+			if (index == null) {
+				// not loaded, a load starting from now on reads this commit
+				return;
+			}
+			// status only writes do not load the description
+			int[] signature = done ? null
+					: MinHashIndex.signature(title, description != null ? description : issueDescriptionService.getDescription(issueId));
+			index.apply(issueId, signature);
+		});
+	}
+
+	@Override
+	public void removeIssue(Issue issue) {
+		Long projectId = issue.getProject().getId();
+		Long issueId = issue.getId();
+		afterCommit(() -> {
+			ProjectIndex index = indexes.get(projectId);
+			if (index != null) {
+				index.apply(issueId, null);
+			}
+		});
+	}
+
+	private MinHashIndex loadIndex(Long projectId) {
+		MinHashIndex index = new MinHashIndex();
+		for (Object[] row : issueRepository.findOpenTextByProjectId(projectId, Issue.STATUS_DONE)) {
+			int[] signature = MinHashIndex.signature((String) row[1], TextCompression.decompress((byte[]) row[2]));
+			if (signature != null) {
+				index.put((Long) row[0], signature);
+			}
+		}
+		return index;
+	}
+
+	/**
+	 * The index of one project. It is registered before its rows are read,
+	 * so commits landing while the load runs are held and replayed on top
+	 * of its result, as MaterializedFilter does.
+	 */
+	private static class ProjectIndex {
+
+		// null until loaded
+		private MinHashIndex index;
+		// non-null while a load runs
+		private List<Change> pendingChanges;
+
+		// a null signature removes the issue
+		synchronized void apply(long issueId, int[] signature) {
+			if (pendingChanges != null) {
+				pendingChanges.add(new Change(issueId, signature));
+			}
+			if (index != null) {
+				applyTo(index, issueId, signature);
+			}
+		}
+
+		List<MinHashIndex.Match> query(Supplier<MinHashIndex> loader, int[] signature, long excludeId) {
+			load(loader);
+			synchronized (this) {
+				return index.query(signature, DUPLICATE_THRESHOLD, MAX_RESULTS, excludeId);
+			}
+		}
+
+		private void load(Supplier<MinHashIndex> loader) {
+			synchronized (this) {
+				while (index == null && pendingChanges != null) {
+					try {
+						wait();
+					} catch (InterruptedException e) {
+						Thread.currentThread().interrupt();
+						throw new IllegalStateException("Interrupted while the duplicate index was loading", e);
+					}
+				}
+				if (index != null) {
+					return;
+				}
+				pendingChanges = new ArrayList<>();
+			}
+			MinHashIndex loaded = null;
+			try {
+				loaded = loader.get();
+			} finally {
+				synchronized (this) {
+					if (loaded != null) {
+						for (Change change : pendingChanges) {
+							applyTo(loaded, change.issueId(), change.signature());
+						}
+						index = loaded;
+					}
+					pendingChanges = null;
+					notifyAll();
+				}
+			}
+		}
+
+		private static void applyTo(MinHashIndex index, long issueId, int[] signature) {
+			if (signature == null) {
+				index.remove(issueId);
+			} else {
+				index.put(issueId, signature);
+			}
+		}
+	}
+
+	private record Change(long issueId, int[] signature) {
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+}
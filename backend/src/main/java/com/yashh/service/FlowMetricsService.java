@@ -0,0 +1,22 @@
+package com.yashh.service;
+
+import java.time.LocalDate;
+
+import com.yashh.exception.ProjectException;
+import com.yashh.model.Issue;
+import com.yashh.response.CumulativeFlowResponse;
+import com.yashh.response.FlowMetricsResponse;
+
+public interface FlowMetricsService {
+
+	void statusChanged(Issue issue, String oldStatus);
+
+	void issueRemoved(Issue issue);
+
+	void projectDeleted(Long projectId);
+
+	FlowMetricsResponse getFlowMetrics(Long projectId, LocalDate from, LocalDate to) throws ProjectException;
+
+	CumulativeFlowResponse getCumulativeFlow(Long projectId, LocalDate from, LocalDate to) throws ProjectException;
+
+}
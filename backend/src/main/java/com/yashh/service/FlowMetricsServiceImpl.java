@@ -0,0 +1,192 @@
+package com.yashh.service;
+
+import java.sql.Date;
+import java.time.Duration;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.yashh.domain.FlowMetric;
+import com.yashh.exception.ProjectException;
+import com.yashh.model.FlowStatusDay;
+import com.yashh.model.Issue;
+import com.yashh.repository.FlowStatusDayRepository;
+import com.yashh.repository.FlowTimeBucketRepository;
+import com.yashh.response.CumulativeFlowResponse;
+import com.yashh.response.FlowMetricsResponse;
+import com.yashh.util.Dictionaries;
+import com.yashh.util.LogHistogram;
+
+@Service
+public class FlowMetricsServiceImpl implements FlowMetricsService {
+
+	private static final Logger log = LoggerFactory.getLogger(FlowMetricsServiceImpl.class);
+
+	private static final int DEFAULT_RANGE_DAYS = 30;
+	private static final int MAX_RANGE_DAYS = 366;
+
+	@Autowired
+	private FlowStatusDayRepository flowStatusDayRepository;
+
+	@Autowired
+	private FlowTimeBucketRepository flowTimeBucketRepository;
+
+	@Autowired
+	private WorkflowService workflowService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	/**
+	 * Stamps the transition on the issue and adds it to the day counters,
+	 * called inside the writing transaction before the issue is saved.
+	 * oldStatus is null for a new issue. Work starts on the first move to a
+	 * status other than done, completing records one cycle and one lead time
+	 * sample; reopening clears completedAt but keeps the recorded samples.
+	 * An issue created as done started and finished at once, it records zero
+	 * length samples.
+	 */
+	@Override
+	public void statusChanged(Issue issue, String oldStatus) {
+		String newStatus = issue.getStatus();
+		if (Objects.equals(oldStatus, newStatus) && oldStatus != null) {
+			return;
+		}
+		LocalDateTime now = LocalDateTime.now();
+		LocalDate today = now.toLocalDate();
+		Long projectId = issue.getProject().getId();
+		if (oldStatus == null) {
+			issue.setCreatedAt(now);
+		} else {
+			addStatusDelta(projectId, today, oldStatus, -1);
+		}
+		addStatusDelta(projectId, today, newStatus, 1);
+
+		boolean done = Issue.STATUS_DONE.equals(newStatus);
+		if (oldStatus != null && !done && issue.getStartedAt() == null) {
+			issue.setStartedAt(now);
+		}
+		if (!done) {
+			issue.setCompletedAt(null);
+			return;
+		}
+		if (oldStatus == null) {
+			issue.setStartedAt(now);
+		}
+		issue.setCompletedAt(now);
+		addSample(projectId, today, FlowMetric.CYCLE_TIME, issue.getStartedAt(), now);
+		addSample(projectId, today, FlowMetric.LEAD_TIME, issue.getCreatedAt(), now);
+	}
+
+	@Override
+	public void issueRemoved(Issue issue) {
+		addStatusDelta(issue.getProject().getId(), LocalDate.now(), issue.getStatus(), -1);
+	}
+
+	@Override
+	public void projectDeleted(Long projectId) {
+		flowStatusDayRepository.deleteByProjectId(projectId);
+		flowTimeBucketRepository.deleteByProjectId(projectId);
+	}
+
+	// percentiles come from summing at most BUCKETS rows per metric, no issue is read
+	@Override
+	public FlowMetricsResponse getFlowMetrics(Long projectId, LocalDate from, LocalDate to) throws ProjectException {
+		workflowService.getWorkflow(projectId);
+		LocalDate end = to == null ? LocalDate.now() : to;
+		LocalDate start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : from;
+		return new FlowMetricsResponse(projectId, start, end,
+				percentiles(projectId, FlowMetric.CYCLE_TIME, start, end),
+				percentiles(projectId, FlowMetric.LEAD_TIME, start, end));
+	}
+
+	/**
+	 * Per status counts at the end of every day of the range, the counts
+	 * before it are one grouped sum and the days are a running sum over
+	 * the delta rows.
+	 */
+	@Override
+	public CumulativeFlowResponse getCumulativeFlow(Long projectId, LocalDate from, LocalDate to) throws ProjectException {
+		List<String> workflow = workflowService.getWorkflow(projectId).getStatuses();
+		LocalDate end = to == null ? LocalDate.now() : to;
+		LocalDate start = from == null ? end.minusDays(DEFAULT_RANGE_DAYS - 1) : from;
+		if (start.isBefore(end.minusDays(MAX_RANGE_DAYS - 1))) {
+			start = end.minusDays(MAX_RANGE_DAYS - 1);
+		}
+
+		Map<String, Long> counts = new LinkedHashMap<>();
+		for (String status : workflow) {
+			counts.put(status, 0L);
+		}
+		for (Object[] row : flowStatusDayRepository.sumBefore(projectId, start)) {
+			counts.merge(Dictionaries.STATUS.decode((Short) row[0]), ((Number) row[1]).longValue(), Long::sum);
+		}
+
+		List<FlowStatusDay> deltas = flowStatusDayRepository.findRange(projectId, start, end);
+		List<CumulativeFlowResponse.Day> days = new ArrayList<>();
+		int next = 0;
+		for (LocalDate date = start; !date.isAfter(end); date = date.plusDays(1)) {
+			while (next < deltas.size() && !deltas.get(next).getStatDate().isAfter(date)) {
+				FlowStatusDay delta = deltas.get(next++);
+				counts.merge(Dictionaries.STATUS.decode(delta.getStatusCode()), (long) delta.getDelta(), Long::sum);
+			}
+			days.add(new CumulativeFlowResponse.Day(date, new LinkedHashMap<>(counts)));
+		}
+		return new CumulativeFlowResponse(projectId, start, end, days);
+	}
+
+	/**
+	 * Projects that have issues but no counters yet (issues created before
+	 * flow tracking) get their current status counts as today's deltas, so
+	 * the diagram starts from the real totals.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void seedStatusCounts() {
+		int seeded = jdbcTemplate.update("INSERT INTO flow_status_days (project_id, stat_date, status_code, delta) "
+				+ "SELECT i.project_id, ?, i.status_code, COUNT(*) FROM issues i "
+				+ "WHERE i.project_id IS NOT NULL AND i.status_code IS NOT NULL "
+				+ "AND NOT EXISTS (SELECT 1 FROM flow_status_days f WHERE f.project_id = i.project_id) "
+				+ "GROUP BY i.project_id, i.status_code", Date.valueOf(LocalDate.now()));
+		if (seeded > 0) {
+			log.info("Seeded {} flow status counts", seeded);
+		}
+	}
+
+	private FlowMetricsResponse.Percentiles percentiles(Long projectId, FlowMetric metric, LocalDate from, LocalDate to) {
+		long[] counts = new long[LogHistogram.BUCKETS];
+		for (Object[] row : flowTimeBucketRepository.sumBuckets(projectId, (short) metric.ordinal(), from, to)) {
+			counts[(Short) row[0]] = ((Number) row[1]).longValue();
+		}
+		return new FlowMetricsResponse.Percentiles(LogHistogram.total(counts),
+				LogHistogram.percentile(counts, 50), LogHistogram.percentile(counts, 85), LogHistogram.percentile(counts, 95));
+	}
+
+	private void addStatusDelta(Long projectId, LocalDate day, String status, int delta) {
+		Short code = Dictionaries.STATUS.encode(status);
+		if (code != null) {
+			flowStatusDayRepository.addDelta(projectId, day, code, delta);
+		}
+	}
+
+	// legacy issues lack createdAt / startedAt, they only miss that sample
+	private void addSample(Long projectId, LocalDate day, FlowMetric metric, LocalDateTime since, LocalDateTime now) {
+		if (since == null) {
+			return;
+		}
+		long minutes = Duration.between(since, now).toMinutes();
+		flowTimeBucketRepository.addSample(projectId, day, (short) metric.ordinal(), (short) LogHistogram.bucketOf(minutes));
+	}
+
+}
@@ -0,0 +1,13 @@
+package com.yashh.service;
+
+import com.yashh.model.Issue;
+import com.yashh.model.User;
+import com.yashh.response.HomeResponse;
+
+public interface HomeService {
+
+	HomeResponse getHome(User user, String cursor, Integer size);
+
+	void issueChanged(Issue issue);
+
+}
@@ -0,0 +1,185 @@
+package com.yashh.service;
+
+import java.time.LocalDate;
+import java.time.format.DateTimeParseException;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.model.Issue;
+import com.yashh.model.User;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.ProjectRepository;
+import com.yashh.response.CalendarIssueResponse;
+import com.yashh.response.HomeResponse;
+import com.yashh.util.Dictionaries;
+import com.yashh.util.GenerationCache;
+
+@Service
+public class HomeServiceImpl implements HomeService {
+
+	private static final int DEFAULT_PAGE_SIZE = 20;
+	private static final int MAX_PAGE_SIZE = 100;
+	private static final long CACHE_TTL_MILLIS = 30_000;
+	private static final int MAX_CACHED_PAGES = 10_000;
+	// below any due date MySQL stores, the first page starts after it
+	private static final LocalDate FIRST_DUE = LocalDate.of(1000, 1, 1);
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	// committed issue writes bump their project and assignee, a cached page is stale once one it was built from moves
+	private final GenerationCache<PageKey, HomeResponse> cache = new GenerationCache<>(CACHE_TTL_MILLIS, MAX_CACHED_PAGES);
+
+	/**
+	 * Open assigned issues by due date (undated last) plus per-project open
+	 * counts. The issues are keyset paged, pass nextCursor back as cursor.
+	 * Served from a short-lived per-user cache; issue writes invalidate it,
+	 * project membership changes show up once the entry expires.
+	 */
+	@Override
+	public HomeResponse getHome(User user, String cursor, Integer size) {
+		int pageSize = size == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(size, MAX_PAGE_SIZE));
+		Cursor after = cursor == null || cursor.isEmpty() ? null : Cursor.parse(cursor);
+		PageKey key = new PageKey(user.getId(), after, pageSize);
+		long now = System.currentTimeMillis();
+
+		HomeResponse cached = cache.get(key, now);
+		if (cached != null) {
+			return cached;
+		}
+
+		// the assignee generation is read first so an assignment racing the queries below invalidates the result
+		List<Object> sources = new ArrayList<>();
+		sources.add(new AssigneeSource(user.getId()));
+		long generation = cache.generation(sources);
+		Map<Long, HomeResponse.ProjectSummary> projects = new LinkedHashMap<>();
+		for (Object[] row : projectRepository.findNamesByTeamOrOwner(user)) {
+			projects.put((Long) row[0], new HomeResponse.ProjectSummary((Long) row[0], (String) row[1], true, 0, 0));
+		}
+		long assignedTotal = 0;
+		for (Object[] row : issueRepository.countOpenByAssigneeGroupByProject(user.getId(), Issue.STATUS_DONE)) {
+			HomeResponse.ProjectSummary project = projects.computeIfAbsent((Long) row[0],
+					id -> new HomeResponse.ProjectSummary(id, (String) row[1], false, 0, 0));
+			project.setAssignedOpen((Long) row[2]);
+			assignedTotal += (Long) row[2];
+		}
+		List<Object> projectSources = projects.keySet().stream().<Object>map(ProjectSource::new).toList();
+		generation += cache.generation(projectSources);
+		sources.addAll(projectSources);
+
+		if (!projects.isEmpty()) {
+			for (Object[] row : issueRepository.countOpenGroupByProject(projects.keySet(), Issue.STATUS_DONE)) {
+				projects.get((Long) row[0]).setOpenIssues((Long) row[1]);
+			}
+		}
+		List<CalendarIssueResponse> assigned = assignedTotal == 0 ? new ArrayList<>() : findAssigned(user.getId(), after, pageSize + 1);
+		boolean more = assigned.size() > pageSize;
+		if (more) {
+			assigned = new ArrayList<>(assigned.subList(0, pageSize));
+		}
+		String nextCursor = more ? Cursor.of(assigned.get(pageSize - 1)).toString() : null;
+
+		HomeResponse response = new HomeResponse(
+				new HomeResponse.UserSummary(user.getId(), user.getFullName(), user.getEmail(), user.getProjectSize()),
+				new ArrayList<>(projects.values()), assigned, assignedTotal, nextCursor, pageSize);
+		cache.put(key, response, sources, generation, now);
+		return response;
+	}
+
+	// dated issues first, then the undated ones, each range read in index order
+	private List<CalendarIssueResponse> findAssigned(Long userId, Cursor after, int limit) {
+		List<String> openStatuses = Dictionaries.STATUS.names().stream()
+				.filter(status -> !Issue.STATUS_DONE.equals(status)).toList();
+		List<CalendarIssueResponse> assigned = new ArrayList<>();
+		if (openStatuses.isEmpty()) {
+			return assigned;
+		}
+		if (after == null || after.dueDate() != null) {
+			assigned.addAll(issueRepository.findOpenByAssigneeDueAfter(userId, openStatuses,
+					after == null ? FIRST_DUE : after.dueDate(), after == null ? 0L : after.id(), PageRequest.of(0, limit)));
+		}
+		if (assigned.size() < limit) {
+			long afterId = after == null || after.dueDate() != null ? 0L : after.id();
+			assigned.addAll(issueRepository.findOpenUndatedByAssigneeAfter(userId, openStatuses, afterId,
+					PageRequest.of(0, limit - assigned.size())));
+		}
+		return assigned;
+	}
+
+	/**
+	 * Call with the issue as written (or as it was before a delete). The old
+	 * assignee of a reassigned issue is covered by the project bump, the
+	 * project is on their page through the issue they held.
+	 */
+	@Override
+	public void issueChanged(Issue issue) {
+		Long projectId = issue.getProject() == null ? null : issue.getProject().getId();
+		Long assigneeId = issue.getAssignee() == null ? null : issue.getAssignee().getId();
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					bump(projectId, assigneeId);
+				}
+			});
+		} else {
+			bump(projectId, assigneeId);
+		}
+	}
+
+	private void bump(Long projectId, Long assigneeId) {
+		if (projectId != null) {
+			cache.bump(new ProjectSource(projectId));
+		}
+		if (assigneeId != null) {
+			cache.bump(new AssigneeSource(assigneeId));
+		}
+	}
+
+	private record PageKey(Long userId, Cursor after, int size) {
+	}
+
+	private record AssigneeSource(Long userId) {
+	}
+
+	private record ProjectSource(Long projectId) {
+	}
+
+	// the (dueDate, id) of the last issue on a page, "2026-03-01~42", or "~42" once into the undated issues
+	private record Cursor(LocalDate dueDate, long id) {
+
+		static Cursor of(CalendarIssueResponse issue) {
+			return new Cursor(issue.getDueDate(), issue.getId());
+		}
+
+		static Cursor parse(String cursor) {
+			int split = cursor.indexOf('~');
+			if (split < 0) {
+				throw new IllegalArgumentException("Invalid cursor " + cursor);
+			}
+			try {
+				LocalDate dueDate = split == 0 ? null : LocalDate.parse(cursor.substring(0, split));
+				return new Cursor(dueDate, Long.parseLong(cursor.substring(split + 1)));
+			} catch (DateTimeParseException | NumberFormatException e) {
+				throw new IllegalArgumentException("Invalid cursor " + cursor);
+			}
+		}
+
+		@Override
+		public String toString() {
+			return (dueDate == null ? "" : dueDate.toString()) + "~" + id;
+		}
+	}
+
+}
@@ -0,0 +1,17 @@
+package com.yashh.service;
+
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.model.User;
+import com.yashh.request.IssuePivotRequest;
+import com.yashh.response.IssuePivotResponse;
+
+public interface IssueAnalyticsService {
+
+	void issueChanged(Issue issue);
+
+	void issueRemoved(Long issueId);
+
+	IssuePivotResponse pivot(User user, IssuePivotRequest request) throws IssueException;
+
+}
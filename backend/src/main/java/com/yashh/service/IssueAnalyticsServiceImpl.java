@@ -0,0 +1,191 @@
+package com.yashh.service;
+
+import java.sql.Date;
+import java.sql.PreparedStatement;
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.function.Consumer;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.domain.PivotDimension;
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.model.User;
+import com.yashh.repository.ProjectRepository;
+import com.yashh.request.IssuePivotRequest;
+import com.yashh.response.IssuePivotResponse;
+import com.yashh.util.CodeDictionary;
+import com.yashh.util.Dictionaries;
+import com.yashh.util.IssueColumnStore;
+
+@Service
+public class IssueAnalyticsServiceImpl implements IssueAnalyticsService {
+
+	private static final Logger log = LoggerFactory.getLogger(IssueAnalyticsServiceImpl.class);
+
+	private static final int LOAD_FETCH_SIZE = 5000;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	private volatile IssueColumnStore store = new IssueColumnStore();
+	// changes committed while a load runs, replayed onto the loaded store
+	private List<Consumer<IssueColumnStore>> pendingChanges;
+
+	/**
+	 * Builds the store from the issues table in one streamed pass over the
+	 * raw code columns, no entities are materialized.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		synchronized (this) {
+			pendingChanges = new ArrayList<>();
+		}
+		IssueColumnStore loaded = new IssueColumnStore();
+		jdbcTemplate.query(connection -> {
+			PreparedStatement statement = connection.prepareStatement("SELECT id, project_id, status_code, priority_code, assignee_id, due_date "
+					+ "FROM issues WHERE project_id IS NOT NULL AND status_code IS NOT NULL");
+			statement.setFetchSize(LOAD_FETCH_SIZE);
+			return statement;
+		}, rs -> {
+			long assigneeId = rs.getLong(5);
+			boolean unassigned = rs.wasNull();
+			Date due = rs.getDate(6);
+			loaded.put(rs.getLong(1), rs.getLong(2), rs.getShort(3), rs.getShort(4), unassigned ? null : assigneeId,
+					due == null ? IssueColumnStore.NO_DUE_DAY : (int) due.toLocalDate().toEpochDay());
+		});
+		synchronized (this) {
+			for (Consumer<IssueColumnStore> change : pendingChanges) {
+				change.accept(loaded);
+			}
+			store = loaded;
+			pendingChanges = null;
+		}
+		log.info("Loaded {} issues into the analytics store", loaded.rowCount());
+	}
+
+	@Override
+	public void issueChanged(Issue issue) {
+		long issueId = issue.getId();
+		Short status = Dictionaries.STATUS.encode(issue.getStatus());
+		if (status == null || issue.getProject() == null) {
+			issueRemoved(issueId);
+			return;
+		}
+		long projectId = issue.getProject().getId();
+		Short priority = Dictionaries.PRIORITY.encode(issue.getPriority());
+		Long assigneeId = issue.getAssignee() == null ? null : issue.getAssignee().getId();
+		int dueDay = issue.getDueDate() == null ? IssueColumnStore.NO_DUE_DAY : (int) issue.getDueDate().toEpochDay();
+		afterCommit(store -> store.put(issueId, projectId, status, priority == null ? 0 : priority, assigneeId, dueDay));
+	}
+
+	@Override
+	public void issueRemoved(Long issueId) {
+		afterCommit(store -> store.remove(issueId));
+	}
+
+	@Override
+	public IssuePivotResponse pivot(User user, IssuePivotRequest request) throws IssueException {
+		Set<PivotDimension> dimensions = EnumSet.noneOf(PivotDimension.class);
+		List<String> groupBy = request.getGroupBy() == null || request.getGroupBy().isEmpty()
+				? List.of(PivotDimension.STATUS.name().toLowerCase()) : request.getGroupBy();
+		for (String name : groupBy) {
+			try {
+				dimensions.add(PivotDimension.valueOf(name.trim().toUpperCase()));
+			} catch (IllegalArgumentException e) {
+				throw new IssueException("Cannot group issues by " + name);
+			}
+		}
+
+		// only the caller's projects, narrowed to the requested ones
+		Set<Long> allowed = new HashSet<>();
+		for (Object[] row : projectRepository.findVersionsByTeamOrOwner(user)) {
+			allowed.add((Long) row[0]);
+		}
+		if (request.getProjectIds() != null && !request.getProjectIds().isEmpty()) {
+			allowed.retainAll(request.getProjectIds());
+		}
+		long[] projectIds = allowed.stream().mapToLong(Long::longValue).toArray();
+
+		List<String> statuses = request.getStatus();
+		if (request.isOpen()) {
+			statuses = new ArrayList<>();
+			for (String status : Dictionaries.STATUS.names()) {
+				if (!Issue.STATUS_DONE.equals(status) && (request.getStatus() == null || request.getStatus().contains(status))) {
+					statuses.add(status);
+				}
+			}
+		}
+		IssueColumnStore.Filter filter = new IssueColumnStore.Filter(projectIds,
+				codes(Dictionaries.STATUS, statuses), codes(Dictionaries.PRIORITY, request.getPriority()),
+				request.getAssigneeId(),
+				request.getDueFrom() == null ? Integer.MIN_VALUE : (int) request.getDueFrom().toEpochDay(),
+				request.getDueTo() == null ? Integer.MAX_VALUE : (int) request.getDueTo().toEpochDay());
+
+		List<IssuePivotResponse.Row> rows = new ArrayList<>();
+		long total = 0;
+		for (IssueColumnStore.Group group : store.pivot(filter, dimensions.contains(PivotDimension.PROJECT),
+				dimensions.contains(PivotDimension.STATUS), dimensions.contains(PivotDimension.PRIORITY),
+				dimensions.contains(PivotDimension.ASSIGNEE))) {
+			rows.add(new IssuePivotResponse.Row(group.projectId(),
+					group.statusCode() == null ? null : Dictionaries.STATUS.decode(group.statusCode()),
+					group.priorityCode() == null || group.priorityCode() == 0 ? null : Dictionaries.PRIORITY.decode(group.priorityCode()),
+					group.assigneeId(), group.count()));
+			total += group.count();
+		}
+		List<String> grouped = new ArrayList<>();
+		for (PivotDimension dimension : dimensions) {
+			grouped.add(dimension.name().toLowerCase());
+		}
+		return new IssuePivotResponse(grouped, total, rows);
+	}
+
+	private void afterCommit(Consumer<IssueColumnStore> change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					apply(change);
+				}
+			});
+		} else {
+			apply(change);
+		}
+	}
+
+	private synchronized void apply(Consumer<IssueColumnStore> change) {
+		change.accept(store);
+		if (pendingChanges != null) {
+			pendingChanges.add(change);
+		}
+	}
+
+	// null means no filter, unknown names match nothing
+	private static short[] codes(CodeDictionary dictionary, List<String> names) {
+		if (names == null) {
+			return null;
+		}
+		short[] codes = new short[names.size()];
+		for (int i = 0; i < codes.length; i++) {
+			Short code = dictionary.encode(names.get(i));
+			codes[i] = code == null ? 0 : code;
+		}
+		return codes;
+	}
+
+}
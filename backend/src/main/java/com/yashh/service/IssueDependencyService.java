@@ -0,0 +1,22 @@
+package com.yashh.service;
+
+import java.util.List;
+
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.response.CriticalPathStep;
+import com.yashh.response.DependencyResponse;
+
+public interface IssueDependencyService {
+
+	void addLink(Long blockerId, Long blockedId) throws IssueException;
+
+	void removeLink(Long blockerId, Long blockedId) throws IssueException;
+
+	void removeIssue(Issue issue);
+
+	DependencyResponse getDependencies(Long issueId) throws IssueException;
+
+	List<CriticalPathStep> getCriticalPath(Long projectId, Long targetIssueId);
+
+}
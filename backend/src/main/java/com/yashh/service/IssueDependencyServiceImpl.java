@@ -0,0 +1,160 @@
+package com.yashh.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.model.IssueLink;
+import com.yashh.repository.IssueLinkRepository;
+import com.yashh.repository.IssueRepository;
+import com.yashh.response.CriticalPathStep;
+import com.yashh.response.DependencyResponse;
+import com.yashh.util.DependencyGraph;
+
+@Service
+public class IssueDependencyServiceImpl implements IssueDependencyService {
+
+	@Autowired
+	private IssueLinkRepository issueLinkRepository;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	// per project CSR graphs, built on first use and replaced copy-on-write
+	private final Map<Long, DependencyGraph> graphs = new ConcurrentHashMap<>();
+	private final Map<Long, Object> locks = new ConcurrentHashMap<>();
+
+	@Override
+	public void addLink(Long blockerId, Long blockedId) throws IssueException {
+		if (blockerId.equals(blockedId)) {
+			throw new IssueException("An issue cannot block itself");
+		}
+		Long projectId = getProjectIdOrThrow(blockerId);
+		if (!projectId.equals(getProjectIdOrThrow(blockedId))) {
+			throw new IssueException("Only issues of the same project can block each other");
+		}
+
+		synchronized (lockFor(projectId)) {
+			DependencyGraph graph = getGraph(projectId);
+			if (graph.hasEdge(blockerId, blockedId)) {
+				return;
+			}
+			if (graph.reaches(blockedId, blockerId)) {
+				throw new IssueException("Issue " + blockedId + " already blocks issue " + blockerId + ", the link would create a cycle");
+			}
+			issueLinkRepository.save(new IssueLink(null, projectId, blockerId, blockedId));
+			afterCommit(() -> graphs.computeIfPresent(projectId, (id, current) -> current.withEdge(blockerId, blockedId)));
+		}
+	}
+
+	@Override
+	public void removeLink(Long blockerId, Long blockedId) throws IssueException {
+		Long projectId = getProjectIdOrThrow(blockerId);
+		synchronized (lockFor(projectId)) {
+			if (issueLinkRepository.deleteLink(blockerId, blockedId) > 0) {
+				afterCommit(() -> graphs.computeIfPresent(projectId,
+						(id, graph) -> graph.withoutEdges(blocker -> blocker == blockerId, blocked -> blocked == blockedId)));
+			}
+		}
+	}
+
+	@Override
+	public void removeIssue(Issue issue) {
+		Long projectId = issue.getProject().getId();
+		synchronized (lockFor(projectId)) {
+			if (issueLinkRepository.deleteByIssueId(issue.getId()) > 0) {
+				// a graph loaded before the delete commits still has the links, so drop it only afterwards
+				afterCommit(() -> graphs.remove(projectId));
+			}
+		}
+	}
+
+	@Override
+	public DependencyResponse getDependencies(Long issueId) throws IssueException {
+		DependencyGraph graph = getGraph(getProjectIdOrThrow(issueId));
+		return new DependencyResponse(issueId, graph.blocks(issueId), graph.blockedBy(issueId));
+	}
+
+	@Override
+	public List<CriticalPathStep> getCriticalPath(Long projectId, Long targetIssueId) {
+		DependencyGraph graph = getGraph(projectId);
+		List<CriticalPathStep> steps = new ArrayList<>();
+		if (graph.nodeCount() == 0) {
+			return steps;
+		}
+
+		Map<Long, CriticalPathStep> schedule = new HashMap<>();
+		for (Object[] row : issueRepository.findScheduleByProjectId(projectId)) {
+			schedule.put((Long) row[0], new CriticalPathStep((Long) row[0], (String) row[1], (String) row[2], (LocalDate) row[3], null));
+		}
+
+		long[] path = graph.criticalPath(
+				id -> schedule.containsKey(id) && !Issue.STATUS_DONE.equals(schedule.get(id).getStatus()),
+				id -> schedule.get(id).getDueDate() == null ? Integer.MIN_VALUE : (int) schedule.get(id).getDueDate().toEpochDay(),
+				targetIssueId);
+		for (int i = 0; i < path.length; i++) {
+			CriticalPathStep step = schedule.get(path[i]);
+			if (i + 1 < path.length) {
+				LocalDate due = step.getDueDate();
+				LocalDate nextDue = schedule.get(path[i + 1]).getDueDate();
+				if (due != null && nextDue != null) {
+					step.setSlackDays(nextDue.toEpochDay() - due.toEpochDay());
+				}
+			}
+			steps.add(step);
+		}
+		return steps;
+	}
+
+	private DependencyGraph getGraph(Long projectId) {
+		return graphs.computeIfAbsent(projectId, this::loadGraph);
+	}
+
+	private DependencyGraph loadGraph(Long projectId) {
+		List<Object[]> edges = issueLinkRepository.findEdgesByProjectId(projectId);
+		long[] blockers = new long[edges.size()];
+		long[] blocked = new long[edges.size()];
+		for (int i = 0; i < edges.size(); i++) {
+			blockers[i] = (Long) edges.get(i)[0];
+			blocked[i] = (Long) edges.get(i)[1];
+		}
+		return DependencyGraph.build(blockers, blocked, edges.size());
+	}
+
+	// graphs only follow committed links; outside a transaction the repository call has committed already
+	private static void afterCommit(Runnable change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					change.run();
+				}
+			});
+		} else {
+			change.run();
+		}
+	}
+
+	private Object lockFor(Long projectId) {
+		return locks.computeIfAbsent(projectId, id -> new Object());
+	}
+
+	private Long getProjectIdOrThrow(Long issueId) throws IssueException {
+		Long projectId = issueRepository.findProjectIdById(issueId);
+		if (projectId == null) {
+			throw new IssueException("No issues found with issueid" + issueId);
+		}
+		return projectId;
+	}
+
+}
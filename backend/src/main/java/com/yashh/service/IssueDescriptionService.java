@@ -0,0 +1,17 @@
+package com.yashh.service;
+
+import com.yashh.model.Issue;
+
+public interface IssueDescriptionService {
+
+	String getDescription(Long issueId);
+
+	void loadDescription(Issue issue);
+
+	void saveDescription(Issue issue);
+
+	boolean updateDescription(Issue issue, String description);
+
+	void deleteDescription(Long issueId);
+
+}
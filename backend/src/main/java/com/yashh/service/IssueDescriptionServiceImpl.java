@@ -0,0 +1,126 @@
+package com.yashh.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.yashh.model.Issue;
+import com.yashh.model.IssueDescription;
+import com.yashh.repository.IssueDescriptionRepository;
+import com.yashh.util.TextCompression;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.LockModeType;
+import jakarta.persistence.PersistenceContext;
+
+@Service
+public class IssueDescriptionServiceImpl implements IssueDescriptionService {
+
+	private static final Logger log = LoggerFactory.getLogger(IssueDescriptionServiceImpl.class);
+
+	private static final int MIGRATION_BATCH_SIZE = 500;
+
+	@Autowired
+	private IssueDescriptionRepository issueDescriptionRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@PersistenceContext
+	private EntityManager entityManager;
+
+	@Override
+	public String getDescription(Long issueId) {
+		return TextCompression.decompress(issueDescriptionRepository.findContentByIssueId(issueId));
+	}
+
+	@Override
+	public void loadDescription(Issue issue) {
+		issue.setDescription(getDescription(issue.getId()));
+	}
+
+	// for an issue that was just inserted, its excerpt is already set by setDescription
+	@Override
+	public void saveDescription(Issue issue) {
+		if (issue.getDescription() != null && !issue.getDescription().isEmpty()) {
+			issueDescriptionRepository.save(new IssueDescription(issue.getId(), TextCompression.compress(issue.getDescription())));
+		}
+	}
+
+	@Override
+	public boolean updateDescription(Issue issue, String description) {
+		String current = getDescription(issue.getId());
+		if (Objects.equals(current, description)) {
+			issue.setDescription(current);
+			return false;
+		}
+
+		String oldExcerpt = issue.getExcerpt();
+		issue.setDescription(description);
+		if (description == null || description.isEmpty()) {
+			issueDescriptionRepository.deleteById(issue.getId());
+		} else {
+			issueDescriptionRepository.save(new IssueDescription(issue.getId(), TextCompression.compress(description)));
+		}
+		if (Objects.equals(oldExcerpt, issue.getExcerpt())) {
+			// the edit is past the excerpt, nothing in the issues row is dirty but its version must still move
+			entityManager.lock(issue, LockModeType.OPTIMISTIC_FORCE_INCREMENT);
+		}
+		return true;
+	}
+
+	@Override
+	public void deleteDescription(Long issueId) {
+		if (issueDescriptionRepository.existsById(issueId)) {
+			issueDescriptionRepository.deleteById(issueId);
+		}
+	}
+
+	/**
+	 * Moves descriptions still sitting in the old issues.description column
+	 * into issue_descriptions. Runs in batches at startup and does nothing
+	 * once the column is empty or gone.
+	 */
+	@EventListener(ApplicationReadyEvent.class)
+	public void migrateLegacyDescriptions() {
+		int migrated = 0;
+		List<Object[]> batch;
+		do {
+			try {
+				batch = jdbcTemplate.query("SELECT id, description FROM issues WHERE description IS NOT NULL ORDER BY id LIMIT "
+						+ MIGRATION_BATCH_SIZE, (rs, rowNum) -> new Object[] { rs.getLong(1), rs.getString(2) });
+			} catch (DataAccessException e) {
+				// column was dropped, nothing left to move
+				return;
+			}
+
+			List<IssueDescription> descriptions = new ArrayList<>();
+			List<Object[]> updates = new ArrayList<>();
+			for (Object[] row : batch) {
+				String description = (String) row[1];
+				if (!description.isEmpty()) {
+					descriptions.add(new IssueDescription((Long) row[0], TextCompression.compress(description)));
+				}
+				updates.add(new Object[] { Issue.excerptOf(description), row[0] });
+			}
+			// descriptions first, a crash in between only repeats the batch
+			issueDescriptionRepository.saveAll(descriptions);
+			jdbcTemplate.batchUpdate("UPDATE issues SET excerpt = ?, description = NULL WHERE id = ?", updates);
+			migrated += batch.size();
+		} while (batch.size() == MIGRATION_BATCH_SIZE);
+
+		if (migrated > 0) {
+			log.info("Migrated {} issue descriptions", migrated);
+		}
+	}
+
+}
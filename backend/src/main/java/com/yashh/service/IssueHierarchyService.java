@@ -0,0 +1,25 @@
+package com.yashh.service;
+
+import java.util.List;
+
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.response.IssueProgressResponse;
+
+public interface IssueHierarchyService {
+
+	void registerIssue(Issue issue) throws IssueException;
+
+	void moveIssue(Issue issue, Long newParentId) throws IssueException;
+
+	void statusChanged(Long issueId, String oldStatus, String newStatus);
+
+	void removeIssue(Issue issue);
+
+	IssueProgressResponse getProgress(Long issueId) throws IssueException;
+
+	List<IssueProgressResponse> getEpicProgress(Long projectId);
+
+	List<Issue> getChildren(Long issueId);
+
+}
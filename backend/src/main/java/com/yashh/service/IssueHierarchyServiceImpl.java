@@ -0,0 +1,142 @@
+package com.yashh.service;
+
+import java.util.List;
+import java.util.Objects;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+import com.yashh.domain.IssueType;
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.model.IssueRollup;
+import com.yashh.repository.IssueClosureRepository;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.IssueRollupRepository;
+import com.yashh.response.IssueProgressResponse;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class IssueHierarchyServiceImpl implements IssueHierarchyService {
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private IssueClosureRepository issueClosureRepository;
+
+	@Autowired
+	private IssueRollupRepository issueRollupRepository;
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void registerIssue(Issue issue) throws IssueException {
+		issueClosureRepository.insertSelf(issue.getId());
+		issueRollupRepository.insertEmpty(issue.getId());
+		if (issue.getParentId() != null) {
+			checkParent(issue, issue.getParentId());
+			issueClosureRepository.attachSubtree(issue.getParentId(), issue.getId());
+			issueRollupRepository.adjustAncestors(issue.getId(), 1, Issue.STATUS_DONE.equals(issue.getStatus()) ? 1 : 0);
+		}
+	}
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void moveIssue(Issue issue, Long newParentId) throws IssueException {
+		Long issueId = issue.getId();
+		if (Objects.equals(issue.getParentId(), newParentId)) {
+			return;
+		}
+		ensureNode(issueId);
+		if (newParentId != null) {
+			checkParent(issue, newParentId);
+			if (issueClosureRepository.existsByAncestorIdAndDescendantId(issueId, newParentId)) {
+				throw new IssueException("Issue " + newParentId + " is inside the subtree of issue " + issueId);
+			}
+		}
+
+		IssueRollup rollup = issueRollupRepository.findById(issueId).get();
+		int total = rollup.getDescendantCount() + 1;
+		int done = rollup.getDoneDescendantCount() + (Issue.STATUS_DONE.equals(issue.getStatus()) ? 1 : 0);
+
+		if (issue.getParentId() != null) {
+			issueRollupRepository.adjustAncestors(issueId, -total, -done);
+			issueClosureRepository.detachSubtree(issueClosureRepository.findAncestorIds(issueId),
+					issueClosureRepository.findSubtreeIds(issueId));
+		}
+		if (newParentId != null) {
+			issueClosureRepository.attachSubtree(newParentId, issueId);
+			issueRollupRepository.adjustAncestors(issueId, total, done);
+		}
+		issue.setParentId(newParentId);
+	}
+
+	@Override
+	@Transactional
+	public void statusChanged(Long issueId, String oldStatus, String newStatus) {
+		boolean wasDone = Issue.STATUS_DONE.equals(oldStatus);
+		boolean isDone = Issue.STATUS_DONE.equals(newStatus);
+		if (wasDone != isDone) {
+			issueRollupRepository.adjustAncestors(issueId, 0, isDone ? 1 : -1);
+		}
+	}
+
+	// splices the issue out of the tree, its children move up to its parent
+	@Override
+	@Transactional
+	public void removeIssue(Issue issue) {
+		Long issueId = issue.getId();
+		if (!issueRollupRepository.existsById(issueId)) {
+			return;
+		}
+		issueRollupRepository.adjustAncestors(issueId, -1, Issue.STATUS_DONE.equals(issue.getStatus()) ? -1 : 0);
+		List<Long> ancestorIds = issueClosureRepository.findAncestorIds(issueId);
+		List<Long> subtreeIds = issueClosureRepository.findSubtreeIds(issueId);
+		if (!ancestorIds.isEmpty()) {
+			issueClosureRepository.shortenPaths(ancestorIds, subtreeIds);
+		}
+		issueClosureRepository.deleteNode(issueId);
+		issueRollupRepository.deleteByIssueId(issueId);
+		issueRepository.reparentChildren(issueId, issue.getParentId());
+	}
+
+	@Override
+	public IssueProgressResponse getProgress(Long issueId) throws IssueException {
+		IssueProgressResponse progress = issueRollupRepository.findProgress(issueId);
+		if (progress != null) {
+			return progress;
+		}
+		Issue issue = issueRepository.findById(issueId)
+				.orElseThrow(() -> new IssueException("No issues found with issueid" + issueId));
+		return new IssueProgressResponse(issueId, issue.getTitle(), 0, 0);
+	}
+
+	@Override
+	public List<IssueProgressResponse> getEpicProgress(Long projectId) {
+		return issueRollupRepository.findProgressByProjectAndType(projectId, IssueType.EPIC);
+	}
+
+	@Override
+	public List<Issue> getChildren(Long issueId) {
+		return issueRepository.findByParentId(issueId);
+	}
+
+	private void checkParent(Issue issue, Long parentId) throws IssueException {
+		Issue parent = issueRepository.findById(parentId)
+				.orElseThrow(() -> new IssueException("Parent issue not found with id " + parentId));
+		if (!Objects.equals(parent.getProject().getId(), issue.getProject().getId())) {
+			throw new IssueException("Parent issue belongs to another project");
+		}
+		ensureNode(parentId);
+	}
+
+	// issues created before the hierarchy existed have no closure or rollup rows yet
+	private void ensureNode(Long issueId) {
+		if (!issueRollupRepository.existsById(issueId)) {
+			issueClosureRepository.insertSelf(issueId);
+			issueRollupRepository.insertEmpty(issueId);
+		}
+	}
+
+}
@@ -0,0 +1,21 @@
+package com.yashh.service;
+
+import java.util.Map;
+
+import com.yashh.domain.IssueField;
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.response.IssueChangeResponse;
+import com.yashh.response.KeysetPage;
+
+public interface IssueHistoryService {
+
+	Map<IssueField, String> snapshot(Issue issue);
+
+	void recordChanges(Map<IssueField, String> before, Issue after, boolean descriptionChanged);
+
+	KeysetPage<IssueChangeResponse> getHistory(Long issueId, Long beforeId, Integer limit) throws IssueException;
+
+	void issueRemoved(Long issueId);
+
+}
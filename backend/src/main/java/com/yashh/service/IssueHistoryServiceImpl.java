@@ -0,0 +1,336 @@
+package com.yashh.service;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.yashh.domain.IssueField;
+import com.yashh.exception.IssueException;
+import com.yashh.model.Issue;
+import com.yashh.model.IssueChange;
+import com.yashh.model.User;
+import com.yashh.repository.IssueChangeRepository;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.UserRepository;
+import com.yashh.response.IssueChangeResponse;
+import com.yashh.response.KeysetPage;
+
+import jakarta.annotation.PreDestroy;
+
+@Service
+public class IssueHistoryServiceImpl implements IssueHistoryService {
+
+	private static final Logger log = LoggerFactory.getLogger(IssueHistoryServiceImpl.class);
+
+	private static final int QUEUE_CAPACITY = 100_000;
+	private static final int FLUSH_BATCH_SIZE = 500;
+	private static final long FLUSH_INTERVAL_MILLIS = 1000;
+	private static final int DEFAULT_PAGE_SIZE = 50;
+	private static final int MAX_PAGE_SIZE = 200;
+
+	private static final String INSERT_CHANGE = "INSERT INTO issue_changes (issue_id, user_id, field, old_value, new_value, changed_at) "
+			+ "VALUES (?, ?, ?, ?, ?, ?)";
+
+	@Autowired
+	private IssueChangeRepository issueChangeRepository;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private UserRepository userRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	// deltas of committed writes, drained by flush() only; a full queue drops instead of slowing the write down
+	private final BlockingQueue<PendingChange> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+	// the batch flush() is inserting, it leaves the queue only after this is set and stays readable until committed
+	private volatile List<PendingChange> writing = List.of();
+	// bumped after each committed batch, a history read that overlapped one reads again
+	private final AtomicLong flushedBatches = new AtomicLong();
+	private final AtomicLong dropped = new AtomicLong();
+	// deleted issues whose queued or in-flight changes the next flush() must not leave behind
+	private final Set<Long> removedIssueIds = ConcurrentHashMap.newKeySet();
+	private final Map<String, Long> userIds = new ConcurrentHashMap<>();
+
+	@Override
+	public Map<IssueField, String> snapshot(Issue issue) {
+		Map<IssueField, String> values = new EnumMap<>(IssueField.class);
+		values.put(IssueField.TITLE, issue.getTitle());
+		values.put(IssueField.DESCRIPTION, issue.getExcerpt());
+		values.put(IssueField.STATUS, issue.getStatus());
+		values.put(IssueField.PRIORITY, issue.getPriority());
+		values.put(IssueField.DUE_DATE, issue.getDueDate() == null ? null : issue.getDueDate().toString());
+		values.put(IssueField.TAGS, issue.getTags() == null || issue.getTags().isEmpty() ? null : String.join(",", issue.getTags()));
+		values.put(IssueField.ISSUE_TYPE, issue.getIssueType() == null ? null : issue.getIssueType().name());
+		values.put(IssueField.PARENT, issue.getParentId() == null ? null : issue.getParentId().toString());
+		values.put(IssueField.ASSIGNEE, issue.getAssignee() == null ? null : issue.getAssignee().getId().toString());
+		values.put(IssueField.SPRINT, issue.getSprintId() == null ? null : issue.getSprintId().toString());
+		return values;
+	}
+
+	/**
+	 * Diffs the issue against a snapshot taken before the write and queues
+	 * the deltas once the surrounding transaction commits. Descriptions are
+	 * recorded by excerpt, descriptionChanged covers edits past it.
+	 */
+	@Override
+	public void recordChanges(Map<IssueField, String> before, Issue after, boolean descriptionChanged) {
+		Map<IssueField, String> current = snapshot(after);
+		LocalDateTime now = LocalDateTime.now();
+		String userEmail = currentUserEmail();
+		List<PendingChange> changes = new ArrayList<>();
+		for (Map.Entry<IssueField, String> field : current.entrySet()) {
+			String oldValue = before.get(field.getKey());
+			if (!Objects.equals(oldValue, field.getValue())
+					|| (field.getKey() == IssueField.DESCRIPTION && descriptionChanged)) {
+				changes.add(new PendingChange(after.getId(), userEmail, field.getKey(),
+						truncate(oldValue), truncate(field.getValue()), now));
+			}
+		}
+		if (changes.isEmpty()) {
+			return;
+		}
+
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					enqueue(changes);
+				}
+			});
+		} else {
+			enqueue(changes);
+		}
+	}
+
+	@Override
+	public KeysetPage<IssueChangeResponse> getHistory(Long issueId, Long beforeId, Integer limit) throws IssueException {
+		if (!issueRepository.existsById(issueId)) {
+			throw new IssueException("No issues found with issueid" + issueId);
+		}
+		int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+		for (int attempt = 1;; attempt++) {
+			long batches = flushedBatches.get();
+			// changes still queued lead the first page, in full; the table fills the rest
+			List<IssueChangeResponse> changes = beforeId == null ? queuedChanges(issueId) : new ArrayList<>();
+			int storedSize = Math.max(0, pageSize - changes.size());
+			List<IssueChangeResponse> stored = issueChangeRepository.findPage(issueId,
+					beforeId == null ? Long.MAX_VALUE : beforeId, PageRequest.of(0, storedSize + 1));
+			// a batch committed in between may now be in both
+			if (beforeId != null || flushedBatches.get() == batches || attempt == 3) {
+				Long nextCursor = null;
+				if (stored.size() > storedSize) {
+					stored = stored.subList(0, storedSize);
+					nextCursor = stored.isEmpty() ? Long.MAX_VALUE : stored.get(storedSize - 1).getId();
+				}
+				changes.addAll(stored);
+				return new KeysetPage<>(changes, nextCursor);
+			}
+		}
+	}
+
+	/**
+	 * Deletes the stored history of a deleted issue. Changes still queued
+	 * or being written when the delete commits are dropped by the next
+	 * flush() instead.
+	 */
+	@Override
+	public void issueRemoved(Long issueId) {
+		issueChangeRepository.deleteByIssueId(issueId);
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					removedIssueIds.add(issueId);
+				}
+			});
+		} else {
+			removedIssueIds.add(issueId);
+		}
+	}
+
+	@Scheduled(fixedDelay = FLUSH_INTERVAL_MILLIS)
+	@PreDestroy
+	public synchronized void flush() {
+		long lost = dropped.getAndSet(0);
+		if (lost > 0) {
+			log.warn("Issue history queue was full, dropped {} changes", lost);
+		}
+		Set<Long> removed = new HashSet<>(removedIssueIds);
+		try {
+			// a batch whose write failed last time goes in first
+			if (!writing.isEmpty()) {
+				write(writing);
+				written();
+			}
+			while (!queue.isEmpty()) {
+				List<PendingChange> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+				for (Iterator<PendingChange> it = queue.iterator(); it.hasNext() && batch.size() < FLUSH_BATCH_SIZE;) {
+					batch.add(it.next());
+				}
+				writing = batch;
+				// the only consumer, so the head is still exactly this batch
+				for (int i = 0; i < batch.size(); i++) {
+					queue.poll();
+				}
+				write(batch);
+				written();
+			}
+			// rows a batch wrote before the issue's delete committed
+			for (Long issueId : removed) {
+				jdbcTemplate.update("DELETE FROM issue_changes WHERE issue_id = ?", issueId);
+				removedIssueIds.remove(issueId);
+			}
+		} catch (DataAccessException e) {
+			log.warn("Issue history flush failed, retrying {} changes later", writing.size() + queue.size(), e);
+		}
+	}
+
+	private void written() {
+		flushedBatches.incrementAndGet();
+		writing = List.of();
+	}
+
+	private void write(List<PendingChange> changes) {
+		List<PendingChange> batch = changes.stream().filter(change -> !removedIssueIds.contains(change.issueId())).toList();
+		if (batch.isEmpty()) {
+			return;
+		}
+		resolveUserIds(batch);
+		try {
+			new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+					jdbcTemplate.batchUpdate(INSERT_CHANGE, batch, batch.size(), (ps, change) -> bind(ps, change)));
+		} catch (DataIntegrityViolationException e) {
+			// insert one by one and drop only the rows that cannot be stored, one bad row must not hold the rest back
+			for (PendingChange change : batch) {
+				try {
+					jdbcTemplate.update(INSERT_CHANGE, ps -> bind(ps, change));
+				} catch (DataIntegrityViolationException rejected) {
+					log.warn("Dropped a {} change of issue {} that cannot be stored", change.field(), change.issueId(), rejected);
+				}
+			}
+		}
+	}
+
+	private void bind(PreparedStatement ps, PendingChange change) throws SQLException {
+		ps.setLong(1, change.issueId());
+		Long userId = change.userEmail() == null ? null : userIds.get(change.userEmail());
+		if (userId == null) {
+			ps.setNull(2, Types.BIGINT);
+		} else {
+			ps.setLong(2, userId);
+		}
+		ps.setInt(3, change.field().ordinal());
+		ps.setString(4, change.oldValue());
+		ps.setString(5, change.newValue());
+		ps.setTimestamp(6, Timestamp.valueOf(change.changedAt()));
+	}
+
+	// newest first; the queue is read before the batch being written, so a change moving between them is seen
+	private List<IssueChangeResponse> queuedChanges(Long issueId) {
+		List<PendingChange> pending = new ArrayList<>();
+		Set<PendingChange> seen = Collections.newSetFromMap(new IdentityHashMap<>());
+		for (PendingChange change : queue) {
+			if (change.issueId().equals(issueId) && seen.add(change)) {
+				pending.add(change);
+			}
+		}
+		List<PendingChange> batch = writing;
+		for (int i = batch.size() - 1; i >= 0; i--) {
+			PendingChange change = batch.get(i);
+			if (change.issueId().equals(issueId) && seen.add(change)) {
+				pending.add(0, change);
+			}
+		}
+		List<IssueChangeResponse> changes = new ArrayList<>(pending.size());
+		Map<String, User> users = new HashMap<>();
+		for (int i = pending.size() - 1; i >= 0; i--) {
+			PendingChange change = pending.get(i);
+			User user = change.userEmail() == null ? null : users.computeIfAbsent(change.userEmail(), userRepository::findByEmail);
+			changes.add(new IssueChangeResponse(null, change.field(), change.oldValue(), change.newValue(), change.changedAt(),
+					user == null ? null : user.getId(), user == null ? null : user.getFullName()));
+		}
+		return changes;
+	}
+
+	// one query per batch for emails not seen before
+	private void resolveUserIds(List<PendingChange> batch) {
+		Set<String> unknown = new HashSet<>();
+		for (PendingChange change : batch) {
+			if (change.userEmail() != null && !userIds.containsKey(change.userEmail())) {
+				unknown.add(change.userEmail());
+			}
+		}
+		if (!unknown.isEmpty()) {
+			for (Object[] row : userRepository.findIdsByEmails(unknown)) {
+				userIds.put((String) row[1], (Long) row[0]);
+			}
+		}
+	}
+
+	// runs on the request thread, so it never writes itself; flush() reports what was dropped
+	private void enqueue(List<PendingChange> changes) {
+		for (PendingChange change : changes) {
+			if (!queue.offer(change)) {
+				dropped.incrementAndGet();
+			}
+		}
+	}
+
+	private static String currentUserEmail() {
+		Authentication authentication = SecurityContextHolder.getContext().getAuthentication();
+		return authentication == null || authentication.getName() == null || "anonymousUser".equals(authentication.getName())
+				? null : authentication.getName();
+	}
+
+	// counted in code points like the column, and never splitting a surrogate pair
+	private static String truncate(String value) {
+		if (value == null || value.codePointCount(0, value.length()) <= IssueChange.MAX_VALUE_LENGTH) {
+			return value;
+		}
+		return value.substring(0, value.offsetByCodePoints(0, IssueChange.MAX_VALUE_LENGTH - 3)) + "...";
+	}
+
+	private record PendingChange(Long issueId, String userEmail, IssueField field, String oldValue, String newValue,
+			LocalDateTime changedAt) {
+	}
+
+}
@@ -1,11 +1,13 @@
 package com.yashh.service;
 
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 
 import com.yashh.exception.IssueException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
+import com.yashh.exception.VersionConflictException;
 import com.yashh.model.Issue;
 import com.yashh.model.User;
 import com.yashh.request.IssueRequest;
@@ -15,14 +17,21 @@ public interface IssueService {
 
 	    Optional<Issue> getIssueById(Long issueId) throws IssueException;
 
+	    String getIssueETag(Long issueId) throws IssueException;
+
 	List<Issue> getIssueByProjectId(Long projectId) throws ProjectException;
 
 	    Issue createIssue(IssueRequest issue,Long userid) throws UserException, IssueException, ProjectException;
 
-	    Optional<Issue> updateIssue(Long issueid,IssueRequest updatedIssue,Long userid ) throws IssueException, UserException, ProjectException;
+	    Optional<Issue> updateIssue(Long issueid,IssueRequest updatedIssue,Long userid,Long expectedVersion ) throws IssueException, UserException, ProjectException, VersionConflictException;
+
+	    Issue patchIssue(Long issueId, Map<String, Object> patch, Long expectedVersion) throws IssueException, UserException, VersionConflictException;
 
 	    String deleteIssue(Long issueId,Long userid) throws UserException, IssueException;
 
+	    // everything kept beside the issue row, for deleteIssue and for deleteProject; the caller deletes the row
+	    void removeIssueData(Issue issue);
+
 	    List<Issue> getIssuesByAssigneeId(Long assigneeId) throws IssueException;
 	    
 	    List<Issue> searchIssues(String title, String status, String priority, Long assigneeId) throws IssueException;
@@ -1,19 +1,31 @@
 package com.yashh.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
 import java.util.Optional;
 
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Service;
 
+import com.yashh.domain.IssueField;
+import com.yashh.domain.IssueType;
 import com.yashh.exception.IssueException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
+import com.yashh.exception.VersionConflictException;
 import com.yashh.model.Issue;
 import com.yashh.model.Project;
 import com.yashh.model.User;
 import com.yashh.repository.IssueRepository;
+import com.yashh.repository.ProjectRepository;
 import com.yashh.request.IssueRequest;
+import com.yashh.util.Dictionaries;
+import com.yashh.util.ETags;
+import com.yashh.util.MergePatch;
+
+import jakarta.transaction.Transactional;
 
 @Service
 public class IssueServiceImpl implements IssueService {
@@ -24,9 +36,35 @@ public class IssueServiceImpl implements IssueService {
 	@Autowired
 	private UserService userService;
 	@Autowired
-	private ProjectService projectService;
+	private ProjectRepository projectRepository;
 	@Autowired
 	private NotificationServiceImpl notificationServiceImpl;
+	@Autowired
+	private ReminderService reminderService;
+	@Autowired
+	private IssueHierarchyService issueHierarchyService;
+	@Autowired
+	private IssueDependencyService issueDependencyService;
+	@Autowired
+	private DuplicateDetectionService duplicateDetectionService;
+	@Autowired
+	private IssueDescriptionService issueDescriptionService;
+	@Autowired
+	private WorkflowService workflowService;
+	@Autowired
+	private IssueHistoryService issueHistoryService;
+	@Autowired
+	private SprintService sprintService;
+	@Autowired
+	private FlowMetricsService flowMetricsService;
+	@Autowired
+	private WorklogService worklogService;
+	@Autowired
+	private IssueAnalyticsService issueAnalyticsService;
+	@Autowired
+	private SavedFilterService savedFilterService;
+	@Autowired
+	private HomeService homeService;
 
 //    @Override
 //    public List<Issue> getAllIssues() throws IssueException {
@@ -41,29 +79,44 @@ public class IssueServiceImpl implements IssueService {
 	public Optional<Issue> getIssueById(Long issueId) throws IssueException {
 		Optional<Issue> issue = issueRepository.findById(issueId);
 		if (issue.isPresent()) {
+			issueDescriptionService.loadDescription(issue.get());
 			return issue;
 		}
 		throw new IssueException("No issues found with issueid" + issueId);
 	}
 
+	@Override
+	public String getIssueETag(Long issueId) throws IssueException {
+		List<Object[]> state = issueRepository.findETagStateById(issueId);
+		if (!state.isEmpty()) {
+			return ETags.of("issue", issueId, (Integer) state.get(0)[1], (Long) state.get(0)[0]);
+		}
+		throw new IssueException("No issues found with issueid" + issueId);
+	}
+
 	@Override
 	public List<Issue> getIssueByProjectId(Long projectId) throws ProjectException {
-		projectService.getProjectById(projectId);
+		getProjectOrThrow(projectId);
 		return issueRepository.findByProjectId(projectId);
 	}
 
 	@Override
+	@Transactional(rollbackOn = Exception.class)
 	public Issue createIssue(IssueRequest issueRequest, Long userId)
 			throws UserException, IssueException, ProjectException {
 		User user = getUserOrThrow(userId);
 
 		// Check if the project exists
-		Project project = projectService.getProjectById(issueRequest.getProjectId());
+		Project project = getProjectOrThrow(issueRequest.getProjectId());
 		System.out.println("projid---------->"+issueRequest.getProjectId());
 		if (project == null) {
 			throw new IssueException("Project not found with ID: " + issueRequest.getProjectId());
 		}
 
+		workflowService.checkStatus(project.getId(), issueRequest.getStatus());
+		workflowService.checkPriority(project.getId(), issueRequest.getPriority());
+		sprintService.checkSprint(project.getId(), issueRequest.getSprintId());
+
 		// Create a new issue
 		Issue issue = new Issue();
 		issue.setTitle(issueRequest.getTitle());
@@ -72,25 +125,40 @@ public class IssueServiceImpl implements IssueService {
 		issue.setProjectID(issueRequest.getProjectId());
 		issue.setPriority(issueRequest.getPriority());
 		issue.setDueDate(issueRequest.getDueDate());
+		issue.setIssueType(issueRequest.getIssueType() != null ? issueRequest.getIssueType() : IssueType.TASK);
+		issue.setParentId(issueRequest.getParentId());
+		issue.setSprintId(issueRequest.getSprintId());
 
 
          
 		// Set the project for the issue
 		issue.setProject(project);
+		flowMetricsService.statusChanged(issue, null);
 
 		// Save the issue
-		return issueRepository.save(issue);
+		Issue savedIssue = issueRepository.save(issue);
+		issueDescriptionService.saveDescription(savedIssue);
+		issueHierarchyService.registerIssue(savedIssue);
+		projectRepository.incrementIssueRevision(project.getId());
+		reminderService.scheduleReminder(savedIssue);
+		duplicateDetectionService.issueChanged(savedIssue);
+		sprintService.issueChanged(null, null, savedIssue);
+		issueAnalyticsService.issueChanged(savedIssue);
+		savedFilterService.issueChanged(savedIssue);
+		homeService.issueChanged(savedIssue);
+		return savedIssue;
 	}
 
 	@Override
-	public Optional<Issue> updateIssue(Long issueId, IssueRequest updatedIssue, Long userId)
-			throws IssueException, UserException, ProjectException {
+	@Transactional(rollbackOn = Exception.class)
+	public Optional<Issue> updateIssue(Long issueId, IssueRequest updatedIssue, Long userId, Long expectedVersion)
+			throws IssueException, UserException, ProjectException, VersionConflictException {
 		User user = getUserOrThrow(userId);
 		Optional<Issue> existingIssue = issueRepository.findById(issueId);
                            
 		if (existingIssue.isPresent()) {
 			// Check if the project exists
-			Project project = projectService.getProjectById(updatedIssue.getProjectId());
+			Project project = getProjectOrThrow(updatedIssue.getProjectId());
 			if (project == null) {
 				throw new IssueException("Project not found with ID: " + updatedIssue.getProjectId());
 			}
@@ -101,10 +169,18 @@ public class IssueServiceImpl implements IssueService {
 			}
 
 			Issue issueToUpdate = existingIssue.get();
-
+			if (expectedVersion != null && !expectedVersion.equals(issueToUpdate.getVersion())) {
+				throw new VersionConflictException("Issue " + issueId + " was modified, current version is " + issueToUpdate.getVersion());
+			}
+			String oldStatus = issueToUpdate.getStatus();
+			Long oldSprintId = issueToUpdate.getSprintId();
+			Map<IssueField, String> before = issueHistoryService.snapshot(issueToUpdate);
+			boolean descriptionChanged = false;
 
 			if (updatedIssue.getDescription() != null) {
-				issueToUpdate.setDescription(updatedIssue.getDescription());
+				descriptionChanged = issueDescriptionService.updateDescription(issueToUpdate, updatedIssue.getDescription());
+			} else {
+				issueDescriptionService.loadDescription(issueToUpdate);
 			}
 
 			if (updatedIssue.getDueDate() != null) {
@@ -112,10 +188,14 @@ public class IssueServiceImpl implements IssueService {
 			}
 
 			if (updatedIssue.getPriority() != null) {
+				workflowService.checkPriority(issueToUpdate.getProject().getId(), updatedIssue.getPriority());
 				issueToUpdate.setPriority(updatedIssue.getPriority());
 			}
 
 			if (updatedIssue.getStatus() != null) {
+				workflowService.checkStatus(issueToUpdate.getProject().getId(), updatedIssue.getStatus());
+				// before any move, which carries the issue's done state to its new ancestors
+				issueHierarchyService.statusChanged(issueId, issueToUpdate.getStatus(), updatedIssue.getStatus());
 				issueToUpdate.setStatus(updatedIssue.getStatus());
 			}
 
@@ -123,24 +203,166 @@ public class IssueServiceImpl implements IssueService {
 				issueToUpdate.setTitle(updatedIssue.getTitle());
 			}
 
+			if (updatedIssue.getIssueType() != null) {
+				issueToUpdate.setIssueType(updatedIssue.getIssueType());
+			}
+
+			if (updatedIssue.getParentId() != null) {
+				issueHierarchyService.moveIssue(issueToUpdate, updatedIssue.getParentId());
+			}
+
+			if (updatedIssue.getSprintId() != null) {
+				sprintService.checkSprint(issueToUpdate.getProject().getId(), updatedIssue.getSprintId());
+				issueToUpdate.setSprintId(updatedIssue.getSprintId());
+			}
+			flowMetricsService.statusChanged(issueToUpdate, oldStatus);
+
 			// Save the updated issue
-			return Optional.of(issueRepository.save(issueToUpdate));
+			Issue savedIssue = issueRepository.save(issueToUpdate);
+			projectRepository.incrementIssueRevision(savedIssue.getProject().getId());
+			reminderService.scheduleReminder(savedIssue);
+			duplicateDetectionService.issueChanged(savedIssue);
+			issueHistoryService.recordChanges(before, savedIssue, descriptionChanged);
+			sprintService.issueChanged(oldSprintId, oldStatus, savedIssue);
+			issueAnalyticsService.issueChanged(savedIssue);
+			savedFilterService.issueChanged(savedIssue);
+			homeService.issueChanged(savedIssue);
+			return Optional.of(savedIssue);
 		}
 
 		throw new IssueException("Issue not found with issueid" + issueId);
 	}
 
 	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public Issue patchIssue(Long issueId, Map<String, Object> patch, Long expectedVersion)
+			throws IssueException, UserException, VersionConflictException {
+		Issue issue = issueRepository.findById(issueId)
+				.orElseThrow(() -> new IssueException("Issue not found with issueid" + issueId));
+		if (expectedVersion != null && !expectedVersion.equals(issue.getVersion())) {
+			throw new VersionConflictException("Issue " + issueId + " was modified, current version is " + issue.getVersion());
+		}
+
+		// only touch what the patch names, @DynamicUpdate then writes just the dirty columns
+		String oldStatus = issue.getStatus();
+		Long oldSprintId = issue.getSprintId();
+		Map<IssueField, String> before = issueHistoryService.snapshot(issue);
+		boolean changed = false;
+		boolean descriptionChanged = false;
+		for (Map.Entry<String, Object> field : patch.entrySet()) {
+			Object value = field.getValue();
+			try {
+				switch (field.getKey()) {
+					case "title" -> {
+						changed |= !Objects.equals(issue.getTitle(), MergePatch.asString(value));
+						issue.setTitle(MergePatch.asString(value));
+					}
+					case "description" -> {
+						descriptionChanged = issueDescriptionService.updateDescription(issue, MergePatch.asString(value));
+						changed |= descriptionChanged;
+					}
+					case "status" -> {
+						workflowService.checkStatus(issue.getProject().getId(), MergePatch.asString(value));
+						changed |= !Objects.equals(issue.getStatus(), MergePatch.asString(value));
+						// right away, the rollups then match whichever tree the issue is in when parentId is applied
+						issueHierarchyService.statusChanged(issueId, issue.getStatus(), MergePatch.asString(value));
+						issue.setStatus(MergePatch.asString(value));
+					}
+					case "priority" -> {
+						workflowService.checkPriority(issue.getProject().getId(), MergePatch.asString(value));
+						changed |= !Objects.equals(issue.getPriority(), MergePatch.asString(value));
+						issue.setPriority(MergePatch.asString(value));
+					}
+					case "dueDate" -> {
+						changed |= !Objects.equals(issue.getDueDate(), MergePatch.asLocalDate(value));
+						issue.setDueDate(MergePatch.asLocalDate(value));
+					}
+					case "tags" -> {
+						changed |= !Objects.equals(issue.getTags(), MergePatch.asStringList(value));
+						issue.setTags(MergePatch.asStringList(value));
+					}
+					case "issueType" -> {
+						IssueType issueType = value == null ? IssueType.TASK : IssueType.valueOf(value.toString());
+						changed |= issue.getIssueType() != issueType;
+						issue.setIssueType(issueType);
+					}
+					case "parentId" -> {
+						changed |= !Objects.equals(issue.getParentId(), MergePatch.asLong(value));
+						issueHierarchyService.moveIssue(issue, MergePatch.asLong(value));
+					}
+					case "sprintId" -> {
+						sprintService.checkSprint(issue.getProject().getId(), MergePatch.asLong(value));
+						changed |= !Objects.equals(issue.getSprintId(), MergePatch.asLong(value));
+						issue.setSprintId(MergePatch.asLong(value));
+					}
+					case "assigneeId" -> {
+						Long assigneeId = MergePatch.asLong(value);
+						Long currentAssigneeId = issue.getAssignee() == null ? null : issue.getAssignee().getId();
+						if (!Objects.equals(currentAssigneeId, assigneeId)) {
+							issue.setAssignee(assigneeId == null ? null : userService.findUserById(assigneeId));
+							changed = true;
+						}
+					}
+					default -> throw new IssueException("Field " + field.getKey() + " cannot be patched");
+				}
+			} catch (IllegalArgumentException e) {
+				throw new IssueException("Field " + field.getKey() + " has an invalid value: " + e.getMessage());
+			}
+		}
+
+		if (changed) {
+			flowMetricsService.statusChanged(issue, oldStatus);
+			projectRepository.incrementIssueRevision(issue.getProject().getId());
+			reminderService.scheduleReminder(issue);
+			duplicateDetectionService.issueChanged(issue);
+			issueHistoryService.recordChanges(before, issue, descriptionChanged);
+			sprintService.issueChanged(oldSprintId, oldStatus, issue);
+			issueAnalyticsService.issueChanged(issue);
+			savedFilterService.issueChanged(issue);
+			homeService.issueChanged(issue);
+		}
+		if (!patch.containsKey("description")) {
+			issueDescriptionService.loadDescription(issue);
+		}
+		return issue;
+	}
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
 	public String deleteIssue(Long issueId, Long userId) throws UserException, IssueException {
 		getUserOrThrow(userId);
 		Optional<Issue> issueById = getIssueById(issueId);
 		if (issueById.isPresent()) {
+			removeIssueData(issueById.get());
 			issueRepository.deleteById(issueId);
+			projectRepository.incrementIssueRevision(issueById.get().getProject().getId());
 			return "issue with the id" + issueId + "deleted";
 		}
 		throw new IssueException("Issue not found with issueid" + issueId);
 	}
 
+	/**
+	 * The one list of hooks an issue leaves through. Runs in the caller's
+	 * transaction, before the row is deleted.
+	 */
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void removeIssueData(Issue issue) {
+		Long issueId = issue.getId();
+		issueHierarchyService.removeIssue(issue);
+		issueDependencyService.removeIssue(issue);
+		reminderService.cancelReminder(issueId);
+		duplicateDetectionService.removeIssue(issue);
+		issueDescriptionService.deleteDescription(issueId);
+		issueHistoryService.issueRemoved(issueId);
+		sprintService.issueRemoved(issue);
+		flowMetricsService.issueRemoved(issue);
+		worklogService.issueRemoved(issueId);
+		issueAnalyticsService.issueRemoved(issueId);
+		savedFilterService.issueRemoved(issueId);
+		homeService.issueChanged(issue);
+	}
+
 	@Override
 	public List<Issue> getIssuesByAssigneeId(Long assigneeId) throws IssueException {
 		List<Issue> issues = issueRepository.findByAssigneeId(assigneeId);
@@ -150,6 +372,11 @@ public class IssueServiceImpl implements IssueService {
 		throw new IssueException("Issues not found");
 	}
 
+	private Project getProjectOrThrow(Long projectId) throws ProjectException {
+		return projectRepository.findById(projectId)
+				.orElseThrow(() -> new ProjectException("No project exists with the id " + projectId));
+	}
+
 	private User getUserOrThrow(Long userId) throws UserException {
 		User user = userService.findUserById(userId);
 
@@ -163,6 +390,11 @@ public class IssueServiceImpl implements IssueService {
 	@Override
 	public List<Issue> searchIssues(String title, String status, String priority, Long assigneeId)
 			throws IssueException {
+		// names no dictionary knows cannot match any encoded row
+		if ((status != null && !Dictionaries.STATUS.contains(status))
+				|| (priority != null && !Dictionaries.PRIORITY.contains(priority))) {
+			return new ArrayList<>();
+		}
 		List<Issue> searchIssues = issueRepository.searchIssues(title, status, priority, assigneeId);
 		if (searchIssues != null) {
 			return searchIssues;
@@ -182,23 +414,45 @@ public class IssueServiceImpl implements IssueService {
 
 		if(issue.isEmpty())throw new IssueException("issue not exist");
 
+		Map<IssueField, String> before = issueHistoryService.snapshot(issue.get());
 		issue.get().setAssignee(user);
 		notifyAssignee(user.getEmail(),"New Issue Assigned To You","New Issue Assign To You");
-		return issueRepository.save(issue.get());
+		Issue savedIssue = issueRepository.save(issue.get());
+		projectRepository.incrementIssueRevision(savedIssue.getProject().getId());
+		issueHistoryService.recordChanges(before, savedIssue, false);
+		issueAnalyticsService.issueChanged(savedIssue);
+		savedFilterService.issueChanged(savedIssue);
+		homeService.issueChanged(savedIssue);
+		return savedIssue;
 
 
 	}
 
 	@Override
+	@Transactional(rollbackOn = Exception.class)
 	public Issue updateStatus(Long issueId, String status) throws IssueException {
 		Optional<Issue> optionalIssue=issueRepository.findById(issueId);
 		if(optionalIssue.isEmpty()){
 			throw new IssueException("issue not found");
 		}
 		Issue issue=optionalIssue.get();
+		workflowService.checkStatus(issue.getProject().getId(), status);
+		Map<IssueField, String> before = issueHistoryService.snapshot(issue);
+		String oldStatus = issue.getStatus();
+		issueHierarchyService.statusChanged(issueId, oldStatus, status);
 		issue.setStatus(status);
-
-		return issueRepository.save(issue);
+		flowMetricsService.statusChanged(issue, oldStatus);
+
+		Issue savedIssue = issueRepository.save(issue);
+		projectRepository.incrementIssueRevision(savedIssue.getProject().getId());
+		reminderService.scheduleReminder(savedIssue);
+		duplicateDetectionService.issueChanged(savedIssue);
+		issueHistoryService.recordChanges(before, savedIssue, false);
+		sprintService.issueChanged(savedIssue.getSprintId(), oldStatus, savedIssue);
+		issueAnalyticsService.issueChanged(savedIssue);
+		savedFilterService.issueChanged(savedIssue);
+		homeService.issueChanged(savedIssue);
+		return savedIssue;
 	}
 
 	private void notifyAssignee(String email, String subject, String body) {
@@ -1,16 +1,25 @@
 package com.yashh.service;
 
-import java.util.List;
-
 import com.yashh.exception.ChatException;
-import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
-import com.yashh.model.Message;
+import com.yashh.response.ChatMessageResponse;
+import com.yashh.response.KeysetPage;
 
 public interface MessageService {
 
-    Message sendMessage(Long senderId, Long chatId, String content) throws UserException, ChatException, ProjectException;
+    ChatMessageResponse sendMessage(Long senderId, Long projectId, String content, String clientMessageId)
+            throws UserException, ChatException;
 
-    List<Message> getMessagesByProjectId(Long projectId) throws ProjectException, ChatException;
-}
+    ChatMessageResponse sendToChat(Long senderId, Long chatId, String content, String clientMessageId)
+            throws UserException, ChatException;
+
+    KeysetPage<ChatMessageResponse> getMessages(Long projectId, Long before, Integer limit) throws ChatException;
+
+    KeysetPage<ChatMessageResponse> getMessagesSince(Long projectId, Long afterSeq, Integer limit) throws ChatException;
 
+    KeysetPage<ChatMessageResponse> getChatMessagesSince(Long chatId, Long afterSeq, Integer limit) throws ChatException;
+
+    long getLastSeq(Long chatId);
+
+    Long getChatId(Long projectId) throws ChatException;
+}
@@ -1,56 +1,466 @@
 package com.yashh.service;
 
+import java.sql.Timestamp;
 import java.time.LocalDateTime;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
 
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import com.yashh.exception.ChatException;
-import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
-import com.yashh.model.Chat;
 import com.yashh.model.Message;
-import com.yashh.model.User;
+import com.yashh.repository.ChatRepository;
 import com.yashh.repository.MessageRepository;
 import com.yashh.repository.UserRepository;
+import com.yashh.response.ChatMessageResponse;
+import com.yashh.response.KeysetPage;
+import com.yashh.util.MessageRing;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
 
 @Service
 public class MessageServiceImpl implements MessageService {
 
+    private static final Logger log = LoggerFactory.getLogger(MessageServiceImpl.class);
+
+    private static final int QUEUE_CAPACITY = 65_536;
+    private static final int WRITE_BATCH_SIZE = 1_000;
+    private static final long WRITER_POLL_MILLIS = 5;
+    private static final long ENQUEUE_TIMEOUT_MILLIS = 50;
+    private static final long RETRY_DELAY_MILLIS = 1_000;
+    private static final long SHUTDOWN_WAIT_MILLIS = 10_000;
+    private static final int RECENT_MESSAGES = 100;
+    private static final int DEFAULT_PAGE_SIZE = 50;
+    private static final int MAX_PAGE_SIZE = 200;
+    private static final int MAX_RESUME_SIZE = 500;
+    private static final int RECENT_CLIENT_IDS = 1_024;
+    private static final long CHAT_IDLE_MILLIS = 10 * 60 * 1000;
+
+    private static final String INSERT_MESSAGE = "INSERT INTO messages (chat_id, sender_id, content, created_at, seq, client_message_id) "
+            + "VALUES (?, ?, ?, ?, ?, ?)";
+
     @Autowired
     private MessageRepository messageRepository;
 
     @Autowired
     private UserRepository userRepository;
 
-  
     @Autowired
-    private ProjectService projectService;
+    private ChatRepository chatRepository;
+
+    @Autowired
+    private JdbcTemplate jdbcTemplate;
+
+    @Autowired
+    private SimpMessagingTemplate simpMessagingTemplate;
+
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    // sent but not yet inserted, drained by the writer thread; a full queue pushes back on senders
+    private final BlockingQueue<ChatMessageResponse> queue = new ArrayBlockingQueue<>(QUEUE_CAPACITY);
+    private final Map<Long, Long> chatIdsByProject = new ConcurrentHashMap<>();
+    private final Map<Long, Long> projectIdsByChat = new ConcurrentHashMap<>();
+    private final Map<Long, String> senderNames = new ConcurrentHashMap<>();
+    // chats in use, dropped after CHAT_IDLE_MILLIS without sends or reads
+    private final Map<Long, ChatState> chats = new ConcurrentHashMap<>();
+    // seq of every chat's latest message, unlike chats never evicted
+    private final Map<Long, Long> lastSeqs = new ConcurrentHashMap<>();
+    private volatile boolean running = true;
+    private Thread writer;
+
+    @Override
+    public ChatMessageResponse sendMessage(Long senderId, Long projectId, String content, String clientMessageId)
+            throws UserException, ChatException {
+        return publish(senderId, chatIdOf(projectId), content, clientMessageId);
+    }
 
     @Override
-    public Message sendMessage(Long senderId, Long projectId, String content) throws UserException, ChatException, ProjectException {
-        User sender = userRepository.findById(senderId)
-                .orElseThrow(() -> new UserException("User not found with id: " + senderId));
-     
-        Chat chat = projectService.getProjectById(projectId).getChat();
+    public ChatMessageResponse sendToChat(Long senderId, Long chatId, String content, String clientMessageId)
+            throws UserException, ChatException {
+        checkChat(chatId);
+        return publish(senderId, chatId, content, clientMessageId);
+    }
 
-        Message message = new Message();
-        message.setContent(content);
-        message.setSender(sender);
-        message.setCreatedAt(LocalDateTime.now());
-        message.setChat(chat);
-        Message savedMessage=messageRepository.save(message);
+    /**
+     * Queues the message for the writer, appends it to the chat's recent
+     * messages and broadcasts it to /group/{chatId} right away. Sender names
+     * and chat ids are cached, so a send does no database work once both
+     * have been seen. A clientMessageId the chat has seen before returns the
+     * message it was sent with, without storing or broadcasting again; ids
+     * older than the ones the chat remembers are looked up in the table.
+     */
+    private ChatMessageResponse publish(Long senderId, Long chatId, String content, String clientMessageId)
+            throws UserException, ChatException {
+        if (content == null || content.isBlank()) {
+            throw new ChatException("Message is empty");
+        }
+        // checked here, the writer would otherwise drop a message everyone already received
+        if (content.length() > Message.MAX_CONTENT_LENGTH) {
+            throw new ChatException("Message is longer than " + Message.MAX_CONTENT_LENGTH + " characters");
+        }
+        if (clientMessageId != null && clientMessageId.length() > Message.MAX_CLIENT_MESSAGE_ID_LENGTH) {
+            throw new ChatException("clientMessageId is longer than " + Message.MAX_CLIENT_MESSAGE_ID_LENGTH + " characters");
+        }
+        String senderName = senderId == null ? null : senderNames.computeIfAbsent(senderId, userRepository::findFullNameById);
+        if (senderName == null) {
+            throw new UserException("User not found with id: " + senderId);
+        }
 
-        chat.getMessages().add(savedMessage);
-        return savedMessage;
+        while (true) {
+            ChatState chat = chats.computeIfAbsent(chatId, this::loadChat);
+            // read before taking the lock so the chat's other sends do not wait on it
+            ChatMessageResponse stored = null;
+            if (clientMessageId != null && chat.forgetsClientIds) {
+                List<ChatMessageResponse> found = messageRepository.findByClientMessageId(chatId, clientMessageId);
+                stored = found.isEmpty() ? null : found.get(0);
+            }
+            // one send per chat at a time keeps seq, createdAt, the ring, the queue and the broadcast in the same order
+            synchronized (chat) {
+                if (chat.evicted) {
+                    continue;
+                }
+                chat.lastUsed = System.currentTimeMillis();
+                ChatMessageResponse sent = clientMessageId == null ? null : chat.clientIds.get(clientMessageId);
+                if (sent != null) {
+                    return sent;
+                }
+                if (stored != null) {
+                    return stored;
+                }
+                ChatMessageResponse message = new ChatMessageResponse(chat.lastSeq + 1, chatId, clientMessageId, content,
+                        chat.nextCreatedAt(), new ChatMessageResponse.Sender(senderId, senderName));
+                try {
+                    if (!queue.offer(message, ENQUEUE_TIMEOUT_MILLIS, TimeUnit.MILLISECONDS)) {
+                        throw new ChatException("Chat is overloaded, message was not sent");
+                    }
+                } catch (InterruptedException e) {
+                    Thread.currentThread().interrupt();
+                    throw new ChatException("Message was not sent");
+                }
+                chat.inFlight.incrementAndGet();
+                chat.lastSeq = message.getSeq();
+                lastSeqs.put(chatId, message.getSeq());
+                chat.remember(message);
+                chat.recent.add(message);
+                simpMessagingTemplate.convertAndSend("/group/" + chatId, message);
+                return message;
+            }
+        }
     }
 
+    /**
+     * Messages with a seq below the cursor, oldest first. Whatever the chat's
+     * recent messages cover is served from memory, only older pages read
+     * idx_messages_chat_seq.
+     */
     @Override
-    public List<Message> getMessagesByProjectId(Long projectId) throws ProjectException, ChatException {
-    	Chat chat = projectService.getChatByProjectId(projectId);
-        List<Message> findByChatIdOrderByCreatedAtAsc = messageRepository.findByChatIdOrderByCreatedAtAsc(chat.getId());
-		return findByChatIdOrderByCreatedAtAsc;
+    public KeysetPage<ChatMessageResponse> getMessages(Long projectId, Long before, Integer limit) throws ChatException {
+        Long chatId = chatIdOf(projectId);
+        int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+        ChatState chat = chats.computeIfAbsent(chatId, this::loadChat);
+        chat.lastUsed = System.currentTimeMillis();
+
+        MessageRing.Slice slice = chat.recent.before(before, pageSize);
+        List<ChatMessageResponse> messages = slice.messages();
+        boolean more = !slice.exhausted();
+        if (messages.size() < pageSize && more) {
+            // the ring is a contiguous tail, the database continues right where it ends
+            long from = !messages.isEmpty() ? messages.get(0).getSeq() : before == null ? Long.MAX_VALUE : before;
+            int missing = pageSize - messages.size();
+            List<ChatMessageResponse> older = messageRepository.findPage(chatId, from, PageRequest.of(0, missing + 1));
+            more = older.size() > missing;
+            List<ChatMessageResponse> page = new ArrayList<>(older.subList(0, Math.min(missing, older.size())));
+            Collections.reverse(page);
+            page.addAll(messages);
+            messages = page;
+        }
+        Long nextCursor = more && !messages.isEmpty() ? messages.get(0).getSeq() : null;
+        return new KeysetPage<>(messages, nextCursor);
+    }
+
+    @Override
+    public KeysetPage<ChatMessageResponse> getMessagesSince(Long projectId, Long afterSeq, Integer limit) throws ChatException {
+        return getChatMessagesSince(chatIdOf(projectId), afterSeq, limit);
+    }
+
+    /**
+     * Messages with a seq above afterSeq, oldest first, for a client catching
+     * up after a reconnect. A short gap is answered from the recent messages
+     * alone; only a gap reaching past them reads idx_messages_chat_seq, and
+     * only up to the last written message so unwritten ones are never
+     * skipped. nextCursor is the afterSeq to ask for the rest with.
+     */
+    @Override
+    public KeysetPage<ChatMessageResponse> getChatMessagesSince(Long chatId, Long afterSeq, Integer limit) throws ChatException {
+        checkChat(chatId);
+        int pageSize = limit == null ? MAX_RESUME_SIZE : Math.max(1, Math.min(limit, MAX_RESUME_SIZE));
+        long after = afterSeq == null ? 0 : Math.max(0, afterSeq);
+        ChatState chat = chats.computeIfAbsent(chatId, this::loadChat);
+        chat.lastUsed = System.currentTimeMillis();
+
+        MessageRing.Tail tail = chat.recent.after(after, pageSize + 1);
+        List<ChatMessageResponse> messages = tail.messages();
+        boolean more = messages.size() > pageSize;
+        if (!tail.reachesBack()) {
+            long ringStart = messages.get(0).getSeq();
+            long readable = Math.min(ringStart, chat.writtenSeq + 1);
+            List<ChatMessageResponse> gap = messageRepository.findSeqRange(chatId, after, readable, PageRequest.of(0, pageSize + 1));
+            if (gap.size() > pageSize || readable < ringStart) {
+                // the rest is either a further page or still on its way to the table
+                more = true;
+                messages = gap;
+            } else {
+                gap.addAll(messages);
+                more = gap.size() > pageSize;
+                messages = gap;
+            }
+        }
+        if (messages.size() > pageSize) {
+            messages = new ArrayList<>(messages.subList(0, pageSize));
+        }
+        Long nextCursor = !more ? null : messages.isEmpty() ? after : messages.get(messages.size() - 1).getSeq();
+        return new KeysetPage<>(messages, nextCursor);
+    }
+
+    @Override
+    public long getLastSeq(Long chatId) {
+        return lastSeqs.getOrDefault(chatId, 0L);
+    }
+
+    @Override
+    public Long getChatId(Long projectId) throws ChatException {
+        return chatIdOf(projectId);
+    }
+
+    private void checkChat(Long chatId) throws ChatException {
+        if (projectIdsByChat.computeIfAbsent(chatId, chatRepository::findProjectIdById) == null) {
+            throw new ChatException("Chat not found with id " + chatId);
+        }
+    }
+
+    private Long chatIdOf(Long projectId) throws ChatException {
+        Long chatId = chatIdsByProject.computeIfAbsent(projectId, chatRepository::findIdByProjectId);
+        if (chatId == null) {
+            throw new ChatException("Chats not found for project " + projectId);
+        }
+        return chatId;
+    }
+
+    private ChatState loadChat(Long chatId) {
+        List<ChatMessageResponse> newest = messageRepository.findPage(chatId, Long.MAX_VALUE, PageRequest.of(0, RECENT_MESSAGES + 1));
+        boolean complete = newest.size() <= RECENT_MESSAGES;
+        List<ChatMessageResponse> recent = new ArrayList<>(newest.subList(0, Math.min(RECENT_MESSAGES, newest.size())));
+        Collections.reverse(recent);
+        ChatState chat = new ChatState(new MessageRing(RECENT_MESSAGES, recent, complete));
+        chat.forgetsClientIds = !complete;
+        for (ChatMessageResponse message : recent) {
+            chat.remember(message);
+        }
+        if (!recent.isEmpty()) {
+            ChatMessageResponse last = recent.get(recent.size() - 1);
+            chat.lastCreatedAt = last.getCreatedAt();
+            chat.lastSeq = last.getSeq();
+            chat.writtenSeq = last.getSeq();
+        }
+        return chat;
+    }
+
+    // only chats with nothing left in the write queue, reloading those from the table is exact
+    @Scheduled(fixedDelay = 60_000)
+    public void evictIdleChats() {
+        long idleSince = System.currentTimeMillis() - CHAT_IDLE_MILLIS;
+        for (Map.Entry<Long, ChatState> entry : chats.entrySet()) {
+            ChatState chat = entry.getValue();
+            synchronized (chat) {
+                if (chat.lastUsed < idleSince && chat.inFlight.get() == 0) {
+                    chat.evicted = true;
+                    chats.remove(entry.getKey(), chat);
+                }
+            }
+        }
+    }
+
+    /**
+     * Numbers the messages stored before seq existed, per chat in createdAt
+     * order. Runs before the writer starts and before any chat is loaded,
+     * so the numbers it hands out cannot collide with new sends.
+     */
+    private void backfillSeq() {
+        int updated = 0;
+        for (Long chatId : jdbcTemplate.queryForList("SELECT DISTINCT chat_id FROM messages WHERE seq IS NULL", Long.class)) {
+            Long maxSeq = jdbcTemplate.queryForObject("SELECT MAX(seq) FROM messages WHERE chat_id = ?", Long.class, chatId);
+            List<Long> ids = jdbcTemplate.queryForList("SELECT id FROM messages WHERE chat_id = ? AND seq IS NULL ORDER BY created_at, id",
+                    Long.class, chatId);
+            long first = maxSeq == null ? 1 : maxSeq + 1;
+            List<Object[]> args = new ArrayList<>(ids.size());
+            for (int i = 0; i < ids.size(); i++) {
+                args.add(new Object[] { first + i, ids.get(i) });
+            }
+            jdbcTemplate.batchUpdate("UPDATE messages SET seq = ? WHERE id = ?", args);
+            updated += ids.size();
+        }
+        if (updated > 0) {
+            log.info("Numbered {} chat messages", updated);
+        }
+    }
+
+    @PostConstruct
+    public void startWriter() {
+        backfillSeq();
+        // walks idx_messages_chat_seq, one entry per chat
+        for (Map<String, Object> row : jdbcTemplate.queryForList("SELECT chat_id, MAX(seq) AS last_seq FROM messages GROUP BY chat_id")) {
+            lastSeqs.put(((Number) row.get("chat_id")).longValue(), ((Number) row.get("last_seq")).longValue());
+        }
+        writer = new Thread(this::writeLoop, "chat-message-writer");
+        writer.setDaemon(true);
+        writer.start();
     }
-}
 
+    @PreDestroy
+    public void stopWriter() throws InterruptedException {
+        running = false;
+        writer.join(SHUTDOWN_WAIT_MILLIS);
+    }
+
+    // inserts whatever piled up while the previous batch was written, so batches grow with the load
+    private void writeLoop() {
+        List<ChatMessageResponse> batch = new ArrayList<>(WRITE_BATCH_SIZE);
+        while (running || !queue.isEmpty() || !batch.isEmpty()) {
+            try {
+                if (batch.isEmpty()) {
+                    ChatMessageResponse first = queue.poll(WRITER_POLL_MILLIS, TimeUnit.MILLISECONDS);
+                    if (first == null) {
+                        continue;
+                    }
+                    batch.add(first);
+                    queue.drainTo(batch, WRITE_BATCH_SIZE - 1);
+                }
+                write(batch);
+                batch.clear();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                return;
+            } catch (DataAccessException e) {
+                log.warn("Message write failed, retrying {} messages", batch.size(), e);
+                try {
+                    Thread.sleep(running ? RETRY_DELAY_MILLIS : 0);
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+                if (!running) {
+                    return;
+                }
+            }
+        }
+    }
+
+    // one transaction per batch, so a failed batch leaves nothing behind to duplicate on retry
+    private void write(List<ChatMessageResponse> batch) {
+        try {
+            new TransactionTemplate(transactionManager).executeWithoutResult(status ->
+                    jdbcTemplate.batchUpdate(INSERT_MESSAGE, batch, batch.size(), (ps, message) -> {
+                        ps.setLong(1, message.getChatId());
+                        ps.setLong(2, message.getSender().getId());
+                        ps.setString(3, message.getContent());
+                        ps.setTimestamp(4, Timestamp.valueOf(message.getCreatedAt()));
+                        ps.setLong(5, message.getSeq());
+                        ps.setString(6, message.getClientMessageId());
+                    }));
+        } catch (DataIntegrityViolationException e) {
+            // a chat or sender deleted after the send, insert one by one and drop only the rows that cannot go in
+            for (Iterator<ChatMessageResponse> it = batch.iterator(); it.hasNext();) {
+                ChatMessageResponse message = it.next();
+                try {
+                    jdbcTemplate.update(INSERT_MESSAGE, message.getChatId(), message.getSender().getId(), message.getContent(),
+                            Timestamp.valueOf(message.getCreatedAt()), message.getSeq(), message.getClientMessageId());
+                } catch (DataIntegrityViolationException dropped) {
+                    projectIdsByChat.remove(message.getChatId());
+                    chatIdsByProject.values().remove(message.getChatId());
+                    log.warn("Dropped a message of chat {} that cannot be stored", message.getChatId(), dropped);
+                }
+                // a dropped message counts as written too, resuming skips it instead of waiting for it forever
+                written(message);
+                it.remove();
+            }
+        }
+        batch.forEach(this::written);
+    }
+
+    // a chat with messages in flight is never evicted, so this is the state the send counted in
+    private void written(ChatMessageResponse message) {
+        ChatState chat = chats.get(message.getChatId());
+        if (chat != null) {
+            chat.writtenSeq = message.getSeq();
+            chat.inFlight.decrementAndGet();
+        }
+    }
+
+    private static class ChatState {
+
+        private final MessageRing recent;
+        // client ids of the latest sends, oldest first; unwritten ones stay, the table cannot answer for them yet
+        private final Map<String, ChatMessageResponse> clientIds = new LinkedHashMap<>();
+        // set once ids older than clientIds may exist, a miss then has to ask the table
+        private volatile boolean forgetsClientIds;
+        // queued and not yet written
+        private final AtomicInteger inFlight = new AtomicInteger();
+        private LocalDateTime lastCreatedAt;
+        private long lastSeq;
+        // highest seq the writer is done with, everything up to it can be read from the table
+        private volatile long writtenSeq;
+        private volatile long lastUsed = System.currentTimeMillis();
+        private boolean evicted;
+
+        ChatState(MessageRing recent) {
+            this.recent = recent;
+        }
+
+        void remember(ChatMessageResponse message) {
+            if (message.getClientMessageId() == null) {
+                return;
+            }
+            clientIds.put(message.getClientMessageId(), message);
+            for (Iterator<ChatMessageResponse> it = clientIds.values().iterator(); clientIds.size() > RECENT_CLIENT_IDS && it.hasNext();) {
+                if (it.next().getSeq() > writtenSeq) {
+                    break;
+                }
+                it.remove();
+                forgetsClientIds = true;
+            }
+        }
+
+        // microsecond precision like the column, and strictly increasing so the table's createdAt order matches seq
+        LocalDateTime nextCreatedAt() {
+            LocalDateTime now = LocalDateTime.now().truncatedTo(ChronoUnit.MICROS);
+            if (lastCreatedAt != null && !now.isAfter(lastCreatedAt)) {
+                now = lastCreatedAt.plus(1, ChronoUnit.MICROS);
+            }
+            lastCreatedAt = now;
+            return now;
+        }
+    }
+}
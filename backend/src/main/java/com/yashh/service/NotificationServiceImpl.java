@@ -1,5 +1,7 @@
 package com.yashh.service;
 
+import java.util.List;
+
 import org.springframework.mail.SimpleMailMessage;
 import org.springframework.mail.javamail.JavaMailSender;
 import org.springframework.stereotype.Service;
@@ -20,5 +22,12 @@ public class NotificationServiceImpl {
         message.setText(body);
         javaMailSender.send(message);
     }
+
+    public void sendNotifications(List<SimpleMailMessage> messages) {
+        if (messages.isEmpty()) {
+            return;
+        }
+        javaMailSender.send(messages.toArray(new SimpleMailMessage[0]));
+    }
 }
 
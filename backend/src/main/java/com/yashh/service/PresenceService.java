@@ -0,0 +1,14 @@
+package com.yashh.service;
+
+import com.yashh.response.PresenceResponse;
+
+public interface PresenceService {
+
+	void heartbeat(Long chatId, Long userId, String sessionId);
+
+	void typing(Long chatId, Long userId, String sessionId);
+
+	void stoppedTyping(Long chatId, String sessionId);
+
+	PresenceResponse getPresence(Long chatId);
+}
@@ -0,0 +1,260 @@
+package com.yashh.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Queue;
+import java.util.Set;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.EventListener;
+import org.springframework.messaging.simp.SimpMessagingTemplate;
+import org.springframework.stereotype.Service;
+import org.springframework.web.socket.messaging.SessionDisconnectEvent;
+
+import com.yashh.response.PresenceResponse;
+import com.yashh.util.HierarchicalTimingWheel;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Online and typing state of the chat sessions. Heartbeat and typing
+ * frames only stamp their session's entry and mark the chat changed, so
+ * they take no lock. A ticker does the rest: it expires entries through a
+ * timing wheel and broadcasts each changed chat to /group/{chatId}/presence,
+ * at most once per tick. A chat therefore costs at most one frame per
+ * subscriber and tick, no matter how many of its members are typing.
+ * A chat whose last session left is dropped once that was broadcast.
+ */
+@Service
+public class PresenceServiceImpl implements PresenceService {
+
+	private static final Logger log = LoggerFactory.getLogger(PresenceServiceImpl.class);
+
+	private static final long TICK_MILLIS = 500;
+	// 2 levels of 64 slots cover ~34 minutes, far beyond either TTL
+	private static final int WHEEL_LEVELS = 2;
+	// clients heartbeat every 20s and repeat typing every 3s while the user types
+	private static final long ONLINE_TTL_MILLIS = 45_000;
+	private static final long TYPING_TTL_MILLIS = 5_000;
+
+	@Autowired
+	private SimpMessagingTemplate simpMessagingTemplate;
+
+	private final Map<Long, ChatPresence> chats = new ConcurrentHashMap<>();
+	private final Map<String, Set<Long>> chatIdsBySession = new ConcurrentHashMap<>();
+	private final Set<ChatPresence> changed = ConcurrentHashMap.newKeySet();
+	// timers of new entries and of entries that started typing, scheduled by the ticker
+	private final Queue<Timer> pending = new ConcurrentLinkedQueue<>();
+	private final AtomicLong entryIds = new AtomicLong();
+	// only touched by tick()
+	private final HierarchicalTimingWheel<Timer> wheel =
+			new HierarchicalTimingWheel<>(WHEEL_LEVELS, System.currentTimeMillis() / TICK_MILLIS);
+	// not Boot's scheduler, its single thread is shared with the reminder, flush and reconcile jobs
+	private final ScheduledExecutorService ticker = Executors.newSingleThreadScheduledExecutor(task -> {
+		Thread thread = new Thread(task, "chat-presence-ticker");
+		thread.setDaemon(true);
+		return thread;
+	});
+
+	@PostConstruct
+	public void startTicker() {
+		ticker.scheduleAtFixedRate(() -> {
+			// an exception would cancel all further ticks
+			try {
+				tick();
+			} catch (RuntimeException e) {
+				log.warn("Presence tick failed", e);
+			}
+		}, TICK_MILLIS, TICK_MILLIS, TimeUnit.MILLISECONDS);
+	}
+
+	@PreDestroy
+	public void stopTicker() {
+		ticker.shutdownNow();
+	}
+
+	@Override
+	public void heartbeat(Long chatId, Long userId, String sessionId) {
+		entryOf(chatId, userId, sessionId).lastSeen = System.currentTimeMillis();
+	}
+
+	@Override
+	public void typing(Long chatId, Long userId, String sessionId) {
+		long now = System.currentTimeMillis();
+		Entry entry = entryOf(chatId, userId, sessionId);
+		entry.lastSeen = now;
+		// only the start of typing changes anything, repeats just push the deadline
+		if (entry.typingUntil.getAndSet(now + TYPING_TTL_MILLIS) == 0) {
+			changed.add(entry.chat);
+			pending.add(new Timer(entry, true));
+		}
+	}
+
+	@Override
+	public void stoppedTyping(Long chatId, String sessionId) {
+		ChatPresence chat = chats.get(chatId);
+		Entry entry = chat == null ? null : chat.sessions.get(sessionId);
+		if (entry != null && entry.typingUntil.getAndSet(0) != 0) {
+			changed.add(chat);
+		}
+	}
+
+	@Override
+	public PresenceResponse getPresence(Long chatId) {
+		ChatPresence chat = chats.get(chatId);
+		return chat == null ? new PresenceResponse(chatId, new ArrayList<>(), new ArrayList<>()) : chat.snapshot();
+	}
+
+	@EventListener
+	public void sessionClosed(SessionDisconnectEvent event) {
+		Set<Long> chatIds = chatIdsBySession.remove(event.getSessionId());
+		if (chatIds == null) {
+			return;
+		}
+		for (Long chatId : chatIds) {
+			ChatPresence chat = chats.get(chatId);
+			Entry entry = chat == null ? null : chat.sessions.remove(event.getSessionId());
+			if (entry != null) {
+				// its timers are dropped when they come up
+				entry.gone = true;
+				changed.add(chat);
+			}
+		}
+	}
+
+	private void tick() {
+		long now = System.currentTimeMillis();
+		for (Timer timer = pending.poll(); timer != null; timer = pending.poll()) {
+			schedule(timer);
+		}
+		for (Timer timer : wheel.advanceTo(now / TICK_MILLIS)) {
+			if (!timer.entry.gone) {
+				expire(timer, now);
+			}
+		}
+		for (Iterator<ChatPresence> it = changed.iterator(); it.hasNext();) {
+			ChatPresence chat = it.next();
+			it.remove();
+			PresenceResponse presence = chat.snapshot();
+			// joins and leaves that cancel out within a tick send nothing
+			if (!presence.equals(chat.lastSent)) {
+				chat.lastSent = presence;
+				simpMessagingTemplate.convertAndSend("/group/" + chat.chatId + "/presence", presence);
+			}
+			if (chat.sessions.isEmpty()) {
+				chats.computeIfPresent(chat.chatId, (chatId, present) -> present == chat && chat.sessions.isEmpty() ? null : present);
+			}
+		}
+	}
+
+	private void expire(Timer timer, long now) {
+		Entry entry = timer.entry;
+		if (timer.typing) {
+			long until = entry.typingUntil.get();
+			// a typing frame that raced with us moved the deadline, check again then
+			if (until > now || !entry.typingUntil.compareAndSet(until, 0)) {
+				schedule(timer);
+			} else if (until != 0) {
+				changed.add(entry.chat);
+			}
+		} else if (entry.lastSeen + ONLINE_TTL_MILLIS > now) {
+			schedule(timer);
+		} else if (entry.chat.sessions.remove(entry.sessionId, entry)) {
+			entry.gone = true;
+			Set<Long> chatIds = chatIdsBySession.get(entry.sessionId);
+			if (chatIds != null) {
+				chatIds.remove(entry.chat.chatId);
+			}
+			changed.add(entry.chat);
+		}
+	}
+
+	private void schedule(Timer timer) {
+		Entry entry = timer.entry;
+		long deadline = timer.typing ? entry.typingUntil.get() : entry.lastSeen + ONLINE_TTL_MILLIS;
+		wheel.schedule(entry.id * 2 + (timer.typing ? 1 : 0), deadline / TICK_MILLIS, timer);
+	}
+
+	private Entry entryOf(Long chatId, Long userId, String sessionId) {
+		ChatPresence chat = chats.get(chatId);
+		Entry entry = chat == null ? null : chat.sessions.get(sessionId);
+		if (entry != null) {
+			return entry;
+		}
+		// joining holds the map's lock on the chat, so tick() cannot drop a chat that is being joined
+		long entryId = entryIds.incrementAndGet();
+		Entry[] joined = new Entry[1];
+		chat = chats.compute(chatId, (id, present) -> {
+			ChatPresence target = present == null ? new ChatPresence(id) : present;
+			joined[0] = target.sessions.computeIfAbsent(sessionId, session -> new Entry(entryId, target, userId, sessionId));
+			return target;
+		});
+		entry = joined[0];
+		// another frame of the same session may have joined first
+		if (entry.id == entryId) {
+			chatIdsBySession.computeIfAbsent(sessionId, id -> ConcurrentHashMap.newKeySet()).add(chatId);
+			pending.add(new Timer(entry, false));
+			changed.add(chat);
+		}
+		return entry;
+	}
+
+	private static class ChatPresence {
+
+		private final Long chatId;
+		private final Map<String, Entry> sessions = new ConcurrentHashMap<>();
+		// only read and written by tick()
+		private PresenceResponse lastSent;
+
+		ChatPresence(Long chatId) {
+			this.chatId = chatId;
+		}
+
+		// a user with several tabs open counts once
+		PresenceResponse snapshot() {
+			Set<Long> online = new TreeSet<>();
+			Set<Long> typing = new TreeSet<>();
+			for (Entry entry : sessions.values()) {
+				online.add(entry.userId);
+				if (entry.typingUntil.get() != 0) {
+					typing.add(entry.userId);
+				}
+			}
+			return new PresenceResponse(chatId, new ArrayList<>(online), new ArrayList<>(typing));
+		}
+	}
+
+	// one session in one chat
+	private static class Entry {
+
+		private final long id;
+		private final ChatPresence chat;
+		private final Long userId;
+		private final String sessionId;
+		private volatile long lastSeen = System.currentTimeMillis();
+		// 0 when not typing, cleared by the ticker once the deadline passes
+		private final AtomicLong typingUntil = new AtomicLong();
+		private volatile boolean gone;
+
+		Entry(long id, ChatPresence chat, Long userId, String sessionId) {
+			this.id = id;
+			this.chat = chat;
+			this.userId = userId;
+			this.sessionId = sessionId;
+		}
+	}
+
+	private record Timer(Entry entry, boolean typing) {
+	}
+}
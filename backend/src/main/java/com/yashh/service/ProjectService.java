@@ -1,10 +1,12 @@
 package com.yashh.service;
 
 import java.util.List;
+import java.util.Map;
 
 import com.yashh.exception.ChatException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
+import com.yashh.exception.VersionConflictException;
 import com.yashh.model.Chat;
 import com.yashh.model.Project;
 import com.yashh.model.User;
@@ -21,7 +23,17 @@ public interface ProjectService {
 
 	String deleteProject(Long projectId,Long userId) throws UserException;
 
-	Project updateProject(Project updatedProject, Long id) throws ProjectException;
+	Project updateProject(Project updatedProject, Long id, Long expectedVersion) throws ProjectException, VersionConflictException;
+
+	Project patchProject(Long projectId, Map<String, Object> patch, Long expectedVersion) throws ProjectException, VersionConflictException;
+
+	Long getProjectVersion(Long projectId) throws ProjectException;
+
+	long getIssueRevision(Long projectId) throws ProjectException;
+
+	void incrementIssueRevision(Long projectId);
+
+	long getProjectsFingerprint(User user);
 	
 	List<Project> searchProjects(String keyword, User user) throws ProjectException;
 
@@ -1,6 +1,8 @@
 package com.yashh.service;
 
+import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
 import java.util.Optional;
 import java.util.stream.Collectors;
 
@@ -10,11 +12,17 @@ import org.springframework.stereotype.Service;
 import com.yashh.exception.ChatException;
 import com.yashh.exception.ProjectException;
 import com.yashh.exception.UserException;
+import com.yashh.exception.VersionConflictException;
 import com.yashh.model.Chat;
+import com.yashh.model.Issue;
 import com.yashh.model.Project;
 import com.yashh.model.User;
 import com.yashh.repository.ProjectRepository;
+import com.yashh.util.Dictionaries;
+import com.yashh.util.MergePatch;
 
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.PersistenceContext;
 import jakarta.transaction.Transactional;
 
 @Service
@@ -31,7 +39,25 @@ public class ProjectServiceImpl implements ProjectService {
 	 @Autowired 
 	 private UserService userService;
 
+	 @Autowired
+	 private WorkflowService workflowService;
+
+	 @Autowired
+	 private ChatAccessService chatAccessService;
+
+	 // deleting a project cascades to its issues without IssueService.deleteIssue, so their data is removed here
+	 @Autowired
+	 private IssueService issueService;
+	 @Autowired
+	 private SprintService sprintService;
+	 @Autowired
+	 private FlowMetricsService flowMetricsService;
+
+	 @PersistenceContext
+	 private EntityManager entityManager;
+
 	@Override
+	@Transactional(rollbackOn = Exception.class)
 	public Project createProject(Project project,Long id) throws UserException  {
 		User user = userService.findUserById(id);
 		Project createdProject=new Project();
@@ -44,14 +70,14 @@ public class ProjectServiceImpl implements ProjectService {
 			createdProject.getTeam().add(user);
 
 			System.out.println(createdProject);
-			Project savedProject=projectRepository.save(project);
-
-			savedProject.getTeam().add(user);
+			workflowService.registerCategory(project.getCategory());
+			Project savedProject=projectRepository.save(createdProject);
 
 			Chat chat = new Chat();
 			chat.setProject(savedProject);
 			Chat projectChat = chatService.createChat(chat);
 			savedProject.setChat(projectChat);
+			chatAccessService.projectChanged(savedProject.getId());
 
 
 
@@ -63,8 +89,11 @@ public class ProjectServiceImpl implements ProjectService {
 		List<Project> projects= projectRepository.findByTeamContainingOrOwner(user,user);
 
 		if (category != null) {
+			if (!Dictionaries.CATEGORY.contains(category)) {
+				return new ArrayList<>();
+			}
 			projects = projects.stream()
-					.filter(project -> project.getCategory().equals(category))
+					.filter(project -> category.equals(project.getCategory()))
 					.collect(Collectors.toList());
 		}
 
@@ -89,21 +118,99 @@ public class ProjectServiceImpl implements ProjectService {
 	}
 
 	@Override
+	@Transactional(rollbackOn = Exception.class)
 	public String deleteProject(Long projectId,Long id) throws UserException {
 		User user = userService.findUserById(id);
 		System.out.println("user ____>"+user);
 		if(user!=null) {
+			  Optional<Project> project = projectRepository.findById(projectId);
+			  if (project.isPresent()) {
+				  for (Issue issue : project.get().getIssues()) {
+					  issueService.removeIssueData(issue);
+				  }
+				  sprintService.projectDeleted(projectId);
+				  flowMetricsService.projectDeleted(projectId);
+				  // removing the hierarchy bumps the children's versions in bulk, the cascade must see the rows as they are now
+				  entityManager.flush();
+				  entityManager.clear();
+			  }
 			  projectRepository.deleteById(projectId);
+			  chatAccessService.projectDeleted(projectId);
 			  return "project deleted";
 	}
 		throw new UserException("User doesnot exists");
 	}
 
 	@Override
-	public Project updateProject(Project updatedProject, Long id) throws ProjectException {
+	@Transactional(rollbackOn = Exception.class)
+	public Project patchProject(Long projectId, Map<String, Object> patch, Long expectedVersion) throws ProjectException, VersionConflictException {
+		Project project = getProjectById(projectId);
+		if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+			throw new VersionConflictException("Project " + projectId + " was modified, current version is " + project.getVersion());
+		}
+
+		for (Map.Entry<String, Object> field : patch.entrySet()) {
+			Object value = field.getValue();
+			try {
+				switch (field.getKey()) {
+					case "name" -> project.setName(MergePatch.asString(value));
+					case "description" -> project.setDescription(MergePatch.asString(value));
+					case "category" -> {
+						workflowService.registerCategory(MergePatch.asString(value));
+						project.setCategory(MergePatch.asString(value));
+					}
+					case "tags" -> project.setTags(MergePatch.asStringList(value));
+					default -> throw new ProjectException("Field " + field.getKey() + " cannot be patched");
+				}
+			} catch (IllegalArgumentException e) {
+				throw new ProjectException("Field " + field.getKey() + " has an invalid value: " + e.getMessage());
+			}
+		}
+		// managed entity, dirty checking flushes a dynamic UPDATE on commit
+		return project;
+	}
+
+	@Override
+	public Long getProjectVersion(Long projectId) throws ProjectException {
+		Long version = projectRepository.findVersionById(projectId);
+		if (version != null) {
+			return version;
+		}
+		throw new ProjectException("No project exists with the id "+projectId);
+	}
+
+	@Override
+	public long getIssueRevision(Long projectId) throws ProjectException {
+		Long revision = projectRepository.findIssueRevisionById(projectId);
+		if (revision != null) {
+			return revision;
+		}
+		throw new ProjectException("No project exists with the id "+projectId);
+	}
+
+	@Override
+	public void incrementIssueRevision(Long projectId) {
+		projectRepository.incrementIssueRevision(projectId);
+	}
+
+	@Override
+	public long getProjectsFingerprint(User user) {
+		long fingerprint = 1;
+		for (Object[] row : projectRepository.findVersionsByTeamOrOwner(user)) {
+			fingerprint = 31 * fingerprint + (Long) row[0];
+			fingerprint = 31 * fingerprint + (Long) row[1];
+		}
+		return fingerprint;
+	}
+
+	@Override
+	public Project updateProject(Project updatedProject, Long id, Long expectedVersion) throws ProjectException, VersionConflictException {
 		Project project = getProjectById(id);
 
 		if (project != null) {
+			if (expectedVersion != null && !expectedVersion.equals(project.getVersion())) {
+				throw new VersionConflictException("Project " + id + " was modified, current version is " + project.getVersion());
+			}
 			// Update the existing project with the fields from updatedProject
 			if (updatedProject.getName() != null) {
 				project.setName(updatedProject.getName());
@@ -145,12 +252,14 @@ public class ProjectServiceImpl implements ProjectService {
 				project.getChat().getUsers().add(user);
 				project.getTeam().add(user);
 				projectRepository.save(project);
+				chatAccessService.projectChanged(projectId);
 			}
 
 
 	    }
 
 	@Override
+	@Transactional
 	public void removeUserFromProject(Long projectId, Long userId) throws UserException, ProjectException {
 		Project project = projectRepository.findById(projectId)
 				.orElseThrow(() -> new ProjectException("project not found"));
@@ -159,6 +268,7 @@ public class ProjectServiceImpl implements ProjectService {
 		if (project.getTeam().contains(user)) {
 			project.getTeam().remove(user);
 			project.getChat().getUsers().remove(user);
+			chatAccessService.projectChanged(projectId);
 		}
 
 	}
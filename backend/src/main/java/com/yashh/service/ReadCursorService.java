@@ -0,0 +1,12 @@
+package com.yashh.service;
+
+import java.util.List;
+
+import com.yashh.response.UnreadCountResponse;
+
+public interface ReadCursorService {
+
+	void markRead(Long userId, Long chatId, Long seq);
+
+	List<UnreadCountResponse> getUnreadCounts(Long userId);
+}
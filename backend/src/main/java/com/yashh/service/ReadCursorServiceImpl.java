@@ -0,0 +1,131 @@
+package com.yashh.service;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import com.yashh.repository.ReadCursorRepository;
+import com.yashh.response.UnreadCountResponse;
+
+import jakarta.annotation.PreDestroy;
+
+/**
+ * Read cursors of every user, held in memory next to the chats' last seq
+ * so an unread count is a subtraction. Acks only move the cursor forward
+ * and mark it; the flush writes each marked cursor once with whatever
+ * value it has by then, however many acks came in between.
+ */
+@Service
+public class ReadCursorServiceImpl implements ReadCursorService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReadCursorServiceImpl.class);
+
+	private static final long FLUSH_INTERVAL_MILLIS = 1000;
+	private static final int FLUSH_BATCH_SIZE = 500;
+
+	// GREATEST keeps the row from going back should two flushes ever overlap
+	private static final String UPSERT_CURSOR = "INSERT INTO read_cursors (user_id, chat_id, last_read_seq) VALUES (?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE last_read_seq = GREATEST(last_read_seq, VALUES(last_read_seq))";
+
+	@Autowired
+	private ReadCursorRepository readCursorRepository;
+
+	@Autowired
+	private MessageService messageService;
+
+	@Autowired
+	private ChatAccessService chatAccessService;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// user id -> chat id -> seq of the last message read
+	private final Map<Long, Map<Long, AtomicLong>> cursors = new ConcurrentHashMap<>();
+	// moved since their last write
+	private final Set<CursorKey> dirty = ConcurrentHashMap.newKeySet();
+
+	@EventListener(ApplicationReadyEvent.class)
+	public void load() {
+		List<Object[]> rows = readCursorRepository.findAllCursors();
+		for (Object[] row : rows) {
+			// an ack that came in while this ran is already ahead of the row
+			cursorOf((Long) row[0], (Long) row[1]).accumulateAndGet((Long) row[2], Math::max);
+		}
+		log.info("Loaded {} read cursors", rows.size());
+	}
+
+	@Override
+	public void markRead(Long userId, Long chatId, Long seq) {
+		if (userId == null || chatId == null || seq == null || seq <= 0) {
+			return;
+		}
+		// nobody can have read past the last message
+		long read = Math.min(seq, messageService.getLastSeq(chatId));
+		if (cursorOf(userId, chatId).getAndAccumulate(read, Math::max) < read) {
+			dirty.add(new CursorKey(userId, chatId));
+		}
+	}
+
+	@Override
+	public List<UnreadCountResponse> getUnreadCounts(Long userId) {
+		Map<Long, AtomicLong> read = cursors.getOrDefault(userId, Map.of());
+		List<UnreadCountResponse> counts = new ArrayList<>();
+		for (Map.Entry<Long, Long> chat : chatAccessService.getProjectIdsByChat(userId).entrySet()) {
+			AtomicLong cursor = read.get(chat.getKey());
+			long lastReadSeq = cursor == null ? 0 : cursor.get();
+			long unread = Math.max(0, messageService.getLastSeq(chat.getKey()) - lastReadSeq);
+			counts.add(new UnreadCountResponse(chat.getValue(), chat.getKey(), lastReadSeq, unread));
+		}
+		return counts;
+	}
+
+	@Scheduled(fixedDelay = FLUSH_INTERVAL_MILLIS)
+	@PreDestroy
+	public synchronized void flush() {
+		List<CursorKey> batch = new ArrayList<>(FLUSH_BATCH_SIZE);
+		for (Iterator<CursorKey> it = dirty.iterator(); it.hasNext();) {
+			batch.add(it.next());
+			// removed before the value is read, an ack landing after that marks the cursor again
+			it.remove();
+			if (batch.size() == FLUSH_BATCH_SIZE || !it.hasNext()) {
+				try {
+					write(batch);
+				} catch (DataAccessException e) {
+					dirty.addAll(batch);
+					log.warn("Read cursor flush failed, retrying {} cursors later", dirty.size(), e);
+					return;
+				}
+				batch.clear();
+			}
+		}
+	}
+
+	private void write(List<CursorKey> batch) {
+		jdbcTemplate.batchUpdate(UPSERT_CURSOR, batch, batch.size(), (ps, key) -> {
+			ps.setLong(1, key.userId());
+			ps.setLong(2, key.chatId());
+			ps.setLong(3, cursorOf(key.userId(), key.chatId()).get());
+		});
+	}
+
+	private AtomicLong cursorOf(Long userId, Long chatId) {
+		return cursors.computeIfAbsent(userId, id -> new ConcurrentHashMap<>()).computeIfAbsent(chatId, id -> new AtomicLong());
+	}
+
+	private record CursorKey(Long userId, Long chatId) {
+	}
+}
@@ -0,0 +1,13 @@
+package com.yashh.service;
+
+import com.yashh.model.Issue;
+
+public interface ReminderService {
+
+	void scheduleReminder(Issue issue);
+
+	void cancelReminder(Long issueId);
+
+	int getScheduledReminderCount();
+
+}
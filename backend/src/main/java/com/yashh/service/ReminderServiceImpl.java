@@ -0,0 +1,155 @@
+package com.yashh.service;
+
+import java.time.LocalDate;
+import java.time.ZoneId;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.mail.MailException;
+import org.springframework.mail.SimpleMailMessage;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.model.Issue;
+import com.yashh.repository.IssueRepository;
+import com.yashh.util.HierarchicalTimingWheel;
+
+@Service
+public class ReminderServiceImpl implements ReminderService {
+
+	private static final Logger log = LoggerFactory.getLogger(ReminderServiceImpl.class);
+
+	private static final long TICK_MILLIS = 60_000L;
+	private static final int WHEEL_LEVELS = 4;
+	private static final int FIRE_BATCH_SIZE = 500;
+	private static final int LOAD_PAGE_SIZE = 10_000;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private NotificationServiceImpl notificationServiceImpl;
+
+	@Value("${reminder.lead-hours:24}")
+	private long leadHours;
+
+	private final ZoneId zone = ZoneId.systemDefault();
+
+	// one tick per minute, 4 levels of 64 slots cover ~31 years before overflow
+	private final HierarchicalTimingWheel<Long> wheel =
+			new HierarchicalTimingWheel<>(WHEEL_LEVELS, System.currentTimeMillis() / TICK_MILLIS);
+
+	// keyset scan in fixed pages so startup never holds more than one page of rows
+	@EventListener(ApplicationReadyEvent.class)
+	public void loadUpcomingReminders() {
+		LocalDate today = LocalDate.now(zone);
+		Long afterId = 0L;
+		List<Object[]> page;
+		do {
+			page = issueRepository.findOpenDueDatesAfter(afterId, today, Issue.STATUS_DONE, PageRequest.of(0, LOAD_PAGE_SIZE));
+			for (Object[] row : page) {
+				afterId = (Long) row[0];
+				schedule(afterId, (LocalDate) row[1]);
+			}
+		} while (page.size() == LOAD_PAGE_SIZE);
+		log.info("Loaded {} reminders", getScheduledReminderCount());
+	}
+
+	// the wheel only follows committed issues, a rolled back save leaves it as it was
+	@Override
+	public void scheduleReminder(Issue issue) {
+		Long issueId = issue.getId();
+		LocalDate dueDate = Issue.STATUS_DONE.equals(issue.getStatus()) ? null : issue.getDueDate();
+		afterCommit(() -> {
+			if (dueDate == null) {
+				cancel(issueId);
+			} else {
+				schedule(issueId, dueDate);
+			}
+		});
+	}
+
+	@Override
+	public void cancelReminder(Long issueId) {
+		afterCommit(() -> cancel(issueId));
+	}
+
+	@Override
+	public int getScheduledReminderCount() {
+		synchronized (wheel) {
+			return wheel.size();
+		}
+	}
+
+	@Scheduled(fixedDelay = TICK_MILLIS)
+	public void fireDueReminders() {
+		List<Long> expired;
+		synchronized (wheel) {
+			expired = wheel.advanceTo(System.currentTimeMillis() / TICK_MILLIS);
+		}
+		for (int from = 0; from < expired.size(); from += FIRE_BATCH_SIZE) {
+			List<Long> batch = expired.subList(from, Math.min(from + FIRE_BATCH_SIZE, expired.size()));
+			sendReminders(issueRepository.findAllById(batch));
+		}
+	}
+
+	// a reminder time the wheel has already passed was sent or missed, placing it again would resend it on every save and restart
+	private void schedule(Long issueId, LocalDate dueDate) {
+		long remindTick = dueDate.atStartOfDay(zone).minusHours(leadHours).toInstant().toEpochMilli() / TICK_MILLIS;
+		synchronized (wheel) {
+			if (remindTick <= wheel.getCurrentTick()) {
+				wheel.cancel(issueId);
+			} else {
+				wheel.schedule(issueId, remindTick, issueId);
+			}
+		}
+	}
+
+	private void cancel(Long issueId) {
+		synchronized (wheel) {
+			wheel.cancel(issueId);
+		}
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private void sendReminders(List<Issue> issues) {
+		List<SimpleMailMessage> messages = new ArrayList<>();
+		for (Issue issue : issues) {
+			if (issue.getAssignee() == null || Issue.STATUS_DONE.equals(issue.getStatus())) {
+				continue;
+			}
+			SimpleMailMessage message = new SimpleMailMessage();
+			message.setTo(issue.getAssignee().getEmail());
+			message.setSubject("Issue due on " + issue.getDueDate());
+			message.setText("Reminder: \"" + issue.getTitle() + "\" is due on " + issue.getDueDate());
+			messages.add(message);
+		}
+		try {
+			notificationServiceImpl.sendNotifications(messages);
+		} catch (MailException e) {
+			log.warn("Sending {} reminders failed", messages.size(), e);
+		}
+	}
+
+}
@@ -0,0 +1,27 @@
+package com.yashh.service;
+
+import java.util.List;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.model.Issue;
+import com.yashh.model.User;
+import com.yashh.request.SavedFilterRequest;
+import com.yashh.response.KeysetPage;
+import com.yashh.response.SavedFilterResponse;
+
+public interface SavedFilterService {
+
+	SavedFilterResponse createFilter(User user, SavedFilterRequest request) throws IssueException, ProjectException;
+
+	List<SavedFilterResponse> getFilters(User user);
+
+	void deleteFilter(User user, Long filterId) throws IssueException;
+
+	KeysetPage<Issue> getFilterIssues(User user, Long filterId, Long beforeId, Integer limit) throws IssueException;
+
+	void issueChanged(Issue issue);
+
+	void issueRemoved(Long issueId);
+
+}
@@ -0,0 +1,174 @@
+package com.yashh.service;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.model.Issue;
+import com.yashh.model.Project;
+import com.yashh.model.SavedFilter;
+import com.yashh.model.User;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.ProjectRepository;
+import com.yashh.repository.SavedFilterRepository;
+import com.yashh.request.SavedFilterRequest;
+import com.yashh.response.KeysetPage;
+import com.yashh.response.SavedFilterResponse;
+import com.yashh.util.Dictionaries;
+import com.yashh.util.MaterializedFilter;
+
+@Service
+public class SavedFilterServiceImpl implements SavedFilterService {
+
+	private static final int MAX_FILTERS_PER_USER = 50;
+	private static final int DEFAULT_PAGE_SIZE = 50;
+	private static final int MAX_PAGE_SIZE = 200;
+
+	@Autowired
+	private SavedFilterRepository savedFilterRepository;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	// filter id -> matching issue ids, added on first use; writes before that are in what the load reads
+	private final Map<Long, MaterializedFilter> filters = new ConcurrentHashMap<>();
+
+	@Override
+	public SavedFilterResponse createFilter(User user, SavedFilterRequest request) throws IssueException, ProjectException {
+		if (request.getName() == null || request.getName().isBlank()) {
+			throw new IssueException("A saved filter needs a name");
+		}
+		if (request.getProjectId() == null) {
+			throw new IssueException("A saved filter needs a project");
+		}
+		Project project = projectRepository.findById(request.getProjectId())
+				.orElseThrow(() -> new ProjectException("No project exists with the id " + request.getProjectId()));
+		if (!project.getTeam().contains(user) && (project.getOwner() == null || !project.getOwner().getId().equals(user.getId()))) {
+			throw new ProjectException("You are not a member of project " + request.getProjectId());
+		}
+		if (request.getStatus() != null && !Dictionaries.STATUS.contains(request.getStatus())) {
+			throw new IssueException("Unknown status " + request.getStatus());
+		}
+		if (request.getPriority() != null && !Dictionaries.PRIORITY.contains(request.getPriority())) {
+			throw new IssueException("Unknown priority " + request.getPriority());
+		}
+		if (savedFilterRepository.findByUserIdOrderById(user.getId()).size() >= MAX_FILTERS_PER_USER) {
+			throw new IssueException("At most " + MAX_FILTERS_PER_USER + " saved filters per user");
+		}
+		String title = request.getTitle() == null || request.getTitle().isBlank() ? null : request.getTitle();
+		SavedFilter filter = savedFilterRepository.save(new SavedFilter(null, user.getId(), request.getProjectId(), request.getName(), title,
+				request.getStatus(), request.getPriority(), request.getAssigneeId(), LocalDateTime.now()));
+		return toResponse(filter);
+	}
+
+	@Override
+	public List<SavedFilterResponse> getFilters(User user) {
+		List<SavedFilterResponse> responses = new ArrayList<>();
+		for (SavedFilter filter : savedFilterRepository.findByUserIdOrderById(user.getId())) {
+			responses.add(toResponse(filter));
+		}
+		return responses;
+	}
+
+	@Override
+	public void deleteFilter(User user, Long filterId) throws IssueException {
+		SavedFilter filter = getOwnFilter(user, filterId);
+		savedFilterRepository.delete(filter);
+		filters.remove(filterId);
+	}
+
+	// one lookup into the in-memory set plus the fetch of the page's issues
+	@Override
+	public KeysetPage<Issue> getFilterIssues(User user, Long filterId, Long beforeId, Integer limit) throws IssueException {
+		SavedFilter filter = getOwnFilter(user, filterId);
+		int pageSize = limit == null ? DEFAULT_PAGE_SIZE : Math.max(1, Math.min(limit, MAX_PAGE_SIZE));
+		List<Long> ids = materialized(filter).page(loader(filter), beforeId, pageSize + 1);
+		Long nextCursor = null;
+		if (ids.size() > pageSize) {
+			ids = ids.subList(0, pageSize);
+			nextCursor = ids.get(pageSize - 1);
+		}
+		Map<Long, Issue> byId = new HashMap<>();
+		for (Issue issue : issueRepository.findAllById(ids)) {
+			byId.put(issue.getId(), issue);
+		}
+		List<Issue> issues = new ArrayList<>(ids.size());
+		for (Long id : ids) {
+			Issue issue = byId.get(id);
+			if (issue != null) {
+				issues.add(issue);
+			}
+		}
+		return new KeysetPage<>(issues, nextCursor);
+	}
+
+	@Override
+	public void issueChanged(Issue issue) {
+		long issueId = issue.getId();
+		Long projectId = issue.getProject() == null ? null : issue.getProject().getId();
+		String title = issue.getTitle();
+		String status = issue.getStatus();
+		String priority = issue.getPriority();
+		Long assigneeId = issue.getAssignee() == null ? null : issue.getAssignee().getId();
+		afterCommit(filter -> filter.apply(issueId, filter.matches(projectId, title, status, priority, assigneeId)));
+	}
+
+	@Override
+	public void issueRemoved(Long issueId) {
+		afterCommit(filter -> filter.apply(issueId, false));
+	}
+
+	// filters loaded before the commit did not see the write, so they get it even when none existed at write time
+	private void afterCommit(Consumer<MaterializedFilter> change) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					filters.values().forEach(change);
+				}
+			});
+		} else {
+			filters.values().forEach(change);
+		}
+	}
+
+	private MaterializedFilter materialized(SavedFilter filter) {
+		return filters.computeIfAbsent(filter.getId(), id -> new MaterializedFilter(filter.getProjectId(), filter.getTitle(), filter.getStatus(),
+				filter.getPriority(), filter.getAssigneeId()));
+	}
+
+	private Supplier<List<Long>> loader(SavedFilter filter) {
+		return () -> issueRepository.searchIssueIds(filter.getProjectId(), filter.getTitle() == null ? null : filter.getTitle().toLowerCase(),
+				filter.getStatus(), filter.getPriority(), filter.getAssigneeId());
+	}
+
+	private SavedFilterResponse toResponse(SavedFilter filter) {
+		return new SavedFilterResponse(filter.getId(), filter.getName(), filter.getProjectId(), filter.getTitle(), filter.getStatus(),
+				filter.getPriority(), filter.getAssigneeId(), materialized(filter).size(loader(filter)));
+	}
+
+	private SavedFilter getOwnFilter(User user, Long filterId) throws IssueException {
+		SavedFilter filter = savedFilterRepository.findById(filterId)
+				.orElseThrow(() -> new IssueException("No saved filter found with id " + filterId));
+		if (!filter.getUserId().equals(user.getId())) {
+			throw new IssueException("No saved filter found with id " + filterId);
+		}
+		return filter;
+	}
+
+}
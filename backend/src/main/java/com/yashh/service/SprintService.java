@@ -0,0 +1,38 @@
+package com.yashh.service;
+
+import java.util.List;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.SprintException;
+import com.yashh.model.Issue;
+import com.yashh.model.Sprint;
+import com.yashh.request.SprintRequest;
+import com.yashh.response.BurndownResponse;
+import com.yashh.response.SprintVelocityResponse;
+
+public interface SprintService {
+
+	Sprint createSprint(SprintRequest request) throws SprintException, ProjectException;
+
+	List<Sprint> getSprintsByProjectId(Long projectId);
+
+	void deleteSprint(Long sprintId) throws SprintException;
+
+	int addIssues(Long sprintId, List<Long> issueIds) throws SprintException;
+
+	void removeIssue(Long sprintId, Long issueId) throws SprintException;
+
+	BurndownResponse getBurndown(Long sprintId) throws SprintException;
+
+	List<SprintVelocityResponse> getVelocity(Long projectId, Integer limit);
+
+	void checkSprint(Long projectId, Long sprintId) throws IssueException;
+
+	void issueChanged(Long oldSprintId, String oldStatus, Issue issue);
+
+	void issueRemoved(Issue issue);
+
+	void projectDeleted(Long projectId);
+
+}
@@ -0,0 +1,292 @@
+package com.yashh.service;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import com.yashh.domain.IssueField;
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.exception.SprintException;
+import com.yashh.model.Issue;
+import com.yashh.model.Sprint;
+import com.yashh.model.SprintDayStat;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.ProjectRepository;
+import com.yashh.repository.SprintDayStatRepository;
+import com.yashh.repository.SprintRepository;
+import com.yashh.request.SprintRequest;
+import com.yashh.response.BurndownResponse;
+import com.yashh.response.SprintVelocityResponse;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class SprintServiceImpl implements SprintService {
+
+	private static final int DEFAULT_VELOCITY_SPRINTS = 6;
+
+	@Autowired
+	private SprintRepository sprintRepository;
+
+	@Autowired
+	private SprintDayStatRepository sprintDayStatRepository;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	// not ProjectService, which deletes a project's sprints through this service
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private IssueHistoryService issueHistoryService;
+
+	@Autowired
+	private IssueAnalyticsService issueAnalyticsService;
+
+	@Autowired
+	private SavedFilterService savedFilterService;
+
+	@Autowired
+	private HomeService homeService;
+
+	// sprint dates are read on every issue write that touches a sprint
+	private final Map<Long, Sprint> sprints = new ConcurrentHashMap<>();
+
+	@Override
+	public Sprint createSprint(SprintRequest request) throws SprintException, ProjectException {
+		if (request.getProjectId() == null || !projectRepository.existsById(request.getProjectId())) {
+			throw new ProjectException("No project exists with the id " + request.getProjectId());
+		}
+		if (request.getStartDate() == null || request.getEndDate() == null || request.getEndDate().isBefore(request.getStartDate())) {
+			throw new SprintException("A sprint needs a start date and an end date that is not before it");
+		}
+		return sprintRepository.save(new Sprint(null, request.getProjectId(), request.getName(), request.getStartDate(), request.getEndDate()));
+	}
+
+	@Override
+	public List<Sprint> getSprintsByProjectId(Long projectId) {
+		return sprintRepository.findByProjectIdOrderByStartDateDesc(projectId);
+	}
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void deleteSprint(Long sprintId) throws SprintException {
+		Sprint sprint = getSprintOrThrow(sprintId);
+		issueRepository.clearSprint(sprintId);
+		sprintDayStatRepository.deleteBySprintId(sprintId);
+		sprintRepository.delete(sprint);
+		afterCommit(() -> sprints.remove(sprintId));
+		projectRepository.incrementIssueRevision(sprint.getProjectId());
+	}
+
+	/**
+	 * Moves the issues into the sprint, counters are summed over the whole
+	 * batch and written once per affected sprint.
+	 */
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public int addIssues(Long sprintId, List<Long> issueIds) throws SprintException {
+		Sprint sprint = getSprintOrThrow(sprintId);
+		List<Issue> issues = issueRepository.findAllById(issueIds);
+		Set<Long> unknown = new TreeSet<>(issueIds);
+		for (Issue issue : issues) {
+			unknown.remove(issue.getId());
+		}
+		if (!unknown.isEmpty()) {
+			throw new SprintException("No issues found with ids " + unknown);
+		}
+		for (Issue issue : issues) {
+			if (!sprint.getProjectId().equals(issue.getProject().getId())) {
+				throw new SprintException("Issue " + issue.getId() + " belongs to another project than sprint " + sprintId);
+			}
+		}
+
+		Map<Long, int[]> deltas = new TreeMap<>();
+		int moved = 0;
+		for (Issue issue : issues) {
+			if (sprintId.equals(issue.getSprintId())) {
+				continue;
+			}
+			Map<IssueField, String> before = issueHistoryService.snapshot(issue);
+			collectDeltas(deltas, issue.getSprintId(), issue.getStatus(), sprintId, issue.getStatus());
+			issue.setSprintId(sprintId);
+			issueMoved(before, issue);
+			moved++;
+		}
+		writeDeltas(deltas);
+		if (moved > 0) {
+			projectRepository.incrementIssueRevision(sprint.getProjectId());
+		}
+		return moved;
+	}
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void removeIssue(Long sprintId, Long issueId) throws SprintException {
+		Issue issue = issueRepository.findById(issueId)
+				.orElseThrow(() -> new SprintException("No issues found with issueid" + issueId));
+		if (!sprintId.equals(issue.getSprintId())) {
+			throw new SprintException("Issue " + issueId + " is not part of sprint " + sprintId);
+		}
+		Map<IssueField, String> before = issueHistoryService.snapshot(issue);
+		issue.setSprintId(null);
+		issueChanged(sprintId, issue.getStatus(), issue);
+		issueMoved(before, issue);
+		projectRepository.incrementIssueRevision(issue.getProject().getId());
+	}
+
+	// running sums over the day rows, O(days) and no issue is read
+	@Override
+	public BurndownResponse getBurndown(Long sprintId) throws SprintException {
+		Sprint sprint = getSprintOrThrow(sprintId);
+		LocalDate today = LocalDate.now();
+		LocalDate last = today.isBefore(sprint.getEndDate()) ? today : sprint.getEndDate();
+
+		List<BurndownResponse.Day> days = new ArrayList<>();
+		int scope = 0;
+		int done = 0;
+		int next = 0;
+		List<SprintDayStat> stats = sprintDayStatRepository.findBySprintIdOrderByStatDate(sprintId);
+		for (LocalDate date = sprint.getStartDate(); !date.isAfter(last); date = date.plusDays(1)) {
+			int completed = 0;
+			while (next < stats.size() && !stats.get(next).getStatDate().isAfter(date)) {
+				scope += stats.get(next).getScopeDelta();
+				completed += stats.get(next).getDoneDelta();
+				next++;
+			}
+			done += completed;
+			days.add(new BurndownResponse.Day(date, scope, scope - done, completed));
+		}
+		return new BurndownResponse(sprintId, sprint.getStartDate(), sprint.getEndDate(), days);
+	}
+
+	@Override
+	public List<SprintVelocityResponse> getVelocity(Long projectId, Integer limit) {
+		return sprintRepository.findVelocityByProjectId(projectId,
+				PageRequest.of(0, limit == null || limit < 1 ? DEFAULT_VELOCITY_SPRINTS : limit));
+	}
+
+	@Override
+	public void checkSprint(Long projectId, Long sprintId) throws IssueException {
+		if (sprintId == null) {
+			return;
+		}
+		Sprint sprint = getSprint(sprintId);
+		if (sprint == null || !sprint.getProjectId().equals(projectId)) {
+			throw new IssueException("Sprint " + sprintId + " does not exist in project " + projectId);
+		}
+	}
+
+	@Override
+	public void issueChanged(Long oldSprintId, String oldStatus, Issue issue) {
+		Map<Long, int[]> deltas = new TreeMap<>();
+		collectDeltas(deltas, oldSprintId, oldStatus, issue.getSprintId(), issue.getStatus());
+		writeDeltas(deltas);
+	}
+
+	@Override
+	public void issueRemoved(Issue issue) {
+		Map<Long, int[]> deltas = new TreeMap<>();
+		collectDeltas(deltas, issue.getSprintId(), issue.getStatus(), null, null);
+		writeDeltas(deltas);
+	}
+
+	@Override
+	public void projectDeleted(Long projectId) {
+		sprintDayStatRepository.deleteByProjectId(projectId);
+		sprintRepository.deleteByProjectId(projectId);
+		afterCommit(() -> sprints.values().removeIf(sprint -> projectId.equals(sprint.getProjectId())));
+	}
+
+	// the hooks a sprintId write through IssueService runs besides the counters
+	private void issueMoved(Map<IssueField, String> before, Issue issue) {
+		issueHistoryService.recordChanges(before, issue, false);
+		issueAnalyticsService.issueChanged(issue);
+		savedFilterService.issueChanged(issue);
+		homeService.issueChanged(issue);
+	}
+
+	private void collectDeltas(Map<Long, int[]> deltas, Long oldSprintId, String oldStatus, Long newSprintId, String newStatus) {
+		boolean wasDone = Issue.STATUS_DONE.equals(oldStatus);
+		boolean isDone = Issue.STATUS_DONE.equals(newStatus);
+		if (Objects.equals(oldSprintId, newSprintId)) {
+			if (newSprintId != null && wasDone != isDone) {
+				deltas.computeIfAbsent(newSprintId, id -> new int[2])[1] += isDone ? 1 : -1;
+			}
+			return;
+		}
+		if (oldSprintId != null) {
+			int[] delta = deltas.computeIfAbsent(oldSprintId, id -> new int[2]);
+			delta[0]--;
+			delta[1] -= wasDone ? 1 : 0;
+		}
+		if (newSprintId != null) {
+			int[] delta = deltas.computeIfAbsent(newSprintId, id -> new int[2]);
+			delta[0]++;
+			delta[1] += isDone ? 1 : 0;
+		}
+	}
+
+	// one upsert per sprint, in ascending sprint id order so writers touching several sprints lock rows alike
+	private void writeDeltas(Map<Long, int[]> deltas) {
+		LocalDate today = LocalDate.now();
+		for (Map.Entry<Long, int[]> delta : deltas.entrySet()) {
+			int[] value = delta.getValue();
+			Sprint sprint = getSprint(delta.getKey());
+			if (sprint == null || (value[0] == 0 && value[1] == 0)) {
+				continue;
+			}
+			// before the start counts as commitment, after the end as the last day
+			LocalDate day = today.isBefore(sprint.getStartDate()) ? sprint.getStartDate()
+					: today.isAfter(sprint.getEndDate()) ? sprint.getEndDate() : today;
+			sprintDayStatRepository.addDeltas(sprint.getId(), day, value[0], value[1]);
+		}
+	}
+
+	private Sprint getSprint(Long sprintId) {
+		Sprint sprint = sprints.get(sprintId);
+		if (sprint == null) {
+			sprint = sprintRepository.findById(sprintId).orElse(null);
+			if (sprint != null) {
+				sprints.put(sprintId, sprint);
+			}
+		}
+		return sprint;
+	}
+
+	private static void afterCommit(Runnable action) {
+		if (TransactionSynchronizationManager.isSynchronizationActive()) {
+			TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronization() {
+				@Override
+				public void afterCommit() {
+					action.run();
+				}
+			});
+		} else {
+			action.run();
+		}
+	}
+
+	private Sprint getSprintOrThrow(Long sprintId) throws SprintException {
+		Sprint sprint = getSprint(sprintId);
+		if (sprint == null) {
+			throw new SprintException("No sprint found with id " + sprintId);
+		}
+		return sprint;
+	}
+
+}
@@ -0,0 +1,20 @@
+package com.yashh.service;
+
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.request.WorkflowRequest;
+import com.yashh.response.WorkflowResponse;
+
+public interface WorkflowService {
+
+	WorkflowResponse getWorkflow(Long projectId) throws ProjectException;
+
+	WorkflowResponse updateWorkflow(Long projectId, WorkflowRequest request) throws ProjectException;
+
+	void checkStatus(Long projectId, String status) throws IssueException;
+
+	void checkPriority(Long projectId, String priority) throws IssueException;
+
+	void registerCategory(String category);
+
+}
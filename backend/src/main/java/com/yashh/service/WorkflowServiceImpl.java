@@ -0,0 +1,288 @@
+package com.yashh.service;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.dao.DataAccessException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Service;
+
+import com.yashh.domain.DictionaryKind;
+import com.yashh.exception.IssueException;
+import com.yashh.exception.ProjectException;
+import com.yashh.model.DictionaryValue;
+import com.yashh.model.Issue;
+import com.yashh.model.WorkflowValue;
+import com.yashh.repository.DictionaryValueRepository;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.ProjectRepository;
+import com.yashh.repository.WorkflowValueRepository;
+import com.yashh.request.WorkflowRequest;
+import com.yashh.response.WorkflowResponse;
+import com.yashh.util.CodeDictionary;
+import com.yashh.util.Dictionaries;
+
+import jakarta.annotation.PostConstruct;
+import jakarta.transaction.Transactional;
+
+@Service
+public class WorkflowServiceImpl implements WorkflowService {
+
+	private static final Logger log = LoggerFactory.getLogger(WorkflowServiceImpl.class);
+
+	private static final List<String> DEFAULT_STATUSES = List.of("pending", "in_progress", Issue.STATUS_DONE);
+	private static final List<String> DEFAULT_PRIORITIES = List.of("low", "medium", "high");
+	private static final List<String> DEFAULT_CATEGORIES = List.of("fullstack", "frontend", "backend");
+
+	@Autowired
+	private DictionaryValueRepository dictionaryValueRepository;
+
+	@Autowired
+	private WorkflowValueRepository workflowValueRepository;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private ProjectRepository projectRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	// allowed names per project, projects without workflow rows get the defaults
+	private final Map<Long, Workflow> workflows = new ConcurrentHashMap<>();
+
+	/**
+	 * Fills the dictionaries before anything reads an encoded column and
+	 * converts rows still carrying the old string columns.
+	 */
+	@PostConstruct
+	public void loadDictionaries() {
+		reloadDictionaries();
+		DEFAULT_STATUSES.forEach(name -> register(DictionaryKind.STATUS, name));
+		DEFAULT_PRIORITIES.forEach(name -> register(DictionaryKind.PRIORITY, name));
+		DEFAULT_CATEGORIES.forEach(name -> register(DictionaryKind.CATEGORY, name));
+
+		migrateLegacyColumn(DictionaryKind.STATUS, "issues", "status", "status_code");
+		migrateLegacyColumn(DictionaryKind.PRIORITY, "issues", "priority", "priority_code");
+		migrateLegacyColumn(DictionaryKind.CATEGORY, "project", "category", "category_code");
+	}
+
+	@Override
+	public WorkflowResponse getWorkflow(Long projectId) throws ProjectException {
+		checkProject(projectId);
+		Workflow workflow = getWorkflowFor(projectId);
+		return new WorkflowResponse(projectId, workflow.statuses(), workflow.priorities());
+	}
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public WorkflowResponse updateWorkflow(Long projectId, WorkflowRequest request) throws ProjectException {
+		checkProject(projectId);
+		Workflow current = getWorkflowFor(projectId);
+		List<String> statuses = request.getStatuses() == null ? current.statuses() : distinct(request.getStatuses(), "status");
+		List<String> priorities = request.getPriorities() == null ? current.priorities() : distinct(request.getPriorities(), "priority");
+		if (!statuses.contains(Issue.STATUS_DONE)) {
+			throw new ProjectException("The workflow needs the " + Issue.STATUS_DONE + " status");
+		}
+		if (priorities.isEmpty()) {
+			throw new ProjectException("The workflow needs at least one priority");
+		}
+		checkUnused(projectId, current.statuses(), statuses, "status");
+		checkUnused(projectId, current.priorities(), priorities, "priority");
+
+		workflowValueRepository.deleteByProjectId(projectId);
+		List<WorkflowValue> rows = new ArrayList<>();
+		for (int i = 0; i < statuses.size(); i++) {
+			rows.add(new WorkflowValue(null, projectId, DictionaryKind.STATUS, register(DictionaryKind.STATUS, statuses.get(i)), i));
+		}
+		for (int i = 0; i < priorities.size(); i++) {
+			rows.add(new WorkflowValue(null, projectId, DictionaryKind.PRIORITY, register(DictionaryKind.PRIORITY, priorities.get(i)), i));
+		}
+		workflowValueRepository.saveAll(rows);
+		workflows.put(projectId, new Workflow(statuses, priorities));
+		return new WorkflowResponse(projectId, statuses, priorities);
+	}
+
+	@Override
+	public void checkStatus(Long projectId, String status) throws IssueException {
+		if (status != null && !getWorkflowFor(projectId).statuses().contains(status)) {
+			throw new IssueException("Status " + status + " is not part of the workflow of project " + projectId
+					+ ", allowed: " + getWorkflowFor(projectId).statuses());
+		}
+	}
+
+	@Override
+	public void checkPriority(Long projectId, String priority) throws IssueException {
+		if (priority != null && !getWorkflowFor(projectId).priorities().contains(priority)) {
+			throw new IssueException("Priority " + priority + " is not part of the workflow of project " + projectId
+					+ ", allowed: " + getWorkflowFor(projectId).priorities());
+		}
+	}
+
+	@Override
+	public void registerCategory(String category) {
+		if (category != null) {
+			register(DictionaryKind.CATEGORY, category);
+		}
+	}
+
+	private Workflow getWorkflowFor(Long projectId) {
+		return workflows.computeIfAbsent(projectId, this::loadWorkflow);
+	}
+
+	private Workflow loadWorkflow(Long projectId) {
+		List<String> statuses = new ArrayList<>();
+		List<String> priorities = new ArrayList<>();
+		for (WorkflowValue value : workflowValueRepository.findByProjectIdOrderByPosition(projectId)) {
+			if (value.getKind() == DictionaryKind.STATUS) {
+				statuses.add(Dictionaries.STATUS.decode(value.getCode()));
+			} else {
+				priorities.add(Dictionaries.PRIORITY.decode(value.getCode()));
+			}
+		}
+		return new Workflow(statuses.isEmpty() ? DEFAULT_STATUSES : List.copyOf(statuses),
+				priorities.isEmpty() ? DEFAULT_PRIORITIES : List.copyOf(priorities));
+	}
+
+	private synchronized short register(DictionaryKind kind, String name) {
+		CodeDictionary dictionary = Dictionaries.of(kind);
+		Short code = dictionary.encode(name);
+		if (code != null) {
+			return code;
+		}
+		try {
+			DictionaryValue value = dictionaryValueRepository.save(new DictionaryValue(null, kind, dictionary.nextCode(), name));
+			dictionary.put(value.getCode(), value.getName());
+			return value.getCode();
+		} catch (DataIntegrityViolationException e) {
+			// registered concurrently elsewhere, take whatever is stored now
+			reloadDictionaries();
+			code = dictionary.encode(name);
+			if (code == null) {
+				throw e;
+			}
+			return code;
+		}
+	}
+
+	private void reloadDictionaries() {
+		for (DictionaryValue value : dictionaryValueRepository.findAll()) {
+			Dictionaries.of(value.getKind()).put(value.getCode(), value.getName());
+		}
+	}
+
+	/**
+	 * Encodes the values left in an old string column and clears it. Issue
+	 * values outside their project's workflow are added to it so existing
+	 * issues stay valid.
+	 */
+	private void migrateLegacyColumn(DictionaryKind kind, String table, String legacyColumn, String codeColumn) {
+		boolean perProject = kind != DictionaryKind.CATEGORY;
+		List<Object[]> rows;
+		try {
+			rows = jdbcTemplate.query("SELECT DISTINCT " + (perProject ? "project_id" : "NULL") + ", " + legacyColumn
+					+ " FROM " + table + " WHERE " + legacyColumn + " IS NOT NULL AND " + codeColumn + " IS NULL",
+					(rs, rowNum) -> new Object[] { rs.getObject(1) == null ? null : rs.getLong(1), rs.getString(2) });
+		} catch (DataAccessException e) {
+			// fresh schema or column already dropped
+			return;
+		}
+		if (rows.isEmpty()) {
+			return;
+		}
+
+		Map<Long, Set<String>> extras = new LinkedHashMap<>();
+		Set<String> names = new LinkedHashSet<>();
+		List<String> defaults = kind == DictionaryKind.STATUS ? DEFAULT_STATUSES : DEFAULT_PRIORITIES;
+		for (Object[] row : rows) {
+			String name = (String) row[1];
+			if (name.isBlank()) {
+				continue;
+			}
+			names.add(name);
+			if (perProject && row[0] != null) {
+				Workflow workflow = getWorkflowFor((Long) row[0]);
+				if (!(kind == DictionaryKind.STATUS ? workflow.statuses() : workflow.priorities()).contains(name)) {
+					extras.computeIfAbsent((Long) row[0], id -> new LinkedHashSet<>()).add(name);
+				}
+			}
+		}
+		for (String name : names) {
+			short code = register(kind, name);
+			jdbcTemplate.update("UPDATE " + table + " SET " + codeColumn + " = ?, " + legacyColumn + " = NULL WHERE "
+					+ legacyColumn + " = ? AND " + codeColumn + " IS NULL", code, name);
+		}
+		jdbcTemplate.update("UPDATE " + table + " SET " + legacyColumn + " = NULL WHERE " + codeColumn + " IS NULL");
+
+		for (Map.Entry<Long, Set<String>> entry : extras.entrySet()) {
+			List<WorkflowValue> existing = workflowValueRepository.findByProjectIdOrderByPosition(entry.getKey());
+			Set<Short> codes = new HashSet<>();
+			int position = 0;
+			for (WorkflowValue value : existing) {
+				if (value.getKind() == kind) {
+					codes.add(value.getCode());
+					position = Math.max(position, value.getPosition() + 1);
+				}
+			}
+			List<WorkflowValue> added = new ArrayList<>();
+			List<String> wanted = new ArrayList<>(codes.isEmpty() ? defaults : List.of());
+			wanted.addAll(entry.getValue());
+			for (String name : wanted) {
+				short code = register(kind, name);
+				if (codes.add(code)) {
+					added.add(new WorkflowValue(null, entry.getKey(), kind, code, position++));
+				}
+			}
+			workflowValueRepository.saveAll(added);
+		}
+		workflows.clear();
+		log.info("Migrated {}.{} to {} workflow values", table, legacyColumn, names.size());
+	}
+
+	private void checkUnused(Long projectId, List<String> before, List<String> after, String field) throws ProjectException {
+		for (String name : before) {
+			if (!after.contains(name)) {
+				long used = field.equals("status")
+						? issueRepository.countByProjectAndStatus(projectId, name)
+						: issueRepository.countByProjectAndPriority(projectId, name);
+				if (used > 0) {
+					throw new ProjectException("Cannot remove " + field + " " + name + ", " + used + " issues still use it");
+				}
+			}
+		}
+	}
+
+	private void checkProject(Long projectId) throws ProjectException {
+		if (!projectRepository.existsById(projectId)) {
+			throw new ProjectException("No project exists with the id " + projectId);
+		}
+	}
+
+	private static List<String> distinct(List<String> names, String field) throws ProjectException {
+		Set<String> unique = new LinkedHashSet<>();
+		for (String name : names) {
+			if (name == null || name.isBlank()) {
+				throw new ProjectException("Empty " + field + " in workflow");
+			}
+			if (!unique.add(name.trim())) {
+				throw new ProjectException("Duplicate " + field + " " + name + " in workflow");
+			}
+		}
+		return List.copyOf(unique);
+	}
+
+	private record Workflow(List<String> statuses, List<String> priorities) {
+	}
+
+}
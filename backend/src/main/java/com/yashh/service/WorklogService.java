@@ -0,0 +1,30 @@
+package com.yashh.service;
+
+import java.time.LocalDate;
+import java.util.List;
+
+import com.yashh.domain.WorklogRollupKind;
+import com.yashh.exception.IssueException;
+import com.yashh.exception.WorklogException;
+import com.yashh.model.User;
+import com.yashh.model.Worklog;
+import com.yashh.request.WorklogRequest;
+import com.yashh.response.WorklogTotalResponse;
+
+public interface WorklogService {
+
+	Worklog logWork(Long issueId, WorklogRequest request, User user) throws WorklogException, IssueException;
+
+	Worklog updateWorklog(Long worklogId, WorklogRequest request, User user) throws WorklogException;
+
+	void deleteWorklog(Long worklogId, User user) throws WorklogException;
+
+	List<Worklog> getIssueWorklogs(Long issueId);
+
+	WorklogTotalResponse getTotal(WorklogRollupKind kind, Long ownerId);
+
+	List<WorklogTotalResponse> getWeeks(WorklogRollupKind kind, Long ownerId, LocalDate from, LocalDate to);
+
+	void issueRemoved(Long issueId);
+
+}
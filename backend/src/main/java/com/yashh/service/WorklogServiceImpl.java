@@ -0,0 +1,271 @@
+package com.yashh.service;
+
+import java.sql.Date;
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionTemplate;
+
+import com.yashh.domain.WorklogRollupKind;
+import com.yashh.exception.IssueException;
+import com.yashh.exception.WorklogException;
+import com.yashh.model.Issue;
+import com.yashh.model.User;
+import com.yashh.model.Worklog;
+import com.yashh.model.WorklogRollup;
+import com.yashh.repository.IssueRepository;
+import com.yashh.repository.WorklogRepository;
+import com.yashh.repository.WorklogRollupRepository;
+import com.yashh.request.WorklogRequest;
+import com.yashh.response.WorklogTotalResponse;
+
+import jakarta.transaction.Transactional;
+
+@Service
+public class WorklogServiceImpl implements WorklogService {
+
+	private static final Logger log = LoggerFactory.getLogger(WorklogServiceImpl.class);
+
+	private static final int MAX_MINUTES_PER_ENTRY = 24 * 60;
+	private static final int DEFAULT_WEEKS = 12;
+	private static final int RECONCILE_PARTITIONS = 4;
+
+	private static final String ADD_TO_ROLLUP = "INSERT INTO worklog_rollups (kind, owner_id, period, minutes, entries) VALUES (?, ?, ?, ?, ?) "
+			+ "ON DUPLICATE KEY UPDATE minutes = minutes + ?, entries = entries + ?";
+
+	@Autowired
+	private WorklogRepository worklogRepository;
+
+	@Autowired
+	private WorklogRollupRepository worklogRollupRepository;
+
+	@Autowired
+	private IssueRepository issueRepository;
+
+	@Autowired
+	private JdbcTemplate jdbcTemplate;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public Worklog logWork(Long issueId, WorklogRequest request, User user) throws WorklogException, IssueException {
+		Issue issue = issueRepository.findById(issueId)
+				.orElseThrow(() -> new IssueException("No issues found with issueid" + issueId));
+		checkRequest(request);
+		Worklog worklog = new Worklog(null, issueId, user.getId(), issue.getProject().getId(), request.getMinutes(),
+				request.getWorkDate(), weekStart(request.getWorkDate()), request.getNote(), LocalDateTime.now());
+		worklog = worklogRepository.save(worklog);
+
+		Map<RollupKey, long[]> deltas = new HashMap<>();
+		collectDeltas(deltas, worklog, 1);
+		writeDeltas(deltas);
+		return worklog;
+	}
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public Worklog updateWorklog(Long worklogId, WorklogRequest request, User user) throws WorklogException {
+		Worklog worklog = getOwnWorklog(worklogId, user);
+		checkRequest(request);
+		Map<RollupKey, long[]> deltas = new HashMap<>();
+		collectDeltas(deltas, worklog, -1);
+		worklog.setMinutes(request.getMinutes());
+		worklog.setWorkDate(request.getWorkDate());
+		worklog.setWeekStart(weekStart(request.getWorkDate()));
+		worklog.setNote(request.getNote());
+		collectDeltas(deltas, worklog, 1);
+		writeDeltas(deltas);
+		return worklogRepository.save(worklog);
+	}
+
+	@Override
+	@Transactional(rollbackOn = Exception.class)
+	public void deleteWorklog(Long worklogId, User user) throws WorklogException {
+		Worklog worklog = getOwnWorklog(worklogId, user);
+		Map<RollupKey, long[]> deltas = new HashMap<>();
+		collectDeltas(deltas, worklog, -1);
+		writeDeltas(deltas);
+		worklogRepository.delete(worklog);
+	}
+
+	@Override
+	public List<Worklog> getIssueWorklogs(Long issueId) {
+		return worklogRepository.findByIssueIdOrderByIdDesc(issueId);
+	}
+
+	@Override
+	public WorklogTotalResponse getTotal(WorklogRollupKind kind, Long ownerId) {
+		return worklogRollupRepository.findOne((short) kind.ordinal(), ownerId, WorklogRollup.ALL_TIME)
+				.map(rollup -> new WorklogTotalResponse(null, rollup.getMinutes(), rollup.getEntries()))
+				.orElse(new WorklogTotalResponse(null, 0, 0));
+	}
+
+	@Override
+	public List<WorklogTotalResponse> getWeeks(WorklogRollupKind kind, Long ownerId, LocalDate from, LocalDate to) {
+		LocalDate end = weekStart(to == null ? LocalDate.now() : to);
+		LocalDate start = from == null ? end.minusWeeks(DEFAULT_WEEKS - 1) : weekStart(from);
+		List<WorklogTotalResponse> weeks = new ArrayList<>();
+		for (WorklogRollup rollup : worklogRollupRepository.findRange((short) kind.ordinal(), ownerId, start, end)) {
+			weeks.add(new WorklogTotalResponse(rollup.getPeriod(), rollup.getMinutes(), rollup.getEntries()));
+		}
+		return weeks;
+	}
+
+	@Override
+	public void issueRemoved(Long issueId) {
+		List<Worklog> worklogs = worklogRepository.findByIssueIdOrderByIdDesc(issueId);
+		if (worklogs.isEmpty()) {
+			return;
+		}
+		Map<RollupKey, long[]> deltas = new HashMap<>();
+		for (Worklog worklog : worklogs) {
+			collectDeltas(deltas, worklog, -1);
+		}
+		writeDeltas(deltas);
+		worklogRepository.deleteAllInBatch(worklogs);
+	}
+
+	/**
+	 * Recomputes every rollup from the raw worklogs and repairs drift. The
+	 * owner ids are split into partitions checked in parallel, each one
+	 * reads worklogs and rollups from a single repeatable-read snapshot and
+	 * writes the difference back additively, so writes that land meanwhile
+	 * are never overwritten.
+	 */
+	@Scheduled(cron = "0 30 3 * * *")
+	public void reconcile() {
+		ExecutorService pool = Executors.newFixedThreadPool(RECONCILE_PARTITIONS);
+		try {
+			List<Future<Integer>> partitions = new ArrayList<>();
+			for (int partition = 0; partition < RECONCILE_PARTITIONS; partition++) {
+				int current = partition;
+				partitions.add(pool.submit(() -> reconcilePartition(current)));
+			}
+			int repaired = 0;
+			for (Future<Integer> partition : partitions) {
+				repaired += partition.get();
+			}
+			jdbcTemplate.update("DELETE FROM worklog_rollups WHERE minutes = 0 AND entries = 0");
+			log.info("Reconciled worklog rollups, repaired {}", repaired);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} catch (ExecutionException e) {
+			log.error("Worklog rollup reconciliation failed", e.getCause());
+		} finally {
+			pool.shutdown();
+		}
+	}
+
+	private int reconcilePartition(int partition) {
+		TransactionTemplate snapshot = new TransactionTemplate(transactionManager);
+		snapshot.setIsolationLevel(TransactionDefinition.ISOLATION_REPEATABLE_READ);
+		snapshot.setReadOnly(true);
+		Map<RollupKey, long[]> drift = snapshot.execute(status -> {
+			Map<RollupKey, long[]> differences = new HashMap<>();
+			for (WorklogRollupKind kind : WorklogRollupKind.values()) {
+				short code = (short) kind.ordinal();
+				String owner = kind.getOwnerColumn();
+				String groupBy = kind.isWeekly() ? owner + ", week_start" : owner;
+				jdbcTemplate.query("SELECT " + owner + ", " + (kind.isWeekly() ? "week_start" : "NULL")
+						+ ", SUM(minutes), COUNT(*) FROM worklogs WHERE MOD(" + owner + ", ?) = ? GROUP BY " + groupBy,
+						rs -> {
+							LocalDate period = rs.getObject(2, LocalDate.class);
+							add(differences, new RollupKey(code, rs.getLong(1), period == null ? WorklogRollup.ALL_TIME : period),
+									rs.getLong(3), rs.getInt(4));
+						}, RECONCILE_PARTITIONS, partition);
+				jdbcTemplate.query("SELECT owner_id, period, minutes, entries FROM worklog_rollups WHERE kind = ? AND MOD(owner_id, ?) = ?",
+						rs -> {
+							add(differences, new RollupKey(code, rs.getLong(1), rs.getObject(2, LocalDate.class)),
+									-rs.getLong(3), -rs.getInt(4));
+						}, code, RECONCILE_PARTITIONS, partition);
+			}
+			differences.values().removeIf(difference -> difference[0] == 0 && difference[1] == 0);
+			return differences;
+		});
+
+		if (!drift.isEmpty()) {
+			writeDeltas(drift);
+		}
+		return drift.size();
+	}
+
+	private void collectDeltas(Map<RollupKey, long[]> deltas, Worklog worklog, int sign) {
+		for (WorklogRollupKind kind : WorklogRollupKind.values()) {
+			Long ownerId = switch (kind) {
+				case ISSUE -> worklog.getIssueId();
+				case USER, USER_WEEK -> worklog.getUserId();
+				case PROJECT, PROJECT_WEEK -> worklog.getProjectId();
+			};
+			LocalDate period = kind.isWeekly() ? worklog.getWeekStart() : WorklogRollup.ALL_TIME;
+			add(deltas, new RollupKey((short) kind.ordinal(), ownerId, period), (long) sign * worklog.getMinutes(), sign);
+		}
+	}
+
+	// one batched round trip, entries that cancel out (an edit within the same week) are skipped
+	private void writeDeltas(Map<RollupKey, long[]> deltas) {
+		List<Object[]> rows = new ArrayList<>();
+		for (Map.Entry<RollupKey, long[]> delta : deltas.entrySet()) {
+			long minutes = delta.getValue()[0];
+			long entries = delta.getValue()[1];
+			if (minutes != 0 || entries != 0) {
+				RollupKey key = delta.getKey();
+				rows.add(new Object[] { key.kind(), key.ownerId(), Date.valueOf(key.period()), minutes, entries, minutes, entries });
+			}
+		}
+		if (!rows.isEmpty()) {
+			jdbcTemplate.batchUpdate(ADD_TO_ROLLUP, rows);
+		}
+	}
+
+	private static void add(Map<RollupKey, long[]> deltas, RollupKey key, long minutes, long entries) {
+		long[] delta = deltas.computeIfAbsent(key, k -> new long[2]);
+		delta[0] += minutes;
+		delta[1] += entries;
+	}
+
+	private Worklog getOwnWorklog(Long worklogId, User user) throws WorklogException {
+		Worklog worklog = worklogRepository.findById(worklogId)
+				.orElseThrow(() -> new WorklogException("No worklog found with id " + worklogId));
+		if (!worklog.getUserId().equals(user.getId())) {
+			throw new WorklogException("Only the author can change a worklog");
+		}
+		return worklog;
+	}
+
+	private static void checkRequest(WorklogRequest request) throws WorklogException {
+		if (request.getMinutes() == null || request.getMinutes() < 1 || request.getMinutes() > MAX_MINUTES_PER_ENTRY) {
+			throw new WorklogException("Logged time must be between 1 and " + MAX_MINUTES_PER_ENTRY + " minutes");
+		}
+		if (request.getWorkDate() == null) {
+			request.setWorkDate(LocalDate.now());
+		}
+	}
+
+	private static LocalDate weekStart(LocalDate date) {
+		return date.with(TemporalAdjusters.previousOrSame(DayOfWeek.MONDAY));
+	}
+
+	private record RollupKey(short kind, long ownerId, LocalDate period) {
+	}
+
+}
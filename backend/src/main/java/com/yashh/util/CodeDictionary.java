@@ -0,0 +1,57 @@
+package com.yashh.util;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * In-memory two way mapping between names and small codes of one
+ * dictionary. Lookups are lock free, registering copies the code array.
+ */
+public class CodeDictionary {
+
+	private final String kind;
+	private final Map<String, Short> codes = new ConcurrentHashMap<>();
+	// index is the code, code 0 is never handed out
+	private volatile String[] names = new String[1];
+
+	public CodeDictionary(String kind) {
+		this.kind = kind;
+	}
+
+	public boolean contains(String name) {
+		return name != null && codes.containsKey(name);
+	}
+
+	public Set<String> names() {
+		return Collections.unmodifiableSet(codes.keySet());
+	}
+
+	public Short encode(String name) {
+		return name == null ? null : codes.get(name);
+	}
+
+	public String decode(short code) {
+		String[] current = names;
+		String name = code > 0 && code < current.length ? current[code] : null;
+		if (name == null) {
+			throw new IllegalStateException("Unknown " + kind + " code " + code);
+		}
+		return name;
+	}
+
+	public short nextCode() {
+		return (short) names.length;
+	}
+
+	public synchronized void put(short code, String name) {
+		String[] current = names;
+		String[] updated = Arrays.copyOf(current, Math.max(current.length, code + 1));
+		// one shared instance per name so decoded values compare cheaply
+		updated[code] = name.intern();
+		names = updated;
+		codes.put(updated[code], code);
+	}
+}
@@ -0,0 +1,304 @@
+package com.yashh.util;
+
+import java.util.Arrays;
+import java.util.function.LongPredicate;
+import java.util.function.LongToIntFunction;
+
+/**
+ * Immutable "blocks" graph of one project in CSR layout.
+ *
+ * Issue ids are mapped to dense int nodes (index into the sorted ids array),
+ * outgoing and incoming edges are stored as offset/target int arrays so
+ * traversals never allocate per edge. Changes produce a new graph, readers
+ * keep using whichever instance they picked up.
+ */
+public final class DependencyGraph {
+
+	public static final DependencyGraph EMPTY = build(new long[0], new long[0], 0);
+
+	private final long[] ids;
+	private final int[] outOffsets;
+	private final int[] outTargets;
+	private final int[] inOffsets;
+	private final int[] inTargets;
+
+	private DependencyGraph(long[] ids, int[] outOffsets, int[] outTargets, int[] inOffsets, int[] inTargets) {
+		this.ids = ids;
+		this.outOffsets = outOffsets;
+		this.outTargets = outTargets;
+		this.inOffsets = inOffsets;
+		this.inTargets = inTargets;
+	}
+
+	/**
+	 * Builds the graph from the first edgeCount entries of the parallel
+	 * blocker / blocked arrays.
+	 */
+	public static DependencyGraph build(long[] blockers, long[] blocked, int edgeCount) {
+		long[] all = new long[edgeCount * 2];
+		System.arraycopy(blockers, 0, all, 0, edgeCount);
+		System.arraycopy(blocked, 0, all, edgeCount, edgeCount);
+		Arrays.sort(all);
+		int distinct = 0;
+		for (int i = 0; i < all.length; i++) {
+			if (i == 0 || all[i] != all[i - 1]) {
+				all[distinct++] = all[i];
+			}
+		}
+		long[] ids = Arrays.copyOf(all, distinct);
+
+		int[] from = new int[edgeCount];
+		int[] to = new int[edgeCount];
+		int[] outOffsets = new int[distinct + 1];
+		int[] inOffsets = new int[distinct + 1];
+		for (int e = 0; e < edgeCount; e++) {
+			from[e] = Arrays.binarySearch(ids, blockers[e]);
+			to[e] = Arrays.binarySearch(ids, blocked[e]);
+			outOffsets[from[e] + 1]++;
+			inOffsets[to[e] + 1]++;
+		}
+		for (int n = 0; n < distinct; n++) {
+			outOffsets[n + 1] += outOffsets[n];
+			inOffsets[n + 1] += inOffsets[n];
+		}
+		int[] outTargets = new int[edgeCount];
+		int[] inTargets = new int[edgeCount];
+		int[] outFill = Arrays.copyOf(outOffsets, distinct);
+		int[] inFill = Arrays.copyOf(inOffsets, distinct);
+		for (int e = 0; e < edgeCount; e++) {
+			outTargets[outFill[from[e]]++] = to[e];
+			inTargets[inFill[to[e]]++] = from[e];
+		}
+		return new DependencyGraph(ids, outOffsets, outTargets, inOffsets, inTargets);
+	}
+
+	public int nodeCount() {
+		return ids.length;
+	}
+
+	public int edgeCount() {
+		return outTargets.length;
+	}
+
+	public boolean hasEdge(long blockerId, long blockedId) {
+		int from = Arrays.binarySearch(ids, blockerId);
+		int to = Arrays.binarySearch(ids, blockedId);
+		if (from < 0 || to < 0) {
+			return false;
+		}
+		for (int e = outOffsets[from]; e < outOffsets[from + 1]; e++) {
+			if (outTargets[e] == to) {
+				return true;
+			}
+		}
+		return false;
+	}
+
+	/**
+	 * True when toId can be reached from fromId by following "blocks" edges.
+	 * Adding blocker -> blocked closes a cycle exactly when reaches(blocked, blocker).
+	 */
+	public boolean reaches(long fromId, long toId) {
+		if (fromId == toId) {
+			return true;
+		}
+		int from = Arrays.binarySearch(ids, fromId);
+		int to = Arrays.binarySearch(ids, toId);
+		if (from < 0 || to < 0) {
+			return false;
+		}
+		boolean[] visited = new boolean[ids.length];
+		int[] stack = new int[ids.length];
+		int top = 0;
+		stack[top++] = from;
+		visited[from] = true;
+		while (top > 0) {
+			int node = stack[--top];
+			for (int e = outOffsets[node]; e < outOffsets[node + 1]; e++) {
+				int next = outTargets[e];
+				if (next == to) {
+					return true;
+				}
+				if (!visited[next]) {
+					visited[next] = true;
+					stack[top++] = next;
+				}
+			}
+		}
+		return false;
+	}
+
+	public long[] blocks(long issueId) {
+		return neighbours(issueId, outOffsets, outTargets);
+	}
+
+	public long[] blockedBy(long issueId) {
+		return neighbours(issueId, inOffsets, inTargets);
+	}
+
+	// splices the edge into copies of the arrays, no re-sorting or rebuild
+	public DependencyGraph withEdge(long blockerId, long blockedId) {
+		if (hasEdge(blockerId, blockedId)) {
+			return this;
+		}
+		DependencyGraph graph = withNode(blockerId).withNode(blockedId);
+		int from = Arrays.binarySearch(graph.ids, blockerId);
+		int to = Arrays.binarySearch(graph.ids, blockedId);
+		return new DependencyGraph(graph.ids,
+				shiftOffsets(graph.outOffsets, from), insertAt(graph.outTargets, graph.outOffsets[from + 1], to),
+				shiftOffsets(graph.inOffsets, to), insertAt(graph.inTargets, graph.inOffsets[to + 1], from));
+	}
+
+	public DependencyGraph withoutEdges(LongPredicate blockerMatch, LongPredicate blockedMatch) {
+		int edges = edgeCount();
+		long[] blockers = new long[edges];
+		long[] blocked = new long[edges];
+		copyEdges(blockers, blocked);
+		int kept = 0;
+		for (int e = 0; e < edges; e++) {
+			if (!(blockerMatch.test(blockers[e]) && blockedMatch.test(blocked[e]))) {
+				blockers[kept] = blockers[e];
+				blocked[kept] = blocked[e];
+				kept++;
+			}
+		}
+		return kept == edges ? this : build(blockers, blocked, kept);
+	}
+
+	/**
+	 * Chain of open issues that drives the schedule, in blocking order. An
+	 * issue cannot finish before its own due day nor before any open blocker
+	 * finishes, so its finish day is the latest of those; the chain follows
+	 * the blocker with the latest finish day back from the issue. Ends at
+	 * targetId when given, otherwise at the open issue that finishes last.
+	 * Ties, including issues without a due day, go to the longer chain.
+	 * Closed issues do not block anything and break chains.
+	 */
+	public long[] criticalPath(LongPredicate open, LongToIntFunction dueDay, Long targetId) {
+		int n = ids.length;
+		int[] depth = new int[n];
+		long[] finish = new long[n];
+		int[] pred = new int[n];
+		int[] remaining = new int[n];
+		int[] queue = new int[n];
+		int head = 0;
+		int tail = 0;
+		for (int node = 0; node < n; node++) {
+			finish[node] = Long.MIN_VALUE;
+			pred[node] = -1;
+			remaining[node] = inOffsets[node + 1] - inOffsets[node];
+			if (remaining[node] == 0) {
+				queue[tail++] = node;
+			}
+		}
+		// Kahn order, every predecessor is final before a node is dequeued
+		while (head < tail) {
+			int node = queue[head++];
+			boolean nodeOpen = open.test(ids[node]);
+			if (nodeOpen) {
+				depth[node]++;
+				finish[node] = Math.max(finish[node], dueDay.applyAsInt(ids[node]));
+			} else {
+				depth[node] = 0;
+				pred[node] = -1;
+			}
+			for (int e = outOffsets[node]; e < outOffsets[node + 1]; e++) {
+				int next = outTargets[e];
+				if (nodeOpen && later(finish[node], depth[node], finish[next], depth[next])) {
+					depth[next] = depth[node];
+					finish[next] = finish[node];
+					pred[next] = node;
+				}
+				if (--remaining[next] == 0) {
+					queue[tail++] = next;
+				}
+			}
+		}
+
+		int end = -1;
+		if (targetId != null) {
+			end = Arrays.binarySearch(ids, targetId);
+		} else {
+			for (int node = 0; node < n; node++) {
+				if (depth[node] > 0 && (end < 0 || later(finish[node], depth[node], finish[end], depth[end]))) {
+					end = node;
+				}
+			}
+		}
+		if (end < 0 || depth[end] == 0) {
+			return new long[0];
+		}
+		long[] path = new long[depth[end]];
+		for (int node = end, i = path.length - 1; node >= 0 && i >= 0; node = pred[node], i--) {
+			path[i] = ids[node];
+		}
+		return path;
+	}
+
+	private static boolean later(long finish, int depth, long otherFinish, int otherDepth) {
+		return finish > otherFinish || (finish == otherFinish && depth > otherDepth);
+	}
+
+	private long[] neighbours(long issueId, int[] offsets, int[] targets) {
+		int node = Arrays.binarySearch(ids, issueId);
+		if (node < 0) {
+			return new long[0];
+		}
+		long[] result = new long[offsets[node + 1] - offsets[node]];
+		for (int e = offsets[node], i = 0; e < offsets[node + 1]; e++, i++) {
+			result[i] = ids[targets[e]];
+		}
+		return result;
+	}
+
+	private void copyEdges(long[] blockers, long[] blocked) {
+		int e = 0;
+		for (int node = 0; node < ids.length; node++) {
+			for (int i = outOffsets[node]; i < outOffsets[node + 1]; i++, e++) {
+				blockers[e] = ids[node];
+				blocked[e] = ids[outTargets[i]];
+			}
+		}
+	}
+
+	private DependencyGraph withNode(long issueId) {
+		int position = Arrays.binarySearch(ids, issueId);
+		if (position >= 0) {
+			return this;
+		}
+		position = -position - 1;
+		long[] newIds = new long[ids.length + 1];
+		System.arraycopy(ids, 0, newIds, 0, position);
+		newIds[position] = issueId;
+		System.arraycopy(ids, position, newIds, position + 1, ids.length - position);
+		return new DependencyGraph(newIds,
+				insertAt(outOffsets, position, outOffsets[position]), renumber(outTargets, position),
+				insertAt(inOffsets, position, inOffsets[position]), renumber(inTargets, position));
+	}
+
+	private static int[] insertAt(int[] array, int position, int value) {
+		int[] result = new int[array.length + 1];
+		System.arraycopy(array, 0, result, 0, position);
+		result[position] = value;
+		System.arraycopy(array, position, result, position + 1, array.length - position);
+		return result;
+	}
+
+	private static int[] shiftOffsets(int[] offsets, int node) {
+		int[] result = offsets.clone();
+		for (int i = node + 1; i < result.length; i++) {
+			result[i]++;
+		}
+		return result;
+	}
+
+	private static int[] renumber(int[] targets, int insertedNode) {
+		int[] result = targets.clone();
+		for (int i = 0; i < result.length; i++) {
+			if (result[i] >= insertedNode) {
+				result[i]++;
+			}
+		}
+		return result;
+	}
+}
@@ -0,0 +1,26 @@
+package com.yashh.util;
+
+import com.yashh.domain.DictionaryKind;
+
+/**
+ * The dictionaries behind the encoded status, priority and category columns.
+ * Static because the JPA converters are created by Hibernate, they are
+ * filled by WorkflowServiceImpl before any entity is read.
+ */
+public final class Dictionaries {
+
+	public static final CodeDictionary STATUS = new CodeDictionary("status");
+	public static final CodeDictionary PRIORITY = new CodeDictionary("priority");
+	public static final CodeDictionary CATEGORY = new CodeDictionary("category");
+
+	private Dictionaries() {
+	}
+
+	public static CodeDictionary of(DictionaryKind kind) {
+		return switch (kind) {
+			case STATUS -> STATUS;
+			case PRIORITY -> PRIORITY;
+			case CATEGORY -> CATEGORY;
+		};
+	}
+}
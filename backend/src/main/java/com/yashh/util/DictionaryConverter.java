@@ -0,0 +1,56 @@
+package com.yashh.util;
+
+import com.yashh.domain.DictionaryKind;
+
+import jakarta.persistence.AttributeConverter;
+
+/**
+ * Stores a dictionary backed string attribute as its smallint code. Names
+ * have to be registered (WorkflowService) before they are written.
+ */
+public abstract class DictionaryConverter implements AttributeConverter<String, Short> {
+
+	private final DictionaryKind kind;
+
+	protected DictionaryConverter(DictionaryKind kind) {
+		this.kind = kind;
+	}
+
+	@Override
+	public Short convertToDatabaseColumn(String name) {
+		if (name == null) {
+			return null;
+		}
+		Short code = Dictionaries.of(kind).encode(name);
+		if (code == null) {
+			throw new IllegalArgumentException("Unknown " + kind.name().toLowerCase() + " " + name);
+		}
+		return code;
+	}
+
+	@Override
+	public String convertToEntityAttribute(Short code) {
+		return code == null ? null : Dictionaries.of(kind).decode(code);
+	}
+
+	@jakarta.persistence.Converter
+	public static class Status extends DictionaryConverter {
+		public Status() {
+			super(DictionaryKind.STATUS);
+		}
+	}
+
+	@jakarta.persistence.Converter
+	public static class Priority extends DictionaryConverter {
+		public Priority() {
+			super(DictionaryKind.PRIORITY);
+		}
+	}
+
+	@jakarta.persistence.Converter
+	public static class Category extends DictionaryConverter {
+		public Category() {
+			super(DictionaryKind.CATEGORY);
+		}
+	}
+}
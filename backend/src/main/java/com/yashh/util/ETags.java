@@ -0,0 +1,43 @@
+package com.yashh.util;
+
+public class ETags {
+
+    public static String of(String kind, Long id, long version) {
+        return "\"" + kind + "-" + id + "-" + version + "\"";
+    }
+
+    // state is whatever else the representation shows, the version stays last for If-Match
+    public static String of(String kind, Long id, long state, long version) {
+        return "\"" + kind + "-" + id + "-" + state + "-" + version + "\"";
+    }
+
+    public static boolean matches(String ifNoneMatch, String eTag) {
+        if (ifNoneMatch == null) {
+            return false;
+        }
+        for (String candidate : ifNoneMatch.split(",")) {
+            String tag = candidate.trim();
+            if (tag.equals("*") || tag.equals(eTag) || tag.equals("W/" + eTag)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    // If-Match carries the version as the last segment of a strong tag, null means "any"
+    public static Long versionFromIfMatch(String ifMatch) {
+        if (ifMatch == null || ifMatch.trim().equals("*")) {
+            return null;
+        }
+        String tag = ifMatch.trim();
+        int dash = tag.lastIndexOf('-');
+        if (!tag.startsWith("\"") || !tag.endsWith("\"") || dash < 0) {
+            return -1L;
+        }
+        try {
+            return Long.parseLong(tag.substring(dash + 1, tag.length() - 1));
+        } catch (NumberFormatException e) {
+            return -1L;
+        }
+    }
+}
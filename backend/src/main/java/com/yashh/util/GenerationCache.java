@@ -0,0 +1,64 @@
+package com.yashh.util;
+
+import java.util.Collection;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Short-lived cache whose entries depend on a set of sources (a user, the
+ * projects shown, ...). Bumping a source invalidates every entry that was
+ * built from it, untouched entries still expire after the ttl.
+ *
+ * Read the generation of the sources before loading the value: a bump that
+ * races the load then leaves the stored entry stale instead of hiding the
+ * write until the ttl runs out.
+ */
+public class GenerationCache<K, V> {
+
+	private final long ttlMillis;
+	private final int maxEntries;
+	// only ever grow, so the sum over a fixed set of sources moves on any bump
+	private final Map<Object, Long> generations = new ConcurrentHashMap<>();
+	private final Map<K, Entry<V>> entries = new ConcurrentHashMap<>();
+
+	public GenerationCache(long ttlMillis, int maxEntries) {
+		this.ttlMillis = ttlMillis;
+		this.maxEntries = maxEntries;
+	}
+
+	public V get(K key, long now) {
+		Entry<V> entry = entries.get(key);
+		if (entry == null || entry.expiresAt() <= now || entry.generation() != generation(entry.sources())) {
+			return null;
+		}
+		return entry.value();
+	}
+
+	public long generation(Collection<?> sources) {
+		long sum = 0;
+		for (Object source : sources) {
+			sum += generations.getOrDefault(source, 0L);
+		}
+		return sum;
+	}
+
+	/**
+	 * Stores the value unless the cache is full of live entries. generation
+	 * is what generation(sources) returned before the value was loaded.
+	 */
+	public void put(K key, V value, Collection<?> sources, long generation, long now) {
+		if (entries.size() >= maxEntries) {
+			entries.values().removeIf(entry -> entry.expiresAt() <= now);
+		}
+		if (entries.size() < maxEntries) {
+			entries.put(key, new Entry<>(value, sources, generation, now + ttlMillis));
+		}
+	}
+
+	public void bump(Object source) {
+		generations.merge(source, 1L, Long::sum);
+	}
+
+	private record Entry<V>(V value, Collection<?> sources, long generation, long expiresAt) {
+	}
+}
@@ -0,0 +1,189 @@
+package com.yashh.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Hierarchical timing wheel keyed by a long id.
+ *
+ * Each level has 64 slots, level k slot covers 64^k ticks. Entries are kept in
+ * intrusive doubly linked lists so schedule and cancel are O(1); advancing a
+ * tick touches one level 0 slot and, on wrap-around, cascades one slot of the
+ * level above. Entries that fall past the top level wait in an overflow list
+ * that is re-examined every time the top level wraps.
+ *
+ * Not thread safe on its own, callers synchronize.
+ */
+public class HierarchicalTimingWheel<T> {
+
+	private static final int SLOT_BITS = 6;
+	private static final int SLOTS = 1 << SLOT_BITS;
+	private static final int SLOT_MASK = SLOTS - 1;
+
+	private final int levels;
+	private final Node<T>[][] wheel;
+	private final Node<T> overflow = newHead();
+	// entries already expired when placed, handed out by the next advanceTo
+	private final Node<T> due = newHead();
+	private final Map<Long, Node<T>> index = new HashMap<>();
+
+	private long currentTick;
+
+	@SuppressWarnings("unchecked")
+	public HierarchicalTimingWheel(int levels, long startTick) {
+		this.levels = levels;
+		this.currentTick = startTick;
+		this.wheel = new Node[levels][SLOTS];
+		for (int level = 0; level < levels; level++) {
+			for (int slot = 0; slot < SLOTS; slot++) {
+				wheel[level][slot] = newHead();
+			}
+		}
+	}
+
+	public long getCurrentTick() {
+		return currentTick;
+	}
+
+	public int size() {
+		return index.size();
+	}
+
+	public boolean contains(long id) {
+		return index.containsKey(id);
+	}
+
+	/**
+	 * Schedules (or reschedules) the entry for id to expire at expiryTick.
+	 */
+	public void schedule(long id, long expiryTick, T payload) {
+		cancel(id);
+		Node<T> node = new Node<>(id, expiryTick, payload);
+		index.put(id, node);
+		place(node);
+	}
+
+	public T cancel(long id) {
+		Node<T> node = index.remove(id);
+		if (node == null) {
+			return null;
+		}
+		unlink(node);
+		return node.payload;
+	}
+
+	/**
+	 * Moves the wheel forward to targetTick and returns every payload that
+	 * expired on the way, in expiry order per tick.
+	 */
+	public List<T> advanceTo(long targetTick) {
+		List<T> expired = new ArrayList<>();
+		drainDue(expired);
+		while (currentTick < targetTick) {
+			currentTick++;
+			cascade(1);
+			Node<T> head = wheel[0][(int) (currentTick & SLOT_MASK)];
+			Node<T> node = head.next;
+			while (node != head) {
+				Node<T> next = node.next;
+				unlink(node);
+				index.remove(node.id);
+				expired.add(node.payload);
+				node = next;
+			}
+		}
+		drainDue(expired);
+		return expired;
+	}
+
+	private void cascade(int level) {
+		if (level > levels) {
+			return;
+		}
+		long span = 1L << (SLOT_BITS * level);
+		if ((currentTick & (span - 1)) != 0) {
+			return;
+		}
+		cascade(level + 1);
+		Node<T> head = level == levels ? overflow : wheel[level][(int) ((currentTick >> (SLOT_BITS * level)) & SLOT_MASK)];
+		if (head.next == head) {
+			return;
+		}
+		// detach the whole list first, overflow entries may land back in it
+		Node<T> node = head.next;
+		head.prev.next = null;
+		head.next = head;
+		head.prev = head;
+		while (node != null) {
+			Node<T> next = node.next;
+			node.prev = null;
+			node.next = null;
+			place(node);
+			node = next;
+		}
+	}
+
+	private void place(Node<T> node) {
+		if (node.expiryTick <= currentTick) {
+			link(due, node);
+			return;
+		}
+		for (int level = 0; level < levels; level++) {
+			int shift = SLOT_BITS * (level + 1);
+			if ((node.expiryTick >> shift) == (currentTick >> shift)) {
+				int slot = (int) ((node.expiryTick >> (SLOT_BITS * level)) & SLOT_MASK);
+				link(wheel[level][slot], node);
+				return;
+			}
+		}
+		link(overflow, node);
+	}
+
+	private void drainDue(List<T> expired) {
+		Node<T> node = due.next;
+		while (node != due) {
+			Node<T> next = node.next;
+			unlink(node);
+			index.remove(node.id);
+			expired.add(node.payload);
+			node = next;
+		}
+	}
+
+	private static <T> Node<T> newHead() {
+		Node<T> head = new Node<>(0, 0, null);
+		head.prev = head;
+		head.next = head;
+		return head;
+	}
+
+	private void link(Node<T> head, Node<T> node) {
+		node.prev = head.prev;
+		node.next = head;
+		head.prev.next = node;
+		head.prev = node;
+	}
+
+	private void unlink(Node<T> node) {
+		node.prev.next = node.next;
+		node.next.prev = node.prev;
+		node.prev = null;
+		node.next = null;
+	}
+
+	private static final class Node<T> {
+		private final long id;
+		private final long expiryTick;
+		private final T payload;
+		private Node<T> prev;
+		private Node<T> next;
+
+		private Node(long id, long expiryTick, T payload) {
+			this.id = id;
+			this.expiryTick = expiryTick;
+			this.payload = payload;
+		}
+	}
+}
@@ -0,0 +1,93 @@
+package com.yashh.util;
+
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.OutputStreamWriter;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDate;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Writes an RFC 5545 calendar of all-day events straight to a stream, one
+ * event at a time, so a feed never holds more than a line in memory.
+ */
+public class ICalendarWriter {
+
+	private static final DateTimeFormatter DATE = DateTimeFormatter.BASIC_ISO_DATE;
+	private static final DateTimeFormatter STAMP = DateTimeFormatter.ofPattern("yyyyMMdd'T'HHmmss'Z'");
+	// content lines are folded after 75 octets
+	private static final int MAX_LINE_OCTETS = 75;
+
+	private final Writer writer;
+	private final String stamp = ZonedDateTime.now(ZoneOffset.UTC).format(STAMP);
+
+	public ICalendarWriter(OutputStream out) {
+		this.writer = new BufferedWriter(new OutputStreamWriter(out, StandardCharsets.UTF_8));
+	}
+
+	public void begin(String name) throws IOException {
+		line("BEGIN:VCALENDAR");
+		line("VERSION:2.0");
+		line("PRODID:-//projectmanagement//issues//EN");
+		line("CALSCALE:GREGORIAN");
+		line("METHOD:PUBLISH");
+		line("X-WR-CALNAME:" + escape(name));
+	}
+
+	public void event(String uid, LocalDate date, String summary, String description) throws IOException {
+		line("BEGIN:VEVENT");
+		line("UID:" + uid);
+		line("DTSTAMP:" + stamp);
+		line("DTSTART;VALUE=DATE:" + date.format(DATE));
+		line("DTEND;VALUE=DATE:" + date.plusDays(1).format(DATE));
+		line("SUMMARY:" + escape(summary));
+		if (description != null) {
+			line("DESCRIPTION:" + escape(description));
+		}
+		line("TRANSP:TRANSPARENT");
+		line("END:VEVENT");
+	}
+
+	public void end() throws IOException {
+		line("END:VCALENDAR");
+		writer.flush();
+	}
+
+	private void line(String content) throws IOException {
+		int octets = 0;
+		for (int i = 0; i < content.length(); i++) {
+			char c = content.charAt(i);
+			// a surrogate pair counts 4 octets on its high half so it is never split
+			int size = c < 0x80 ? 1 : c < 0x800 ? 2 : Character.isHighSurrogate(c) ? 4 : Character.isLowSurrogate(c) ? 0 : 3;
+			if (octets + size > MAX_LINE_OCTETS) {
+				writer.write("\r\n ");
+				octets = 1;
+			}
+			writer.write(c);
+			octets += size;
+		}
+		writer.write("\r\n");
+	}
+
+	private static String escape(String text) {
+		if (text == null) {
+			return "";
+		}
+		StringBuilder escaped = new StringBuilder(text.length() + 8);
+		for (int i = 0; i < text.length(); i++) {
+			char c = text.charAt(i);
+			switch (c) {
+				case '\\', ';', ',' -> escaped.append('\\').append(c);
+				case '\n' -> escaped.append("\\n");
+				case '\r' -> {
+				}
+				default -> escaped.append(c);
+			}
+		}
+		return escaped.toString();
+	}
+}
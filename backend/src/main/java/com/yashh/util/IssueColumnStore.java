@@ -0,0 +1,357 @@
+package com.yashh.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Column-oriented copy of the fields issue reports group and filter on.
+ * Row r of every array belongs to the same issue; projects and assignees
+ * are kept as dense ordinals so a group key is a mixed-radix number and
+ * the pivot is one pass of array reads with no object per row. Status code
+ * 0 (never handed out by the dictionary) marks a free row.
+ */
+public class IssueColumnStore {
+
+	public static final int NO_DUE_DAY = Integer.MIN_VALUE;
+
+	// group keys below this many combinations are counted in a plain array
+	private static final int DENSE_GROUP_LIMIT = 1 << 20;
+	private static final int INITIAL_CAPACITY = 1024;
+
+	private final ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+
+	private long[] issueIds = new long[INITIAL_CAPACITY];
+	private int[] projects = new int[INITIAL_CAPACITY];
+	private short[] statuses = new short[INITIAL_CAPACITY];
+	private short[] priorities = new short[INITIAL_CAPACITY];
+	// ordinal + 1, 0 is unassigned
+	private int[] assignees = new int[INITIAL_CAPACITY];
+	private int[] dueDays = new int[INITIAL_CAPACITY];
+	private int size;
+	// highest codes stored so far, the radix of the status / priority dimensions
+	private short maxStatus;
+	private short maxPriority;
+
+	private final Map<Long, Integer> rows = new HashMap<>();
+	private int[] freeRows = new int[16];
+	private int freeCount;
+
+	private final Ordinals projectOrdinals = new Ordinals();
+	private final Ordinals assigneeOrdinals = new Ordinals();
+
+	public void put(long issueId, long projectId, short status, short priority, Long assigneeId, int dueDay) {
+		lock.writeLock().lock();
+		try {
+			Integer row = rows.get(issueId);
+			if (row == null) {
+				row = freeCount > 0 ? freeRows[--freeCount] : appendRow();
+				rows.put(issueId, row);
+			}
+			issueIds[row] = issueId;
+			projects[row] = projectOrdinals.of(projectId);
+			statuses[row] = status;
+			priorities[row] = priority;
+			maxStatus = (short) Math.max(maxStatus, status);
+			maxPriority = (short) Math.max(maxPriority, priority);
+			assignees[row] = assigneeId == null ? 0 : assigneeOrdinals.of(assigneeId) + 1;
+			dueDays[row] = dueDay;
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public void remove(long issueId) {
+		lock.writeLock().lock();
+		try {
+			Integer row = rows.remove(issueId);
+			if (row != null) {
+				statuses[row] = 0;
+				if (freeCount == freeRows.length) {
+					freeRows = Arrays.copyOf(freeRows, freeCount * 2);
+				}
+				freeRows[freeCount++] = row;
+			}
+		} finally {
+			lock.writeLock().unlock();
+		}
+	}
+
+	public int rowCount() {
+		lock.readLock().lock();
+		try {
+			return rows.size();
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Counts the rows that pass the filter, grouped by the requested
+	 * dimensions. Every grouped dimension gets a multiplier (the product of
+	 * the cardinalities before it), the key of a row is the sum of value *
+	 * multiplier, with multiplier 0 for dimensions that are not grouped.
+	 */
+	public List<Group> pivot(Filter filter, boolean byProject, boolean byStatus, boolean byPriority, boolean byAssignee) {
+		lock.readLock().lock();
+		try {
+			int assigneeMatch = -1;
+			if (filter.assigneeId() != null) {
+				assigneeMatch = filter.assigneeId() == 0 ? 0 : assigneeOrdinals.find(filter.assigneeId()) + 1;
+				if (assigneeMatch == 0 && filter.assigneeId() != 0) {
+					return new ArrayList<>();
+				}
+			}
+			boolean[] projectMask = projectOrdinals.mask(filter.projectIds());
+			// status code 0 is a free row and never passes, priority 0 (none) only without a priority filter
+			boolean[] statusMask = codeMask(filter.statusCodes(), maxStatus, false);
+			boolean[] priorityMask = codeMask(filter.priorityCodes(), maxPriority, true);
+			int dueFrom = filter.dueFrom();
+			int dueTo = filter.dueTo();
+
+			int assigneeRadix = assigneeOrdinals.size() + 1;
+			int priorityRadix = maxPriority + 1;
+			int statusRadix = maxStatus + 1;
+			long keySpace = 1;
+			long mAssignee = 0;
+			long mPriority = 0;
+			long mStatus = 0;
+			long mProject = 0;
+			if (byAssignee) {
+				mAssignee = keySpace;
+				keySpace *= assigneeRadix;
+			}
+			if (byPriority) {
+				mPriority = keySpace;
+				keySpace *= priorityRadix;
+			}
+			if (byStatus) {
+				mStatus = keySpace;
+				keySpace *= statusRadix;
+			}
+			if (byProject) {
+				mProject = keySpace;
+				keySpace *= Math.max(1, projectOrdinals.size());
+			}
+
+			int[] project = projects;
+			short[] status = statuses;
+			short[] priority = priorities;
+			int[] assignee = assignees;
+			int[] due = dueDays;
+			int rowCount = size;
+			GroupCounter counter;
+			if (keySpace <= DENSE_GROUP_LIMIT) {
+				// int keys into a flat array, filters combined without short-circuit to keep the loop branch-light
+				int[] counts = new int[(int) keySpace];
+				int mp = (int) mProject;
+				int ms = (int) mStatus;
+				int mpr = (int) mPriority;
+				int ma = (int) mAssignee;
+				for (int row = 0; row < rowCount; row++) {
+					int d = due[row];
+					int a = assignee[row];
+					if (projectMask[project[row]] & statusMask[status[row]] & priorityMask[priority[row]]
+							& (assigneeMatch < 0 | a == assigneeMatch) & d >= dueFrom & d <= dueTo) {
+						counts[project[row] * mp + status[row] * ms + priority[row] * mpr + a * ma]++;
+					}
+				}
+				counter = new DenseCounter(counts);
+			} else {
+				HashCounter hashCounter = new HashCounter();
+				for (int row = 0; row < rowCount; row++) {
+					int d = due[row];
+					int a = assignee[row];
+					if (projectMask[project[row]] & statusMask[status[row]] & priorityMask[priority[row]]
+							& (assigneeMatch < 0 | a == assigneeMatch) & d >= dueFrom & d <= dueTo) {
+						hashCounter.add(project[row] * mProject + status[row] * mStatus + priority[row] * mPriority + a * mAssignee);
+					}
+				}
+				counter = hashCounter;
+			}
+
+			List<Group> groups = new ArrayList<>();
+			long statusMultiplier = mStatus;
+			long priorityMultiplier = mPriority;
+			long projectMultiplier = mProject;
+			counter.forEach((key, count) -> {
+				int assigneeValue = byAssignee ? (int) (key % assigneeRadix) : 0;
+				groups.add(new Group(
+						byProject ? projectOrdinals.idOf((int) (key / projectMultiplier)) : null,
+						byStatus ? (short) (key / statusMultiplier % statusRadix) : null,
+						byPriority ? (short) (key / priorityMultiplier % priorityRadix) : null,
+						assigneeValue > 0 ? assigneeOrdinals.idOf(assigneeValue - 1) : null,
+						count));
+			});
+			groups.sort((a, b) -> Long.compare(b.count(), a.count()));
+			return groups;
+		} finally {
+			lock.readLock().unlock();
+		}
+	}
+
+	private int appendRow() {
+		if (size == issueIds.length) {
+			int capacity = size * 2;
+			issueIds = Arrays.copyOf(issueIds, capacity);
+			projects = Arrays.copyOf(projects, capacity);
+			statuses = Arrays.copyOf(statuses, capacity);
+			priorities = Arrays.copyOf(priorities, capacity);
+			assignees = Arrays.copyOf(assignees, capacity);
+			dueDays = Arrays.copyOf(dueDays, capacity);
+		}
+		return size++;
+	}
+
+	private static boolean[] codeMask(short[] codes, int maxCode, boolean zeroWithoutFilter) {
+		boolean[] mask = new boolean[maxCode + 1];
+		if (codes == null) {
+			Arrays.fill(mask, 1, mask.length, true);
+			mask[0] = zeroWithoutFilter;
+			return mask;
+		}
+		for (short code : codes) {
+			if (code > 0 && code <= maxCode) {
+				mask[code] = true;
+			}
+		}
+		return mask;
+	}
+
+	/**
+	 * projectIds must be given (callers restrict to the user's projects),
+	 * due days are inclusive epoch days, assigneeId 0 selects unassigned.
+	 */
+	public record Filter(long[] projectIds, short[] statusCodes, short[] priorityCodes, Long assigneeId, int dueFrom, int dueTo) {
+	}
+
+	public record Group(Long projectId, Short statusCode, Short priorityCode, Long assigneeId, long count) {
+	}
+
+	private interface GroupCounter {
+		void forEach(KeyCountConsumer consumer);
+	}
+
+	private interface KeyCountConsumer {
+		void accept(long key, long count);
+	}
+
+	private static final class DenseCounter implements GroupCounter {
+		private final int[] counts;
+
+		DenseCounter(int[] counts) {
+			this.counts = counts;
+		}
+
+		@Override
+		public void forEach(KeyCountConsumer consumer) {
+			for (int key = 0; key < counts.length; key++) {
+				if (counts[key] > 0) {
+					consumer.accept(key, counts[key]);
+				}
+			}
+		}
+	}
+
+	// open addressing on primitive keys for key spaces too sparse for an array
+	private static final class HashCounter implements GroupCounter {
+		private long[] keys = new long[1024];
+		private long[] counts = new long[1024];
+		private boolean[] used = new boolean[1024];
+		private int entries;
+
+		void add(long key) {
+			int slot = slot(keys, used, key);
+			if (!used[slot]) {
+				used[slot] = true;
+				keys[slot] = key;
+				if (++entries * 2 > keys.length) {
+					grow();
+					slot = slot(keys, used, key);
+				}
+			}
+			counts[slot]++;
+		}
+
+		@Override
+		public void forEach(KeyCountConsumer consumer) {
+			for (int slot = 0; slot < keys.length; slot++) {
+				if (used[slot]) {
+					consumer.accept(keys[slot], counts[slot]);
+				}
+			}
+		}
+
+		private void grow() {
+			long[] oldKeys = keys;
+			long[] oldCounts = counts;
+			boolean[] oldUsed = used;
+			keys = new long[oldKeys.length * 2];
+			counts = new long[oldKeys.length * 2];
+			used = new boolean[oldKeys.length * 2];
+			for (int i = 0; i < oldKeys.length; i++) {
+				if (oldUsed[i]) {
+					int slot = slot(keys, used, oldKeys[i]);
+					used[slot] = true;
+					keys[slot] = oldKeys[i];
+					counts[slot] = oldCounts[i];
+				}
+			}
+		}
+
+		private static int slot(long[] keys, boolean[] used, long key) {
+			int mask = keys.length - 1;
+			int slot = (int) ((key * 0x9E3779B97F4A7C15L) >>> 40) & mask;
+			while (used[slot] && keys[slot] != key) {
+				slot = (slot + 1) & mask;
+			}
+			return slot;
+		}
+	}
+
+	// dense ordinals of external ids, only ever grows
+	private static final class Ordinals {
+		private final Map<Long, Integer> ordinals = new HashMap<>();
+		private long[] ids = new long[16];
+
+		int of(long id) {
+			Integer ordinal = ordinals.get(id);
+			if (ordinal == null) {
+				ordinal = ordinals.size();
+				if (ordinal == ids.length) {
+					ids = Arrays.copyOf(ids, ordinal * 2);
+				}
+				ids[ordinal] = id;
+				ordinals.put(id, ordinal);
+			}
+			return ordinal;
+		}
+
+		int find(long id) {
+			Integer ordinal = ordinals.get(id);
+			return ordinal == null ? -1 : ordinal;
+		}
+
+		long idOf(int ordinal) {
+			return ids[ordinal];
+		}
+
+		int size() {
+			return ordinals.size();
+		}
+
+		boolean[] mask(long[] selected) {
+			boolean[] mask = new boolean[Math.max(1, ordinals.size())];
+			for (long id : selected) {
+				Integer ordinal = ordinals.get(id);
+				if (ordinal != null) {
+					mask[ordinal] = true;
+				}
+			}
+			return mask;
+		}
+	}
+}
@@ -0,0 +1,72 @@
+package com.yashh.util;
+
+/**
+ * Bucket layout for durations in the style of HdrHistogram: values below 32
+ * get a bucket each, above that every power of two is split into 16 linear
+ * sub-buckets, so a bucket is never wider than 1/16 of its lower bound.
+ * Counts per bucket can be summed across days and projects and still give
+ * percentiles within that precision.
+ */
+public final class LogHistogram {
+
+	private static final int SUB_BUCKET_BITS = 4;
+	private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+	private static final int LINEAR_LIMIT = SUB_BUCKETS * 2;
+
+	// about four years in minutes, longer durations share the top bucket
+	public static final long MAX_VALUE = (1L << 21) - 1;
+	public static final int BUCKETS = bucketOf(MAX_VALUE) + 1;
+
+	private LogHistogram() {
+	}
+
+	public static int bucketOf(long value) {
+		long v = Math.max(0, Math.min(value, MAX_VALUE));
+		if (v < LINEAR_LIMIT) {
+			return (int) v;
+		}
+		int shift = 63 - Long.numberOfLeadingZeros(v) - SUB_BUCKET_BITS;
+		return (shift << SUB_BUCKET_BITS) + (int) (v >>> shift);
+	}
+
+	public static long lowerBound(int bucket) {
+		if (bucket < LINEAR_LIMIT) {
+			return bucket;
+		}
+		int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+		return (long) ((bucket & (SUB_BUCKETS - 1)) + SUB_BUCKETS) << shift;
+	}
+
+	// highest value that lands in the bucket, what the percentiles report
+	public static long upperBound(int bucket) {
+		return bucket + 1 < BUCKETS ? lowerBound(bucket + 1) - 1 : MAX_VALUE;
+	}
+
+	public static long total(long[] counts) {
+		long total = 0;
+		for (long count : counts) {
+			total += count;
+		}
+		return total;
+	}
+
+	/**
+	 * Value at the given percentile (0 - 100] of the bucket counts, null when
+	 * there are no samples.
+	 */
+	public static Long percentile(long[] counts, double percentile) {
+		long total = total(counts);
+		if (total == 0) {
+			return null;
+		}
+		long rank = Math.max(1, (long) Math.ceil(percentile / 100.0 * total));
+		long seen = 0;
+		for (int bucket = 0; bucket < counts.length; bucket++) {
+			seen += counts[bucket];
+			if (seen >= rank) {
+				return upperBound(bucket);
+			}
+		}
+		return MAX_VALUE;
+	}
+}
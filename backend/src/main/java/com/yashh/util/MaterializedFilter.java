@@ -0,0 +1,117 @@
+package com.yashh.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.function.Supplier;
+
+/**
+ * Ids of the issues matching one saved filter, kept current by applying
+ * every issue write instead of re-running the query. The set is filled on
+ * first use; writes that arrive while that query runs are held and
+ * replayed on top of its result.
+ */
+public class MaterializedFilter {
+
+	private final Long projectId;
+	private final String title;
+	private final String status;
+	private final String priority;
+	private final Long assigneeId;
+
+	// null until loaded
+	private NavigableSet<Long> ids;
+	// non-null while a load runs
+	private List<Change> pendingChanges;
+
+	public MaterializedFilter(Long projectId, String title, String status, String priority, Long assigneeId) {
+		this.projectId = projectId;
+		this.title = title == null ? null : title.toLowerCase();
+		this.status = status;
+		this.priority = priority;
+		this.assigneeId = assigneeId;
+	}
+
+	public boolean matches(Long issueProjectId, String issueTitle, String issueStatus, String issuePriority, Long issueAssigneeId) {
+		return projectId.equals(issueProjectId)
+				&& (title == null || (issueTitle != null && issueTitle.toLowerCase().contains(title)))
+				&& (status == null || status.equals(issueStatus))
+				&& (priority == null || priority.equals(issuePriority))
+				&& (assigneeId == null || assigneeId.equals(issueAssigneeId));
+	}
+
+	public synchronized void apply(long issueId, boolean matches) {
+		if (pendingChanges != null) {
+			pendingChanges.add(new Change(issueId, matches));
+		}
+		if (ids != null) {
+			if (matches) {
+				ids.add(issueId);
+			} else {
+				ids.remove(issueId);
+			}
+		}
+	}
+
+	public int size(Supplier<List<Long>> loader) {
+		load(loader);
+		synchronized (this) {
+			return ids.size();
+		}
+	}
+
+	// up to limit ids below beforeId, newest first
+	public List<Long> page(Supplier<List<Long>> loader, Long beforeId, int limit) {
+		load(loader);
+		List<Long> page = new ArrayList<>(limit);
+		synchronized (this) {
+			NavigableSet<Long> newestFirst = ids.descendingSet();
+			Iterator<Long> iterator = (beforeId == null ? newestFirst : newestFirst.tailSet(beforeId, false)).iterator();
+			while (iterator.hasNext() && page.size() < limit) {
+				page.add(iterator.next());
+			}
+		}
+		return page;
+	}
+
+	private void load(Supplier<List<Long>> loader) {
+		synchronized (this) {
+			while (ids == null && pendingChanges != null) {
+				try {
+					wait();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+					throw new IllegalStateException("Interrupted while the filter was loading", e);
+				}
+			}
+			if (ids != null) {
+				return;
+			}
+			pendingChanges = new ArrayList<>();
+		}
+		NavigableSet<Long> loaded = null;
+		try {
+			loaded = new TreeSet<>(loader.get());
+		} finally {
+			synchronized (this) {
+				if (loaded != null) {
+					for (Change change : pendingChanges) {
+						if (change.matches()) {
+							loaded.add(change.issueId());
+						} else {
+							loaded.remove(change.issueId());
+						}
+					}
+					ids = loaded;
+				}
+				pendingChanges = null;
+				notifyAll();
+			}
+		}
+	}
+
+	private record Change(long issueId, boolean matches) {
+	}
+}
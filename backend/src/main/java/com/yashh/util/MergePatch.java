@@ -0,0 +1,63 @@
+package com.yashh.util;
+
+import java.math.BigInteger;
+import java.time.DateTimeException;
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+
+// Value conversions for application/merge-patch+json bodies, a JSON null clears the field;
+// a value of the wrong JSON type throws IllegalArgumentException for the caller to turn into a 400
+public class MergePatch {
+
+    public static final String MEDIA_TYPE = "application/merge-patch+json";
+
+    // JSON strings only, 5 or [1,2] is not a title
+    public static String asString(Object value) {
+        if (value == null || value instanceof String) {
+            return (String) value;
+        }
+        throw new IllegalArgumentException("expected a string but got " + value);
+    }
+
+    // integral JSON numbers only, 1.5 or "1" is not an id
+    public static Long asLong(Object value) {
+        if (value == null) {
+            return null;
+        }
+        if (value instanceof Integer || value instanceof Long) {
+            return ((Number) value).longValue();
+        }
+        if (value instanceof BigInteger big && big.bitLength() < Long.SIZE) {
+            return big.longValue();
+        }
+        throw new IllegalArgumentException("expected an integer but got " + value);
+    }
+
+    public static LocalDate asLocalDate(Object value) {
+        if (value == null) {
+            return null;
+        }
+        try {
+            return LocalDate.parse(asString(value));
+        } catch (DateTimeException e) {
+            throw new IllegalArgumentException("expected a yyyy-MM-dd date but got " + value);
+        }
+    }
+
+    public static List<String> asStringList(Object value) {
+        List<String> list = new ArrayList<>();
+        if (value != null) {
+            if (!(value instanceof List<?> items)) {
+                throw new IllegalArgumentException("expected an array but got " + value);
+            }
+            for (Object item : items) {
+                if (!(item instanceof String text)) {
+                    throw new IllegalArgumentException("expected an array of strings but got " + value);
+                }
+                list.add(text);
+            }
+        }
+        return list;
+    }
+}
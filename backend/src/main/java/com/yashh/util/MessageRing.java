@@ -0,0 +1,89 @@
+package com.yashh.util;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import com.yashh.response.ChatMessageResponse;
+
+/**
+ * The newest messages of one chat, oldest first, in a fixed size ring.
+ *
+ * The ring is a contiguous tail of the chat: it starts out as the newest
+ * rows from the database and every send is appended, so anything newer
+ * than its oldest entry is in it, written yet or not. seq is unique and
+ * increasing within a chat.
+ */
+public class MessageRing {
+
+	private final ChatMessageResponse[] messages;
+	private int start;
+	private int size;
+	// true while the ring holds the whole chat
+	private boolean complete;
+
+	public MessageRing(int capacity, List<ChatMessageResponse> newest, boolean complete) {
+		this.messages = new ChatMessageResponse[capacity];
+		int skip = Math.max(0, newest.size() - capacity);
+		for (int i = skip; i < newest.size(); i++) {
+			messages[size++] = newest.get(i);
+		}
+		this.complete = complete && skip == 0;
+	}
+
+	public synchronized void add(ChatMessageResponse message) {
+		if (size == messages.length) {
+			messages[start] = message;
+			start = (start + 1) % messages.length;
+			complete = false;
+		} else {
+			messages[(start + size) % messages.length] = message;
+			size++;
+		}
+	}
+
+	/**
+	 * Up to limit of the newest messages with a seq below the cursor (all
+	 * when before is null), oldest first. exhausted is set when nothing older than
+	 * the slice exists anywhere, otherwise the caller continues in the
+	 * database from the slice's first message.
+	 */
+	public synchronized Slice before(Long before, int limit) {
+		int end = size;
+		if (before != null) {
+			while (end > 0 && messages[(start + end - 1) % messages.length].getSeq() >= before) {
+				end--;
+			}
+		}
+		int from = Math.max(0, end - limit);
+		List<ChatMessageResponse> slice = new ArrayList<>(end - from);
+		for (int i = from; i < end; i++) {
+			slice.add(messages[(start + i) % messages.length]);
+		}
+		return new Slice(slice, complete && from == 0);
+	}
+
+	/**
+	 * Up to limit messages with a seq above the given one, oldest first.
+	 * reachesBack is false when the ring no longer holds seq + 1, the
+	 * messages then start at the ring's oldest entry and the caller reads
+	 * the gap up to it from the database.
+	 */
+	public synchronized Tail after(long seq, int limit) {
+		int from = 0;
+		while (from < size && messages[(start + from) % messages.length].getSeq() <= seq) {
+			from++;
+		}
+		int end = Math.min(size, from + limit);
+		List<ChatMessageResponse> slice = new ArrayList<>(end - from);
+		for (int i = from; i < end; i++) {
+			slice.add(messages[(start + i) % messages.length]);
+		}
+		return new Tail(slice, complete || from > 0 || (size > 0 && messages[start].getSeq() <= seq + 1));
+	}
+
+	public record Tail(List<ChatMessageResponse> messages, boolean reachesBack) {
+	}
+
+	public record Slice(List<ChatMessageResponse> messages, boolean exhausted) {
+	}
+}
@@ -0,0 +1,201 @@
+package com.yashh.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+/**
+ * MinHash signatures of issue texts with LSH banding for candidate lookup.
+ *
+ * A signature is NUM_HASHES minimum hash values over the text's shingles
+ * (character trigrams of the title, words of the description). The
+ * signature is cut into BANDS bands of ROWS values, each band hashes to one
+ * bucket, and two texts become candidates when they share any bucket. With
+ * 20 x 3 a pair at Jaccard 0.4 collides with probability ~0.73, at 0.6 with
+ * ~0.99 and at 0.1 with ~0.02, so a query only scores a handful of ids.
+ *
+ * Not thread safe on its own, callers synchronize.
+ */
+public class MinHashIndex {
+
+	public static final int BANDS = 20;
+	public static final int ROWS = 3;
+	public static final int NUM_HASHES = BANDS * ROWS;
+
+	// text past this point adds little and only costs hashing
+	private static final int MAX_TEXT_CHARS = 2000;
+
+	private static final long[] SEEDS = new long[NUM_HASHES];
+
+	static {
+		long seed = 0x9E3779B97F4A7C15L;
+		for (int i = 0; i < NUM_HASHES; i++) {
+			seed = mix(seed + 0x9E3779B97F4A7C15L);
+			SEEDS[i] = seed;
+		}
+	}
+
+	private final Map<Long, int[]> signatures = new HashMap<>();
+	private final Map<Long, Set<Long>> buckets = new HashMap<>();
+
+	public int size() {
+		return signatures.size();
+	}
+
+	public void put(long id, int[] signature) {
+		remove(id);
+		signatures.put(id, signature);
+		for (int band = 0; band < BANDS; band++) {
+			buckets.computeIfAbsent(bandKey(signature, band), key -> new HashSet<>()).add(id);
+		}
+	}
+
+	public void remove(long id) {
+		int[] signature = signatures.remove(id);
+		if (signature == null) {
+			return;
+		}
+		for (int band = 0; band < BANDS; band++) {
+			long key = bandKey(signature, band);
+			Set<Long> bucket = buckets.get(key);
+			if (bucket != null && bucket.remove(id) && bucket.isEmpty()) {
+				buckets.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * Ids whose estimated Jaccard similarity to the signature is at least
+	 * threshold, best match first.
+	 */
+	public List<Match> query(int[] signature, double threshold, int limit, long excludeId) {
+		Set<Long> candidates = new HashSet<>();
+		for (int band = 0; band < BANDS; band++) {
+			Set<Long> bucket = buckets.get(bandKey(signature, band));
+			if (bucket != null) {
+				candidates.addAll(bucket);
+			}
+		}
+		candidates.remove(excludeId);
+
+		List<Match> matches = new ArrayList<>();
+		for (Long id : candidates) {
+			double similarity = similarity(signature, signatures.get(id));
+			if (similarity >= threshold) {
+				matches.add(new Match(id, similarity));
+			}
+		}
+		matches.sort((a, b) -> Double.compare(b.similarity(), a.similarity()));
+		return matches.size() > limit ? new ArrayList<>(matches.subList(0, limit)) : matches;
+	}
+
+	public static double similarity(int[] a, int[] b) {
+		int equal = 0;
+		for (int i = 0; i < NUM_HASHES; i++) {
+			if (a[i] == b[i]) {
+				equal++;
+			}
+		}
+		return (double) equal / NUM_HASHES;
+	}
+
+	/**
+	 * Signature of an issue text, null when neither part has anything to
+	 * shingle.
+	 */
+	public static int[] signature(String title, String description) {
+		long[] shingles = shingles(normalize(title), normalize(description));
+		if (shingles.length == 0) {
+			return null;
+		}
+		int[] signature = new int[NUM_HASHES];
+		for (int i = 0; i < NUM_HASHES; i++) {
+			long seed = SEEDS[i];
+			long min = Long.MAX_VALUE;
+			for (long shingle : shingles) {
+				long hash = mix(shingle ^ seed);
+				if (hash < min) {
+					min = hash;
+				}
+			}
+			signature[i] = (int) (min ^ (min >>> 32));
+		}
+		return signature;
+	}
+
+	private static long[] shingles(String title, String description) {
+		Set<Long> shingles = new HashSet<>();
+		for (int i = 0; i + 3 <= title.length(); i++) {
+			shingles.add(hash(title, i, i + 3, 1));
+		}
+		if (title.length() > 0 && title.length() < 3) {
+			shingles.add(hash(title, 0, title.length(), 1));
+		}
+
+		if (!description.isEmpty()) {
+			for (String word : description.split(" ")) {
+				shingles.add(hash(word, 0, word.length(), 2));
+			}
+		}
+
+		long[] result = new long[shingles.size()];
+		int i = 0;
+		for (Long shingle : shingles) {
+			result[i++] = shingle;
+		}
+		return result;
+	}
+
+	// lower case, anything that is not a letter or digit becomes a single space
+	private static String normalize(String text) {
+		if (text == null) {
+			return "";
+		}
+		int length = Math.min(text.length(), MAX_TEXT_CHARS);
+		StringBuilder normalized = new StringBuilder(length);
+		boolean space = true;
+		for (int i = 0; i < length; i++) {
+			char c = text.charAt(i);
+			if (Character.isLetterOrDigit(c)) {
+				normalized.append(Character.toLowerCase(c));
+				space = false;
+			} else if (!space) {
+				normalized.append(' ');
+				space = true;
+			}
+		}
+		int end = normalized.length();
+		return space && end > 0 ? normalized.substring(0, end - 1) : normalized.toString();
+	}
+
+	// FNV-1a over the chars, domain separates title and description shingles
+	private static long hash(String text, int from, int to, int domain) {
+		long hash = 0xcbf29ce484222325L ^ domain;
+		for (int i = from; i < to; i++) {
+			hash ^= text.charAt(i);
+			hash *= 0x100000001b3L;
+		}
+		return hash;
+	}
+
+	private static long bandKey(int[] signature, int band) {
+		long key = band;
+		for (int row = band * ROWS; row < (band + 1) * ROWS; row++) {
+			key = mix(key * 31 + signature[row]);
+		}
+		return key;
+	}
+
+	// murmur3 finalizer
+	private static long mix(long z) {
+		z = (z ^ (z >>> 33)) * 0xff51afd7ed558ccdL;
+		z = (z ^ (z >>> 33)) * 0xc4ceb9fe1a85ec53L;
+		return z ^ (z >>> 33);
+	}
+
+	public record Match(long id, double similarity) {
+	}
+}
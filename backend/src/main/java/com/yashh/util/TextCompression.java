@@ -0,0 +1,72 @@
+package com.yashh.util;
+
+import java.io.ByteArrayOutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.zip.DataFormatException;
+import java.util.zip.Deflater;
+import java.util.zip.Inflater;
+
+/**
+ * Deflate for stored text. The first byte tells whether the rest is deflated
+ * or plain UTF-8, short texts that do not shrink are kept plain.
+ */
+public final class TextCompression {
+
+	private static final byte PLAIN = 0;
+	private static final byte DEFLATED = 1;
+
+	private TextCompression() {
+	}
+
+	public static byte[] compress(String text) {
+		byte[] utf8 = text.getBytes(StandardCharsets.UTF_8);
+		Deflater deflater = new Deflater(Deflater.BEST_COMPRESSION);
+		try {
+			deflater.setInput(utf8);
+			deflater.finish();
+			byte[] buffer = new byte[utf8.length + 1];
+			buffer[0] = DEFLATED;
+			int length = 1;
+			while (!deflater.finished() && length < buffer.length) {
+				length += deflater.deflate(buffer, length, buffer.length - length);
+			}
+			if (deflater.finished() && length < buffer.length) {
+				return Arrays.copyOf(buffer, length);
+			}
+		} finally {
+			deflater.end();
+		}
+		byte[] plain = new byte[utf8.length + 1];
+		plain[0] = PLAIN;
+		System.arraycopy(utf8, 0, plain, 1, utf8.length);
+		return plain;
+	}
+
+	public static String decompress(byte[] stored) {
+		if (stored == null || stored.length == 0) {
+			return null;
+		}
+		if (stored[0] == PLAIN) {
+			return new String(stored, 1, stored.length - 1, StandardCharsets.UTF_8);
+		}
+		Inflater inflater = new Inflater();
+		try {
+			inflater.setInput(stored, 1, stored.length - 1);
+			ByteArrayOutputStream out = new ByteArrayOutputStream(stored.length * 3);
+			byte[] buffer = new byte[4096];
+			while (!inflater.finished()) {
+				int length = inflater.inflate(buffer);
+				if (length == 0 && (inflater.needsInput() || inflater.needsDictionary())) {
+					throw new IllegalStateException("Truncated compressed text");
+				}
+				out.write(buffer, 0, length);
+			}
+			return out.toString(StandardCharsets.UTF_8);
+		} catch (DataFormatException e) {
+			throw new IllegalStateException("Corrupt compressed text", e);
+		} finally {
+			inflater.end();
+		}
+	}
+}
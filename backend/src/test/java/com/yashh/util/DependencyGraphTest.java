@@ -0,0 +1,110 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import org.junit.jupiter.api.Test;
+
+class DependencyGraphTest {
+
+	// 10 -> 20 -> 30, 10 -> 40
+	private static DependencyGraph sample() {
+		return DependencyGraph.build(new long[] { 10, 20, 10 }, new long[] { 20, 30, 40 }, 3);
+	}
+
+	@Test
+	void buildsBothDirections() {
+		DependencyGraph graph = sample();
+		assertEquals(4, graph.nodeCount());
+		assertEquals(3, graph.edgeCount());
+		assertArrayEquals(new long[] { 20, 40 }, sorted(graph.blocks(10)));
+		assertArrayEquals(new long[] { 20 }, graph.blockedBy(30));
+		assertArrayEquals(new long[0], graph.blocks(99));
+		assertTrue(graph.hasEdge(20, 30));
+		assertFalse(graph.hasEdge(30, 20));
+	}
+
+	@Test
+	void reachesFollowsEdgesTransitively() {
+		DependencyGraph graph = sample();
+		assertTrue(graph.reaches(10, 30));
+		assertFalse(graph.reaches(30, 10));
+		assertFalse(graph.reaches(40, 30));
+		assertTrue(graph.reaches(40, 40));
+	}
+
+	@Test
+	void withEdgeMatchesAFullRebuild() {
+		Random random = new Random(42);
+		DependencyGraph graph = DependencyGraph.EMPTY;
+		long[] blockers = new long[200];
+		long[] blocked = new long[200];
+		int edges = 0;
+		for (int i = 0; i < 200; i++) {
+			long from = random.nextInt(60);
+			long to = random.nextInt(60);
+			if (from == to || graph.hasEdge(from, to)) {
+				continue;
+			}
+			graph = graph.withEdge(from, to);
+			blockers[edges] = from;
+			blocked[edges] = to;
+			edges++;
+		}
+		DependencyGraph rebuilt = DependencyGraph.build(blockers, blocked, edges);
+		assertEquals(rebuilt.nodeCount(), graph.nodeCount());
+		assertEquals(edges, graph.edgeCount());
+		for (long id = 0; id < 60; id++) {
+			assertArrayEquals(sorted(rebuilt.blocks(id)), sorted(graph.blocks(id)), "blocks of " + id);
+			assertArrayEquals(sorted(rebuilt.blockedBy(id)), sorted(graph.blockedBy(id)), "blockedBy of " + id);
+		}
+		assertSame(graph, graph.withEdge(blockers[0], blocked[0]));
+	}
+
+	@Test
+	void withoutEdgesDropsOnlyMatches() {
+		DependencyGraph graph = sample().withoutEdges(blocker -> blocker == 10, blocked -> blocked == 20);
+		assertEquals(2, graph.edgeCount());
+		assertFalse(graph.hasEdge(10, 20));
+		assertTrue(graph.hasEdge(10, 40));
+		assertTrue(graph.hasEdge(20, 30));
+		assertSame(graph, graph.withoutEdges(blocker -> false, blocked -> true));
+	}
+
+	@Test
+	void criticalPathSkipsClosedIssues() {
+		// 1 -> 2 -> 3 -> 4 and 5 -> 4, with 2 and 5 closed the longest open chain is 3 -> 4
+		DependencyGraph graph = DependencyGraph.build(new long[] { 1, 2, 3, 5 }, new long[] { 2, 3, 4, 4 }, 4);
+		assertArrayEquals(new long[] { 1, 2, 3, 4 }, graph.criticalPath(id -> true, id -> 0, null));
+		Set<Long> closed = Set.of(2L, 5L);
+		assertArrayEquals(new long[] { 3, 4 }, graph.criticalPath(id -> !closed.contains(id), id -> 0, null));
+		assertArrayEquals(new long[] { 5 }, graph.criticalPath(id -> true, id -> 0, 5L));
+	}
+
+	@Test
+	void criticalPathFollowsTheLatestFinishingChain() {
+		// 1 -> 2 -> 3 due on days 1..3, 4 -> 5 due on days 5 and 30, 6 -> 8 and 7 -> 8 with 6 due after 8
+		DependencyGraph graph = DependencyGraph.build(new long[] { 1, 2, 4, 6, 7 }, new long[] { 2, 3, 5, 8, 8 }, 5);
+		Map<Long, Integer> due = Map.of(1L, 1, 2L, 2, 3L, 3, 4L, 5, 5L, 30, 6L, 40, 7L, 10, 8L, 20);
+		assertArrayEquals(new long[] { 6, 8 }, graph.criticalPath(id -> true, due::get, null));
+		assertArrayEquals(new long[] { 4, 5 }, graph.criticalPath(id -> id != 6 && id != 8, due::get, null));
+		assertArrayEquals(new long[] { 6, 8 }, graph.criticalPath(id -> true, due::get, 8L));
+		// a closed 6 no longer holds 8 back, the chain goes through 7
+		assertArrayEquals(new long[] { 7, 8 }, graph.criticalPath(id -> id != 6, due::get, 8L));
+		assertArrayEquals(new long[] { 1, 2, 3 }, graph.criticalPath(id -> true, due::get, 3L));
+	}
+
+	private static long[] sorted(long[] ids) {
+		long[] copy = ids.clone();
+		Arrays.sort(copy);
+		return copy;
+	}
+}
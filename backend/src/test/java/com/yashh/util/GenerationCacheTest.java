@@ -0,0 +1,64 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class GenerationCacheTest {
+
+	@Test
+	void servesEntriesUntilTheTtlRunsOut() {
+		GenerationCache<String, String> cache = new GenerationCache<>(100, 10);
+		List<String> sources = List.of("user:1", "project:2");
+		cache.put("home", "page", sources, cache.generation(sources), 1_000);
+
+		assertEquals("page", cache.get("home", 1_099));
+		assertNull(cache.get("home", 1_100));
+		assertNull(cache.get("other", 1_000));
+	}
+
+	@Test
+	void bumpingASourceInvalidatesOnlyTheEntriesBuiltFromIt() {
+		GenerationCache<String, String> cache = new GenerationCache<>(100, 10);
+		cache.put("ann", "ann's page", List.of("user:1", "project:2"), 0, 0);
+		cache.put("mal", "mal's page", List.of("user:3", "project:4"), 0, 0);
+
+		cache.bump("project:2");
+		assertNull(cache.get("ann", 0));
+		assertEquals("mal's page", cache.get("mal", 0));
+
+		cache.bump("user:3");
+		assertNull(cache.get("mal", 0));
+	}
+
+	@Test
+	void aBumpRacingTheLoadLeavesTheEntryStale() {
+		GenerationCache<String, String> cache = new GenerationCache<>(100, 10);
+		List<String> sources = List.of("user:1");
+		long generation = cache.generation(sources);
+		// a write commits while the page is being read from the database
+		cache.bump("user:1");
+		cache.put("home", "page", sources, generation, 0);
+		assertNull(cache.get("home", 0));
+
+		cache.put("home", "page", sources, cache.generation(sources), 0);
+		assertEquals("page", cache.get("home", 0));
+	}
+
+	@Test
+	void aFullCacheOnlyMakesRoomByDroppingExpiredEntries() {
+		GenerationCache<Integer, String> cache = new GenerationCache<>(100, 2);
+		cache.put(1, "one", List.of(), 0, 0);
+		cache.put(2, "two", List.of(), 0, 50);
+		cache.put(3, "three", List.of(), 0, 60);
+		assertNull(cache.get(3, 60));
+
+		cache.put(3, "three", List.of(), 0, 120);
+		assertNull(cache.get(1, 120));
+		assertEquals("two", cache.get(2, 120));
+		assertEquals("three", cache.get(3, 120));
+	}
+}
@@ -0,0 +1,80 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class HierarchicalTimingWheelTest {
+
+	@Test
+	void firesOnItsTickAndNotBefore() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 0);
+		wheel.schedule(1, 5, "a");
+		assertEquals(List.of(), wheel.advanceTo(4));
+		assertEquals(List.of("a"), wheel.advanceTo(5));
+		assertEquals(0, wheel.size());
+	}
+
+	@Test
+	void cascadesFromUpperLevels() {
+		HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(2, 10);
+		long[] ticks = { 63, 64, 65, 127, 128, 64 * 5 + 3, 64 * 63 + 63 };
+		for (long tick : ticks) {
+			wheel.schedule(tick, tick, tick);
+		}
+		for (long tick : ticks) {
+			assertEquals(List.of(), wheel.advanceTo(tick - 1), "early at " + tick);
+			assertEquals(List.of(tick), wheel.advanceTo(tick), "missed " + tick);
+		}
+	}
+
+	@Test
+	void keepsEntriesPastTheTopLevelInOverflow() {
+		// 2 levels cover 64^2 ticks, the rest waits for the top level to wrap
+		HierarchicalTimingWheel<Long> wheel = new HierarchicalTimingWheel<>(2, 0);
+		long far = 4096 * 3 + 17;
+		wheel.schedule(1, far, far);
+		wheel.schedule(2, 4096 + 1, 4097L);
+		List<Long> fired = new ArrayList<>();
+		for (long tick = 1; tick <= far; tick += 50) {
+			List<Long> expired = wheel.advanceTo(Math.min(tick, far));
+			for (Long expiry : expired) {
+				assertTrue(expiry <= Math.min(tick, far) && expiry > Math.min(tick, far) - 50, "fired " + expiry + " at " + tick);
+			}
+			fired.addAll(expired);
+		}
+		fired.addAll(wheel.advanceTo(far));
+		assertEquals(List.of(4097L, far), fired);
+	}
+
+	@Test
+	void rescheduleReplacesAndCancelRemoves() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 0);
+		wheel.schedule(1, 10, "first");
+		wheel.schedule(1, 20, "second");
+		wheel.schedule(2, 15, "cancelled");
+		assertEquals(2, wheel.size());
+		assertEquals("cancelled", wheel.cancel(2));
+		assertNull(wheel.cancel(2));
+		assertFalse(wheel.contains(2));
+		assertEquals(List.of(), wheel.advanceTo(19));
+		assertEquals(List.of("second"), wheel.advanceTo(20));
+	}
+
+	@Test
+	void pastExpiryFiresOnNextAdvanceUnlessCancelled() {
+		HierarchicalTimingWheel<String> wheel = new HierarchicalTimingWheel<>(2, 100);
+		wheel.schedule(1, 50, "late");
+		wheel.schedule(2, 100, "now");
+		wheel.schedule(3, 90, "cancelled");
+		assertEquals("cancelled", wheel.cancel(3));
+		assertEquals(List.of("late", "now"), wheel.advanceTo(100));
+		assertEquals(0, wheel.size());
+	}
+}
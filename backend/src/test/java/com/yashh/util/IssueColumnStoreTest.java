@@ -0,0 +1,113 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class IssueColumnStoreTest {
+
+	private static final int ANY_DAY_FROM = Integer.MIN_VALUE;
+	private static final int ANY_DAY_TO = Integer.MAX_VALUE;
+
+	@Test
+	void groupsAndFilters() {
+		IssueColumnStore store = new IssueColumnStore();
+		store.put(1, 100, (short) 1, (short) 1, 7L, 10);
+		store.put(2, 100, (short) 1, (short) 2, null, IssueColumnStore.NO_DUE_DAY);
+		store.put(3, 100, (short) 2, (short) 0, 7L, 20);
+		store.put(4, 200, (short) 1, (short) 1, 8L, 30);
+
+		assertEquals(List.of(new IssueColumnStore.Group(null, (short) 1, null, null, 2),
+				new IssueColumnStore.Group(null, (short) 2, null, null, 1)),
+				store.pivot(filter(new long[] { 100 }, null, null, null, ANY_DAY_FROM, ANY_DAY_TO), false, true, false, false));
+
+		// a priority filter drops issues without priority, assignee 0 is unassigned
+		assertEquals(List.of(new IssueColumnStore.Group(100L, null, null, null, 2), new IssueColumnStore.Group(200L, null, null, null, 1)),
+				store.pivot(filter(new long[] { 100, 200 }, null, new short[] { 1, 2 }, null, ANY_DAY_FROM, ANY_DAY_TO), true, false, false, false));
+		assertEquals(List.of(new IssueColumnStore.Group(null, null, null, null, 1)),
+				store.pivot(filter(new long[] { 100, 200 }, null, null, 0L, ANY_DAY_FROM, ANY_DAY_TO), false, false, false, true));
+		assertEquals(List.of(), store.pivot(filter(new long[] { 100 }, null, null, 99L, ANY_DAY_FROM, ANY_DAY_TO), false, false, false, true));
+		assertEquals(List.of(new IssueColumnStore.Group(null, null, null, 7L, 2)),
+				store.pivot(filter(new long[] { 100, 200 }, null, null, null, 10, 20), false, false, false, true));
+	}
+
+	@Test
+	void putMovesARowAndRemoveFreesIt() {
+		IssueColumnStore store = new IssueColumnStore();
+		store.put(1, 100, (short) 1, (short) 1, null, 0);
+		store.put(1, 100, (short) 3, (short) 1, null, 0);
+		store.put(2, 100, (short) 1, (short) 1, null, 0);
+		store.remove(2);
+		store.remove(2);
+		assertEquals(1, store.rowCount());
+		assertEquals(List.of(new IssueColumnStore.Group(null, (short) 3, null, null, 1)),
+				store.pivot(filter(new long[] { 100 }, null, null, null, ANY_DAY_FROM, ANY_DAY_TO), false, true, false, false));
+
+		// the freed row is reused
+		store.put(3, 100, (short) 3, (short) 1, null, 0);
+		assertEquals(List.of(new IssueColumnStore.Group(null, (short) 3, null, null, 2)),
+				store.pivot(filter(new long[] { 100 }, null, null, null, ANY_DAY_FROM, ANY_DAY_TO), false, true, false, false));
+	}
+
+	@Test
+	void matchesANaiveCountOnDenseAndSparseKeySpaces() {
+		// 40 projects x 30 assignees stays in the array, 700 x 2000 needs the hash counter
+		checkAgainstNaiveCount(40, 30);
+		checkAgainstNaiveCount(700, 2000);
+	}
+
+	private static void checkAgainstNaiveCount(int projectCount, int assigneeCount) {
+		Random random = new Random(projectCount);
+		IssueColumnStore store = new IssueColumnStore();
+		Map<Long, long[]> issues = new HashMap<>();
+		for (long issueId = 1; issueId <= 5000; issueId++) {
+			long projectId = 1000 + random.nextInt(projectCount);
+			short status = (short) (1 + random.nextInt(4));
+			short priority = (short) random.nextInt(4);
+			long assigneeId = random.nextInt(assigneeCount + 1);
+			int dueDay = random.nextInt(60);
+			store.put(issueId, projectId, status, priority, assigneeId == 0 ? null : assigneeId, dueDay);
+			issues.put(issueId, new long[] { projectId, status, priority, assigneeId, dueDay });
+		}
+		for (long issueId = 1; issueId <= 5000; issueId += 7) {
+			store.remove(issueId);
+			issues.remove(issueId);
+		}
+
+		long[] projectIds = new long[projectCount / 2];
+		for (int i = 0; i < projectIds.length; i++) {
+			projectIds[i] = 1000 + i * 2;
+		}
+		IssueColumnStore.Filter filter = filter(projectIds, new short[] { 1, 2, 3 }, null, null, 10, 49);
+
+		Map<List<Long>, Long> expected = new HashMap<>();
+		for (long[] issue : issues.values()) {
+			if (issue[0] % 2 == 0 && issue[0] < 1000 + projectCount && issue[1] <= 3 && issue[4] >= 10 && issue[4] <= 49) {
+				expected.merge(Arrays.asList(issue[0], issue[3] == 0 ? null : issue[3]), 1L, Long::sum);
+			}
+		}
+		Map<List<Long>, Long> actual = new HashMap<>();
+		for (IssueColumnStore.Group group : store.pivot(filter, true, false, false, true)) {
+			actual.put(Arrays.asList(group.projectId(), group.assigneeId()), group.count());
+		}
+		assertEquals(expected, actual);
+
+		List<IssueColumnStore.Group> groups = new ArrayList<>(store.pivot(filter, true, false, false, true));
+		for (int i = 1; i < groups.size(); i++) {
+			assertTrue(groups.get(i - 1).count() >= groups.get(i).count(), "not sorted by count");
+		}
+	}
+
+	private static IssueColumnStore.Filter filter(long[] projectIds, short[] statusCodes, short[] priorityCodes, Long assigneeId,
+			int dueFrom, int dueTo) {
+		return new IssueColumnStore.Filter(projectIds, statusCodes, priorityCodes, assigneeId, dueFrom, dueTo);
+	}
+}
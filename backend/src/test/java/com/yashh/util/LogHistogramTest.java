@@ -0,0 +1,58 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.Random;
+
+import org.junit.jupiter.api.Test;
+
+class LogHistogramTest {
+
+	@Test
+	void smallValuesGetABucketEach() {
+		for (int value = 0; value < 32; value++) {
+			assertEquals(value, LogHistogram.bucketOf(value));
+			assertEquals(value, LogHistogram.lowerBound(value));
+			assertEquals(value, LogHistogram.upperBound(value));
+		}
+	}
+
+	@Test
+	void bucketsContainTheirValuesWithinASixteenth() {
+		Random random = new Random(7);
+		for (int i = 0; i < 100_000; i++) {
+			long value = random.nextLong(LogHistogram.MAX_VALUE + 1);
+			int bucket = LogHistogram.bucketOf(value);
+			long lower = LogHistogram.lowerBound(bucket);
+			long upper = LogHistogram.upperBound(bucket);
+			assertTrue(lower <= value && value <= upper, value + " outside bucket " + bucket);
+			assertTrue(upper - lower + 1 <= Math.max(1, lower / 16), "bucket " + bucket + " too wide");
+		}
+		for (int bucket = 1; bucket < LogHistogram.BUCKETS; bucket++) {
+			assertEquals(LogHistogram.upperBound(bucket - 1) + 1, LogHistogram.lowerBound(bucket), "gap before " + bucket);
+		}
+	}
+
+	@Test
+	void clampsOutOfRangeValues() {
+		assertEquals(0, LogHistogram.bucketOf(-5));
+		assertEquals(LogHistogram.BUCKETS - 1, LogHistogram.bucketOf(LogHistogram.MAX_VALUE * 4));
+		assertEquals(LogHistogram.MAX_VALUE, LogHistogram.upperBound(LogHistogram.BUCKETS - 1));
+	}
+
+	@Test
+	void percentilesReportTheBucketsUpperBound() {
+		long[] counts = new long[LogHistogram.BUCKETS];
+		assertNull(LogHistogram.percentile(counts, 50));
+		for (long value = 1; value <= 100; value++) {
+			counts[LogHistogram.bucketOf(value)]++;
+		}
+		assertEquals(100, LogHistogram.total(counts));
+		assertEquals(LogHistogram.upperBound(LogHistogram.bucketOf(50)), LogHistogram.percentile(counts, 50));
+		assertEquals(LogHistogram.upperBound(LogHistogram.bucketOf(95)), LogHistogram.percentile(counts, 95));
+		assertEquals(LogHistogram.upperBound(LogHistogram.bucketOf(100)), LogHistogram.percentile(counts, 100));
+		assertEquals(1L, LogHistogram.percentile(counts, 0.5));
+	}
+}
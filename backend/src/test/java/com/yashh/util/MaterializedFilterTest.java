@@ -0,0 +1,76 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.junit.jupiter.api.Test;
+
+class MaterializedFilterTest {
+
+	@Test
+	void matchesWithinItsProjectOnly() {
+		MaterializedFilter filter = new MaterializedFilter(1L, "Login", "pending", null, null);
+		assertTrue(filter.matches(1L, "Fix LOGIN page", "pending", "high", 5L));
+		assertFalse(filter.matches(2L, "Fix LOGIN page", "pending", "high", 5L));
+		assertFalse(filter.matches(1L, "Fix signup page", "pending", "high", 5L));
+		assertFalse(filter.matches(1L, null, "pending", "high", 5L));
+		assertFalse(filter.matches(1L, "Fix login page", "done", "high", 5L));
+
+		MaterializedFilter assigned = new MaterializedFilter(1L, null, null, "low", 7L);
+		assertTrue(assigned.matches(1L, null, "done", "low", 7L));
+		assertFalse(assigned.matches(1L, null, "done", "low", null));
+	}
+
+	@Test
+	void loadsOnceAndAppliesLaterWrites() {
+		MaterializedFilter filter = new MaterializedFilter(1L, null, null, null, null);
+		AtomicInteger loads = new AtomicInteger();
+		filter.apply(99, true);
+		assertEquals(3, filter.size(() -> {
+			loads.incrementAndGet();
+			return List.of(10L, 20L, 30L);
+		}));
+		filter.apply(40, true);
+		filter.apply(20, false);
+		assertEquals(List.of(40L, 30L, 10L), filter.page(List::of, null, 10));
+		assertEquals(List.of(10L), filter.page(List::of, 30L, 10));
+		assertEquals(List.of(40L), filter.page(List::of, null, 1));
+		assertEquals(1, loads.get());
+	}
+
+	@Test
+	void replaysWritesThatArriveWhileLoading() throws Exception {
+		MaterializedFilter filter = new MaterializedFilter(1L, null, null, null, null);
+		CountDownLatch loading = new CountDownLatch(1);
+		CountDownLatch applied = new CountDownLatch(1);
+		ExecutorService executor = Executors.newSingleThreadExecutor();
+		try {
+			Future<Integer> size = executor.submit(() -> filter.size(() -> {
+				loading.countDown();
+				try {
+					applied.await();
+				} catch (InterruptedException e) {
+					Thread.currentThread().interrupt();
+				}
+				// the query ran before the writes below committed
+				return List.of(1L, 2L);
+			}));
+			loading.await();
+			filter.apply(3, true);
+			filter.apply(1, false);
+			applied.countDown();
+			assertEquals(2, size.get());
+			assertEquals(List.of(3L, 2L), filter.page(List::of, null, 10));
+		} finally {
+			executor.shutdownNow();
+		}
+	}
+}
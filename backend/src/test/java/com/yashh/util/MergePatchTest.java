@@ -0,0 +1,58 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+import java.math.BigInteger;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+
+import org.junit.jupiter.api.Test;
+
+class MergePatchTest {
+
+	@Test
+	void nullClearsTheField() {
+		assertNull(MergePatch.asString(null));
+		assertNull(MergePatch.asLong(null));
+		assertNull(MergePatch.asLocalDate(null));
+		assertEquals(List.of(), MergePatch.asStringList(null));
+	}
+
+	@Test
+	void acceptsStringsOnly() {
+		assertEquals("Fix login", MergePatch.asString("Fix login"));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asString(5));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asString(List.of(1, 2)));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asString(Map.of("title", "x")));
+	}
+
+	@Test
+	void acceptsIntegralNumbersOnly() {
+		assertEquals(7L, MergePatch.asLong(7));
+		assertEquals(1L << 40, MergePatch.asLong(1L << 40));
+		assertEquals(Long.MAX_VALUE, MergePatch.asLong(BigInteger.valueOf(Long.MAX_VALUE)));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asLong(1.5));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asLong("12"));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asLong(Map.of("id", 1)));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asLong(BigInteger.ONE.shiftLeft(64)));
+	}
+
+	@Test
+	void parsesDatesAndRejectsGarbage() {
+		assertEquals(LocalDate.of(2026, 3, 1), MergePatch.asLocalDate("2026-03-01"));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asLocalDate("next week"));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asLocalDate(20260301));
+	}
+
+	@Test
+	void convertsArraysOnly() {
+		assertEquals(List.of("a", "b"), MergePatch.asStringList(List.of("a", "b")));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asStringList("a,b"));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asStringList(List.of("a", 1)));
+		assertThrows(IllegalArgumentException.class, () -> MergePatch.asStringList(Arrays.asList("a", null)));
+	}
+}
@@ -0,0 +1,105 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+import com.yashh.response.ChatMessageResponse;
+
+class MessageRingTest {
+
+	private static final LocalDateTime START = LocalDateTime.of(2024, 1, 1, 0, 0);
+
+	private static ChatMessageResponse message(long seq) {
+		return new ChatMessageResponse(seq, 1L, null, "m" + seq, START.plusSeconds(seq), 7L, "Ann");
+	}
+
+	private static List<ChatMessageResponse> messages(long from, long to) {
+		List<ChatMessageResponse> messages = new ArrayList<>();
+		for (long seq = from; seq <= to; seq++) {
+			messages.add(message(seq));
+		}
+		return messages;
+	}
+
+	private static List<Long> seqs(List<ChatMessageResponse> messages) {
+		return messages.stream().map(ChatMessageResponse::getSeq).toList();
+	}
+
+	@Test
+	void keepsTheNewestAndStaysCompleteUntilItWraps() {
+		MessageRing ring = new MessageRing(4, messages(1, 3), true);
+		assertEquals(List.of(1L, 2L, 3L), seqs(ring.before(null, 10).messages()));
+		assertTrue(ring.before(null, 10).exhausted());
+
+		ring.add(message(4));
+		assertTrue(ring.before(null, 10).exhausted());
+		ring.add(message(5));
+		MessageRing.Slice slice = ring.before(null, 10);
+		assertEquals(List.of(2L, 3L, 4L, 5L), seqs(slice.messages()));
+		assertFalse(slice.exhausted());
+	}
+
+	@Test
+	void loadingMoreThanTheCapacityKeepsTheNewest() {
+		MessageRing ring = new MessageRing(3, messages(1, 5), true);
+		MessageRing.Slice slice = ring.before(null, 10);
+		assertEquals(List.of(3L, 4L, 5L), seqs(slice.messages()));
+		assertFalse(slice.exhausted());
+	}
+
+	@Test
+	void beforePagesBackwardsBySeq() {
+		MessageRing ring = new MessageRing(10, messages(1, 8), true);
+		MessageRing.Slice page = ring.before(null, 3);
+		assertEquals(List.of(6L, 7L, 8L), seqs(page.messages()));
+		assertFalse(page.exhausted());
+
+		page = ring.before(page.messages().get(0).getSeq(), 3);
+		assertEquals(List.of(3L, 4L, 5L), seqs(page.messages()));
+
+		page = ring.before(page.messages().get(0).getSeq(), 3);
+		assertEquals(List.of(1L, 2L), seqs(page.messages()));
+		assertTrue(page.exhausted());
+	}
+
+	@Test
+	void beforeDoesNotSkipMessagesSharingACreatedAt() {
+		List<ChatMessageResponse> sameInstant = new ArrayList<>();
+		for (long seq = 1; seq <= 4; seq++) {
+			sameInstant.add(new ChatMessageResponse(seq, 1L, null, "m" + seq, START, 7L, "Ann"));
+		}
+		MessageRing ring = new MessageRing(10, sameInstant, true);
+		MessageRing.Slice page = ring.before(null, 2);
+		assertEquals(List.of(3L, 4L), seqs(page.messages()));
+
+		page = ring.before(page.messages().get(0).getSeq(), 2);
+		assertEquals(List.of(1L, 2L), seqs(page.messages()));
+		assertTrue(page.exhausted());
+	}
+
+	@Test
+	void afterReportsWhetherTheRingReachesBack() {
+		MessageRing ring = new MessageRing(4, messages(5, 8), false);
+		MessageRing.Tail tail = ring.after(6, 10);
+		assertEquals(List.of(7L, 8L), seqs(tail.messages()));
+		assertTrue(tail.reachesBack());
+
+		assertEquals(List.of(7L), seqs(ring.after(6, 1).messages()));
+		assertTrue(ring.after(4, 10).reachesBack());
+
+		// seq 3 and 4 are only in the database
+		tail = ring.after(2, 10);
+		assertEquals(List.of(5L, 6L, 7L, 8L), seqs(tail.messages()));
+		assertFalse(tail.reachesBack());
+
+		assertEquals(List.of(), ring.after(8, 10).messages());
+		assertTrue(ring.after(8, 10).reachesBack());
+	}
+}
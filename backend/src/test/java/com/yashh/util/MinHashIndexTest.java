@@ -0,0 +1,57 @@
+package com.yashh.util;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+import java.util.List;
+
+import org.junit.jupiter.api.Test;
+
+class MinHashIndexTest {
+
+	@Test
+	void signatureIgnoresCaseAndPunctuation() {
+		assertArrayEquals(MinHashIndex.signature("Login fails", "on Safari, after reset"),
+				MinHashIndex.signature("login  FAILS!", "On safari after reset."));
+		assertNull(MinHashIndex.signature(null, " ?! "));
+		assertEquals(1.0, MinHashIndex.similarity(MinHashIndex.signature("ab", null), MinHashIndex.signature("AB", "")));
+	}
+
+	@Test
+	void findsNearDuplicatesBestFirst() {
+		MinHashIndex index = new MinHashIndex();
+		index.put(1, MinHashIndex.signature("Login page crashes on submit", "the login page crashes when the user submits the form"));
+		index.put(2, MinHashIndex.signature("Login page crashes on submit button", "login page crashes when the user submits the form twice"));
+		index.put(3, MinHashIndex.signature("Export invoices to csv", "add a csv export for the monthly invoices"));
+
+		int[] query = MinHashIndex.signature("Login page crashes on submit", "the login page crashes when the user submits the form");
+		List<MinHashIndex.Match> matches = index.query(query, 0.4, 5, -1);
+		assertEquals(2, matches.size());
+		assertEquals(1, matches.get(0).id());
+		assertEquals(1.0, matches.get(0).similarity());
+		assertEquals(2, matches.get(1).id());
+		assertTrue(matches.get(1).similarity() < 1.0);
+
+		assertEquals(List.of(2L), index.query(query, 0.4, 5, 1).stream().map(MinHashIndex.Match::id).toList());
+		assertEquals(1, index.query(query, 0.4, 1, -1).size());
+	}
+
+	@Test
+	void putReplacesAndRemoveDropsBuckets() {
+		MinHashIndex index = new MinHashIndex();
+		int[] before = MinHashIndex.signature("Dark mode for settings", null);
+		int[] after = MinHashIndex.signature("Rate limit the public api", null);
+		index.put(7, before);
+		index.put(7, after);
+		assertEquals(1, index.size());
+		assertEquals(List.of(), index.query(before, 0.4, 5, -1));
+		assertEquals(1, index.query(after, 0.4, 5, -1).size());
+
+		index.remove(7);
+		index.remove(7);
+		assertEquals(0, index.size());
+		assertEquals(List.of(), index.query(after, 0.0, 5, -1));
+	}
+}
@@ -75,7 +75,7 @@ export const fetchChatMessages = (chatId) => {
       dispatch({
         type: actionTypes.FETCH_CHAT_MESSAGES_SUCCESS,
         chatId,
-        messages: response.data,
+        messages: response.data.items,
       });
     } catch (error) {
         console.log("error -- ",error)